@@ -0,0 +1,72 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.utils.Reader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides the track files for the benchmarks, optionally scaled up to measure larger tracks.
+ *
+ * <p>A scaled track replaces every position of the original track with a square of scale * scale positions
+ * of the same space type. A car is placed in the upper left position of its square, the other positions
+ * of the square are track. The scaled tracks are written to temporary files.</p>
+ * <p>The benchmarks have to be run from the project directory, where the tracks folder is.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class BenchmarkTracks {
+    private static final char TRACK_CHAR = SpaceType.TRACK.getSpaceChar();
+
+    private BenchmarkTracks() {
+    }
+
+    /**
+     * Returns the file of the given track in the tracks folder, scaled by the given factor.
+     *
+     * @param trackName the file name of the track in the tracks folder.
+     * @param scale     the factor for the width and height of the track, 1 for the original track.
+     * @return the original file for scale 1, otherwise a temporary file with the scaled track.
+     * @throws IOException              if the track could not be read or the scaled track could not be written.
+     * @throws IllegalArgumentException if scale is not positive.
+     */
+    public static File getTrackFile(String trackName, int scale) throws IOException {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("scale must be positive!");
+        }
+        File trackFile = new File("tracks", trackName);
+        if (scale == 1) {
+            return trackFile;
+        }
+
+        List<String> scaledLines = new ArrayList<>();
+        for (String line : Reader.readFile(trackFile)) {
+            for (int copy = 0; copy < scale; copy++) {
+                StringBuilder scaledLine = new StringBuilder(line.length() * scale);
+                for (char symbol : line.toCharArray()) {
+                    boolean car = SpaceType.spaceTypeForChar(symbol).isEmpty();
+                    scaledLine.append(symbol);
+                    for (int column = 1; column < scale; column++) {
+                        scaledLine.append(car ? TRACK_CHAR : symbol);
+                    }
+                    if (car && copy > 0) {
+                        scaledLine.setCharAt(scaledLine.length() - scale, TRACK_CHAR);
+                    }
+                }
+                scaledLines.add(scaledLine.toString());
+            }
+        }
+
+        Path scaledFile = Files.createTempFile(trackName.replace(".txt", "") + "-x" + scale + "-", ".txt");
+        scaledFile.toFile().deleteOnExit();
+        Files.write(scaledFile, scaledLines, StandardCharsets.UTF_8);
+        return scaledFile.toFile();
+    }
+}
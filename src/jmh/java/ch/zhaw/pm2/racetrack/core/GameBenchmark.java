@@ -0,0 +1,88 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.BenchmarkTracks;
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.model.Track;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+/**
+ * Measures {@link Game#doCarTurn(Direction)} of the first car and a hypothetical turn with
+ * {@link GameState#apply(Direction)}, for the original tracks and tracks scaled up in width and height.
+ *
+ * <p>As a car can not be reset, it drives back and forth in a cycle of moves, which moves it to a free neighbour
+ * position and back to its starting position with velocity 0, so it never crashes nor wins.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GameBenchmark {
+    private static final Direction[] CYCLE_DIRECTIONS = {Direction.RIGHT, Direction.LEFT, Direction.DOWN, Direction.UP};
+    private static final Direction[] OPPOSITE_DIRECTIONS = {Direction.LEFT, Direction.RIGHT, Direction.UP, Direction.DOWN};
+
+    @Param({"challenge.txt", "oval-anticlock-right.txt", "oval-clock-up.txt", "quarter-mile.txt"})
+    private String trackName;
+
+    @Param({"1", "4"})
+    private int scale;
+
+    private Game game;
+    private GameState state;
+    private Direction[] moves;
+    private int moveIndex;
+
+    @Setup
+    public void setUp() throws IOException, InvalidFileFormatException {
+        Track track = new Track(BenchmarkTracks.getTrackFile(trackName, scale));
+        game = new Game(track);
+        PositionVector start = track.getCar(0).getCurrentPosition();
+        for (int i = 0; i < CYCLE_DIRECTIONS.length && moves == null; i++) {
+            if (isFree(track, start, CYCLE_DIRECTIONS[i].vector)) {
+                Direction forward = CYCLE_DIRECTIONS[i];
+                Direction back = OPPOSITE_DIRECTIONS[i];
+                moves = new Direction[]{forward, back, back, forward};
+            }
+        }
+        if (moves == null) {
+            throw new IllegalStateException("The first car has no room to move on " + trackName);
+        }
+        state = game.getState();
+    }
+
+    private static boolean isFree(Track track, PositionVector start, PositionVector direction) {
+        int x = start.getX() + direction.getX();
+        int y = start.getY() + direction.getY();
+        return track.getSpaceTypeAt(x, y) == SpaceType.TRACK && !track.isActiveCarAt(x, y, 0);
+    }
+
+    @Benchmark
+    public int doCarTurn() {
+        game.doCarTurn(moves[moveIndex]);
+        moveIndex = (moveIndex + 1) % moves.length;
+        return game.getWinner();
+    }
+
+    /**
+     * Plays a turn from the starting state, as a search strategy does for each candidate move.
+     */
+    @Benchmark
+    public GameState applyToState() {
+        moveIndex = (moveIndex + 1) % moves.length;
+        return state.apply(moves[moveIndex]);
+    }
+}
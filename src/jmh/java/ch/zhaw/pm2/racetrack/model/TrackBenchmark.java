@@ -0,0 +1,63 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.BenchmarkTracks;
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Measures reading a {@link Track} from each file in the tracks folder, as text and compiled by the
+ * {@link TrackCompiler}, and its {@link Track#toString()}, for the original tracks and tracks scaled up in width and height.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TrackBenchmark {
+
+    @Param({"challenge.txt", "oval-anticlock-right.txt", "oval-clock-up.txt", "quarter-mile.txt"})
+    private String trackName;
+
+    @Param({"1", "4"})
+    private int scale;
+
+    private File trackFile;
+    private File compiledFile;
+    private Track track;
+
+    @Setup
+    public void setUp() throws IOException, InvalidFileFormatException {
+        trackFile = BenchmarkTracks.getTrackFile(trackName, scale);
+        track = new Track(trackFile);
+        compiledFile = File.createTempFile(trackName, TrackCompiler.FILE_EXTENSION);
+        compiledFile.deleteOnExit();
+        TrackCompiler.write(track, compiledFile);
+    }
+
+    @Benchmark
+    public Track construct() throws IOException, InvalidFileFormatException {
+        return new Track(trackFile);
+    }
+
+    @Benchmark
+    public Track constructCompiled() throws IOException, InvalidFileFormatException {
+        return new Track(compiledFile);
+    }
+
+    @Benchmark
+    public String toStringOfTrack() {
+        return track.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.BenchmarkTracks;
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.model.Track;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the construction of the {@link PathFinderStrategy}, which searches the whole path of the first car,
+ * sequentially and in parallel, compared to the {@link AStarFinderStrategy}, for the original tracks and tracks
+ * scaled up in width and height.
+ * Besides the time, the effort of the searches is reported by the {@link SearchEffort} counters.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PathFinderBenchmark {
+
+    @Param({"challenge.txt", "oval-anticlock-right.txt", "oval-clock-up.txt", "quarter-mile.txt"})
+    private String trackName;
+
+    @Param({"1", "2"})
+    private int scale;
+
+    private Track track;
+
+    /**
+     * Counts the fields expanded by the {@link PathFinderStrategy} and the states expanded by the
+     * {@link AStarFinderStrategy}. They are reported as rates like the score, so the counter divided by the score
+     * is the number expanded per search.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class SearchEffort {
+        public long expandedFields;
+        public long expandedStates;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            expandedFields = 0;
+            expandedStates = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException, InvalidFileFormatException {
+        track = new Track(BenchmarkTracks.getTrackFile(trackName, scale));
+    }
+
+    @Benchmark
+    public MoveStrategy pathFinder(SearchEffort effort) {
+        PathFinderStrategy strategy = new PathFinderStrategy(track, 0);
+        effort.expandedFields += strategy.getExpandedFields();
+        return strategy;
+    }
+
+    /**
+     * The path finder expanding large layers on the common pool, which only pays off on large tracks.
+     */
+    @Benchmark
+    public MoveStrategy parallelPathFinder(SearchEffort effort) {
+        PathFinderStrategy strategy = new PathFinderStrategy(track, 0, ForkJoinPool.commonPool());
+        effort.expandedFields += strategy.getExpandedFields();
+        return strategy;
+    }
+
+    @Benchmark
+    public MoveStrategy aStarFinder(SearchEffort effort) {
+        AStarFinderStrategy strategy = new AStarFinderStrategy(track, 0);
+        effort.expandedStates += strategy.getExpandedStates();
+        return strategy;
+    }
+}
@@ -0,0 +1,73 @@
+package ch.zhaw.pm2.racetrack.utils;
+
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the list returning {@link BresenhamAlgorithm#calculatePath()} with the allocation free
+ * {@link BresenhamAlgorithm#walkPath(int, int, int, int, BresenhamAlgorithm.PathVisitor)}
+ * and the walk along the offsets of a {@link LineOffsetCache}.
+ * With the gc profiler, gc.alloc.rate.norm of walkPath is expected to be 0 bytes per operation.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BresenhamBenchmark {
+
+    @Param({"3", "12", "40"})
+    private int length;
+
+    private PositionVector startPosition;
+    private PositionVector endPosition;
+    private final PositionSum positionSum = new PositionSum();
+    private final LineOffsetCache lineOffsets = new LineOffsetCache(40);
+
+    @Setup
+    public void setUp() {
+        startPosition = new PositionVector(5, 7);
+        endPosition = new PositionVector(5 + length, 7 + length / 3);
+    }
+
+    @Benchmark
+    public void calculatePath(Blackhole blackhole) {
+        blackhole.consume(new BresenhamAlgorithm(startPosition, endPosition).calculatePath());
+    }
+
+    @Benchmark
+    public int walkPath() {
+        positionSum.sum = 0;
+        BresenhamAlgorithm.walkPath(startPosition.getX(), startPosition.getY(), endPosition.getX(), endPosition.getY(),
+                positionSum);
+        return positionSum.sum;
+    }
+
+    @Benchmark
+    public int walkPathWithOffsetCache() {
+        positionSum.sum = 0;
+        lineOffsets.walkPath(startPosition.getX(), startPosition.getY(),
+                endPosition.getX() - startPosition.getX(), endPosition.getY() - startPosition.getY(), positionSum);
+        return positionSum.sum;
+    }
+
+    private static class PositionSum implements BresenhamAlgorithm.PathVisitor {
+        private int sum;
+
+        @Override
+        public boolean visit(int x, int y) {
+            sum += x + y;
+            return true;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ch.zhaw.pm2.racetrack;
 
 import ch.zhaw.pm2.racetrack.core.Executor;
+import ch.zhaw.pm2.racetrack.core.PacedDisplay;
+
+import java.io.File;
 
 /**
  * Class App which starts a new racetrack game.
@@ -9,13 +12,71 @@ import ch.zhaw.pm2.racetrack.core.Executor;
  * @version 1.0
  */
 public class App {
+    private static final String USAGE = "Usage: App [--fps <frames per second>] [--skip-frames | --max-speed]"
+            + " [--record <replay file>] [--policy-table] [--move-budget <milliseconds>]";
+
     /**
      * Creates a new racetrack executor and runs it.
      *
+     * <p>The frame pacing can be chosen with the arguments: <code>--fps &lt;n&gt;</code> sets the target frame rate,
+     * <code>--skip-frames</code> lets the game run without waiting for the display and
+     * <code>--max-speed</code> additionally displays the frames without any waiting.
+     * With <code>--record &lt;file&gt;</code> the last game is recorded as replay.
+     * With <code>--policy-table</code> the PATH_FINDER cars look up their moves in a policy table,
+     * which is saved next to the track file for later games.
+     * With <code>--move-budget &lt;ms&gt;</code> the A_STAR_FINDER cars plan during the game and have to
+     * determine every move within the given time.</p>
+     *
      * @param args an array of command-line arguments for the application.
      */
     public static void main(String[] args) {
-        Executor executor = new Executor();
-        executor.start();
+        Executor.Settings settings = new Executor.Settings();
+        boolean validArguments = true;
+        for (int i = 0; i < args.length && validArguments; i++) {
+            switch (args[i]) {
+                case "--fps" -> {
+                    int framesPerSecond = i + 1 < args.length ? parseNumber(args[++i]) : 0;
+                    validArguments = framesPerSecond > 0;
+                    if (validArguments) {
+                        settings.setFramesPerSecond(framesPerSecond);
+                    }
+                }
+                case "--skip-frames" -> settings.setPacing(PacedDisplay.Pacing.SKIP_FRAMES);
+                case "--max-speed" -> settings.setPacing(PacedDisplay.Pacing.MAX_SPEED);
+                case "--record" -> {
+                    validArguments = i + 1 < args.length;
+                    if (validArguments) {
+                        settings.setReplayFile(new File(args[++i]));
+                    }
+                }
+                case "--policy-table" -> settings.setUsePolicyTables(true);
+                case "--move-budget" -> {
+                    int moveBudgetMillis = i + 1 < args.length ? parseNumber(args[++i]) : 0;
+                    validArguments = moveBudgetMillis > 0;
+                    if (validArguments) {
+                        settings.setMoveBudgetMillis(moveBudgetMillis);
+                    }
+                }
+                default -> validArguments = false;
+            }
+        }
+
+        if (validArguments) {
+            Executor executor = new Executor(settings);
+            executor.start();
+        } else {
+            System.err.println(USAGE);
+        }
+    }
+
+    /**
+     * Returns the given number, e.g. of frames per second, or 0 if it is not a number.
+     */
+    private static int parseNumber(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
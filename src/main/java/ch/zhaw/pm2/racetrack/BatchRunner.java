@@ -0,0 +1,71 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.core.BatchResult;
+import ch.zhaw.pm2.racetrack.core.BatchSimulation;
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class BatchRunner which runs many racetrack games without user interface and prints the aggregated results.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class BatchRunner {
+    private static final String SIMULTANEOUS_OPTION = "--simultaneous";
+    private static final String USAGE = """
+            Usage: BatchRunner [--simultaneous] <track file> <strategy of each car>... <repetitions>
+            Strategies: DO_NOT_MOVE, PATH_FINDER, A_STAR_FINDER, MOVE_LIST:<file>, PATH_FOLLOWER:<file>""";
+
+    /**
+     * Runs the games on all available processors and prints the results.
+     *
+     * @param args optionally --simultaneous, the track file, the strategy of each car and the number of games.
+     */
+    public static void main(String[] args) {
+        boolean simultaneousMoves = args.length > 0 && args[0].equals(SIMULTANEOUS_OPTION);
+        if (simultaneousMoves) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length < 3) {
+            System.err.println(USAGE);
+            return;
+        }
+        try {
+            File trackFile = new File(args[0]);
+            List<BatchSimulation.StrategyFactory> strategyFactories = new ArrayList<>();
+            for (int i = 1; i < args.length - 1; i++) {
+                strategyFactories.add(parseStrategy(args[i]));
+            }
+            int repetitions = Integer.parseInt(args[args.length - 1]);
+            int threads = Runtime.getRuntime().availableProcessors();
+
+            BatchSimulation simulation = new BatchSimulation(trackFile, strategyFactories, BatchSimulation.DEFAULT_MAX_TURNS,
+                    simultaneousMoves);
+            BatchResult result = simulation.run(repetitions, threads);
+            System.out.println("Threads: " + threads);
+            System.out.print(result);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+        } catch (IOException | InvalidFileFormatException e) {
+            System.err.println("Following error occurred while running the games: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a strategy given as type, followed by a colon and the file for the strategies which need one.
+     */
+    private static BatchSimulation.StrategyFactory parseStrategy(String argument) {
+        int separator = argument.indexOf(':');
+        String typeName = separator < 0 ? argument : argument.substring(0, separator);
+        File file = separator < 0 ? null : new File(argument.substring(separator + 1));
+        return BatchSimulation.getStrategyFactory(StrategyType.valueOf(typeName), file);
+    }
+}
@@ -0,0 +1,52 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.core.Communication;
+import ch.zhaw.pm2.racetrack.core.IncrementalDisplay;
+import ch.zhaw.pm2.racetrack.core.PacedDisplay;
+import ch.zhaw.pm2.racetrack.core.ReplayPlayer;
+import ch.zhaw.pm2.racetrack.core.UserInterface;
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Class ReplayViewer which plays a game recorded with <code>App --record</code>, or prints the track after a turn.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class ReplayViewer {
+    private static final String USAGE = "Usage: ReplayViewer <track file> <replay file> [<turn>]";
+
+    /**
+     * Plays the replay on the display, or prints the track after the given turn without user interface.
+     *
+     * @param args the track file, the replay file and optionally the turn.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println(USAGE);
+            return;
+        }
+        try {
+            ReplayPlayer player = new ReplayPlayer(new File(args[1]), new TrackTemplate(new File(args[0])));
+            if (args.length == 3) {
+                player.seek(Integer.parseInt(args[2]));
+                System.out.println("Turn " + player.getCurrentTurn() + " of " + player.getTurnCount());
+                System.out.print(player.getTrack());
+            } else {
+                UserInterface userInterface = new PacedDisplay(new IncrementalDisplay(new Communication()),
+                        PacedDisplay.Pacing.FIXED_RATE, PacedDisplay.DEFAULT_FRAMES_PER_SECOND);
+                player.play(userInterface);
+                userInterface.outputExitGame();
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+        } catch (IOException | InvalidFileFormatException e) {
+            System.err.println("Following error occurred while reading the replay: " + e.getMessage());
+        }
+    }
+}
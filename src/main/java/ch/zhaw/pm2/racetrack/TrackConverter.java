@@ -0,0 +1,40 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.model.TrackCompiler;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Class TrackConverter which converts text track files into compiled track files, which are loaded faster.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class TrackConverter {
+    private static final String USAGE = "Usage: TrackConverter <track file>...\n"
+            + "Each track is written next to its file with the extension " + TrackCompiler.FILE_EXTENSION;
+
+    /**
+     * Converts each given track file and prints the name of the compiled file.
+     *
+     * @param args the track files to convert.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return;
+        }
+        for (String trackName : args) {
+            File trackFile = new File(trackName);
+            File compiledFile = TrackCompiler.getCompiledFile(trackFile);
+            try {
+                TrackCompiler.compile(trackFile, compiledFile);
+                System.out.println(trackFile + " -> " + compiledFile);
+            } catch (IOException | InvalidFileFormatException e) {
+                System.err.println("Following error occurred while converting " + trackFile + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated results of the games run by a {@link BatchSimulation}.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class BatchResult {
+    private final int[] winsPerCar;
+    private int games;
+    private int gamesWithoutWinner;
+    private long turnsToWinSum;
+    private int minTurnsToWin = Integer.MAX_VALUE;
+    private int maxTurnsToWin;
+    private long wallTimeNanos;
+
+    /**
+     * Constructs a new empty result.
+     *
+     * @param carCount the number of cars in the games.
+     */
+    BatchResult(int carCount) {
+        winsPerCar = new int[carCount];
+    }
+
+    /**
+     * Adds the result of a game.
+     *
+     * @param winner     the index of the winning car or {@link Game#NO_WINNER}.
+     * @param turnsToWin the number of turns the winning car needed, ignored if there is no winner.
+     */
+    void addGame(int winner, int turnsToWin) {
+        games++;
+        if (winner == Game.NO_WINNER) {
+            gamesWithoutWinner++;
+        } else {
+            winsPerCar[winner]++;
+            turnsToWinSum += turnsToWin;
+            minTurnsToWin = Math.min(minTurnsToWin, turnsToWin);
+            maxTurnsToWin = Math.max(maxTurnsToWin, turnsToWin);
+        }
+    }
+
+    void setWallTimeNanos(long wallTimeNanos) {
+        this.wallTimeNanos = wallTimeNanos;
+    }
+
+    /**
+     * @return the number of games run.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Returns how many games the given car won.
+     *
+     * @param carIndex the index of the car.
+     * @return the number of games won.
+     * @throws IllegalArgumentException if the car index is invalid.
+     */
+    public int getWins(int carIndex) {
+        if (carIndex < 0 || carIndex >= winsPerCar.length) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+        return winsPerCar[carIndex];
+    }
+
+    /**
+     * @return the number of games ending in a tie or without winner after the maximum number of turns.
+     */
+    public int getGamesWithoutWinner() {
+        return gamesWithoutWinner;
+    }
+
+    /**
+     * @return the average number of turns the winning car needed, or 0 if no game was won.
+     */
+    public double getAverageTurnsToWin() {
+        int gamesWon = games - gamesWithoutWinner;
+        return gamesWon == 0 ? 0 : (double) turnsToWinSum / gamesWon;
+    }
+
+    /**
+     * @return the least number of turns a winning car needed, or 0 if no game was won.
+     */
+    public int getMinTurnsToWin() {
+        return games == gamesWithoutWinner ? 0 : minTurnsToWin;
+    }
+
+    /**
+     * @return the most turns a winning car needed, or 0 if no game was won.
+     */
+    public int getMaxTurnsToWin() {
+        return maxTurnsToWin;
+    }
+
+    /**
+     * @return the time in nanoseconds from the start of the first to the end of the last game.
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * @return the number of games run per second of wall time.
+     */
+    public double getGamesPerSecond() {
+        return wallTimeNanos == 0 ? 0 : games * (double) TimeUnit.SECONDS.toNanos(1) / wallTimeNanos;
+    }
+
+    /**
+     * Returns the results as text with one value per line.
+     *
+     * @return the results.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games: ").append(games).append('\n');
+        for (int carIndex = 0; carIndex < winsPerCar.length; carIndex++) {
+            sb.append(String.format("Wins of car %d: %d (%.1f%%)%n", carIndex, winsPerCar[carIndex],
+                    100.0 * winsPerCar[carIndex] / games));
+        }
+        sb.append(String.format("Without winner: %d (%.1f%%)%n", gamesWithoutWinner, 100.0 * gamesWithoutWinner / games));
+        sb.append(String.format("Turns to win: min %d, avg %.2f, max %d%n",
+                getMinTurnsToWin(), getAverageTurnsToWin(), getMaxTurnsToWin()));
+        sb.append(String.format("Wall time: %.3f s%n", wallTimeNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        sb.append(String.format("Games per second: %.1f%n", getGamesPerSecond()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,256 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.strategy.AStarFinderStrategy;
+import ch.zhaw.pm2.racetrack.strategy.DoNotMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
+import ch.zhaw.pm2.racetrack.strategy.PathFinderStrategy;
+import ch.zhaw.pm2.racetrack.strategy.PathFollowerMoveStrategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many games on the same track without user interface, in parallel on several threads.
+ *
+ * <p>The track file is read once into a {@link TrackTemplate}. Every game gets a new {@link Track} with its own cars
+ * from it and new strategies from the given factories, so the games share no mutable state. The cars take turns
+ * in the same order as in {@link Executor}. A game ends without winner, if only cars with the
+ * {@link DoNotMoveStrategy} remain or after the maximum number of turns, as e.g. a car which finished its move list
+ * would stand still forever.</p>
+ * <p>In the simultaneous-move mode, all cars which are not crashed move in every round at the same time,
+ * see {@link Game#doSimultaneousRound(Direction[])}, which needs one call per round instead of one per car.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class BatchSimulation {
+    /**
+     * Maximum number of turns of all cars together in a game, used if none is given.
+     */
+    public static final int DEFAULT_MAX_TURNS = 10_000;
+
+    private final File trackFile;
+    private final List<StrategyFactory> strategyFactories;
+    private final int maxTurns;
+    private final boolean simultaneousMoves;
+
+    /**
+     * Creates the move strategy of a car for a new game.
+     */
+    @FunctionalInterface
+    public interface StrategyFactory {
+        /**
+         * Creates the move strategy of the given car.
+         *
+         * @param track    the track of the new game.
+         * @param carIndex the index of the car.
+         * @return the move strategy of the car.
+         * @throws IOException                if a file of the strategy could not be read.
+         * @throws InvalidFileFormatException if a file of the strategy is invalid.
+         */
+        MoveStrategy createStrategy(Track track, int carIndex) throws IOException, InvalidFileFormatException;
+    }
+
+    /**
+     * Constructs a new BatchSimulation.
+     *
+     * @param trackFile         the file of the track.
+     * @param strategyFactories a factory for the strategy of each car.
+     * @param maxTurns          the maximum number of turns of all cars together in a game.
+     * @throws NullPointerException     if trackFile or strategyFactories is null.
+     * @throws IllegalArgumentException if maxTurns is not positive.
+     */
+    public BatchSimulation(File trackFile, List<StrategyFactory> strategyFactories, int maxTurns) {
+        this(trackFile, strategyFactories, maxTurns, false);
+    }
+
+    /**
+     * Constructs a new BatchSimulation, optionally in the simultaneous-move mode.
+     *
+     * @param trackFile         the file of the track.
+     * @param strategyFactories a factory for the strategy of each car.
+     * @param maxTurns          the maximum number of turns of all cars together in a game.
+     * @param simultaneousMoves whether all cars move at the same time instead of taking turns.
+     * @throws NullPointerException     if trackFile or strategyFactories is null.
+     * @throws IllegalArgumentException if maxTurns is not positive.
+     */
+    public BatchSimulation(File trackFile, List<StrategyFactory> strategyFactories, int maxTurns,
+                           boolean simultaneousMoves) {
+        this.trackFile = Objects.requireNonNull(trackFile, "trackFile may not be null");
+        this.strategyFactories = List.copyOf(Objects.requireNonNull(strategyFactories, "strategyFactories may not be null"));
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("maxTurns must be positive!");
+        }
+        this.maxTurns = maxTurns;
+        this.simultaneousMoves = simultaneousMoves;
+    }
+
+    /**
+     * Returns a factory for the given strategy type.
+     *
+     * @param strategyType the type of the strategy, {@link StrategyType#USER} is not possible without user interface.
+     * @param file         the move list or path follower file, ignored for the other strategies.
+     * @return the factory creating the strategy for a new game.
+     * @throws NullPointerException     if strategyType is null.
+     * @throws IllegalArgumentException if the strategy is {@link StrategyType#USER},
+     *                                  or needs a file and file is null.
+     */
+    public static StrategyFactory getStrategyFactory(StrategyType strategyType, File file) {
+        Objects.requireNonNull(strategyType, "strategyType may not be null");
+        if ((strategyType == StrategyType.MOVE_LIST || strategyType == StrategyType.PATH_FOLLOWER) && file == null) {
+            throw new IllegalArgumentException("The strategy " + strategyType + " needs a file!");
+        }
+        return switch (strategyType) {
+            case DO_NOT_MOVE -> (track, carIndex) -> new DoNotMoveStrategy();
+            case MOVE_LIST -> (track, carIndex) -> new MoveListStrategy(file);
+            case PATH_FOLLOWER -> (track, carIndex) ->
+                new PathFollowerMoveStrategy(file, track.getCar(carIndex).getCurrentPosition());
+            case PATH_FINDER -> PathFinderStrategy::new;
+            case A_STAR_FINDER -> AStarFinderStrategy::new;
+            case USER -> throw new IllegalArgumentException("The strategy USER needs a user interface!");
+        };
+    }
+
+    /**
+     * Runs the given number of games in parallel.
+     *
+     * @param repetitions the number of games.
+     * @param threads     the number of threads running the games.
+     * @return the aggregated results of all games.
+     * @throws IOException                if the track file or a strategy file could not be read.
+     * @throws InvalidFileFormatException if the track file or a strategy file is invalid.
+     * @throws IllegalArgumentException   if repetitions or threads is not positive,
+     *                                    or the number of strategies does not match the number of cars.
+     */
+    public BatchResult run(int repetitions, int threads) throws IOException, InvalidFileFormatException {
+        if (repetitions <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("repetitions and threads must be positive!");
+        }
+        TrackTemplate template = new TrackTemplate(trackFile);
+        int carCount = template.getCarCount();
+        if (carCount != strategyFactories.size()) {
+            throw new IllegalArgumentException("The track has " + carCount + " cars, but "
+                    + strategyFactories.size() + " strategies were given!");
+        }
+
+        BatchResult result = new BatchResult(carCount);
+        long startTime = System.nanoTime();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<GameResult>> games = new ArrayList<>(repetitions);
+            for (int i = 0; i < repetitions; i++) {
+                games.add(executorService.submit(() -> runGame(template)));
+            }
+            for (Future<GameResult> game : games) {
+                GameResult gameResult = game.get();
+                result.addGame(gameResult.winner, gameResult.turnsOfWinner);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throwCause(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+        result.setWallTimeNanos(System.nanoTime() - startTime);
+        return result;
+    }
+
+    /**
+     * Plays a single game until a car wins, only cars with {@link DoNotMoveStrategy} remain or the turns run out.
+     */
+    private GameResult runGame(TrackTemplate template) throws IOException, InvalidFileFormatException {
+        Track track = new Track(template);
+        Game game = new Game(track);
+        for (int carIndex = 0; carIndex < strategyFactories.size(); carIndex++) {
+            game.setCarMoveStrategy(carIndex, strategyFactories.get(carIndex).createStrategy(track, carIndex));
+        }
+        if (simultaneousMoves) {
+            return runSimultaneousGame(track, game);
+        }
+
+        int[] numberOfMovesForEachCar = new int[game.getCarCount()];
+        for (int turn = 1; ; turn++) {
+            int currentCarIndex = game.getCurrentCarIndex();
+            game.doCarTurn(game.getCarMoveStrategy(currentCarIndex).nextMove());
+            numberOfMovesForEachCar[currentCarIndex]++;
+
+            int winner = game.getWinner();
+            if (winner != Game.NO_WINNER) {
+                return new GameResult(winner, numberOfMovesForEachCar[winner]);
+            }
+            if (game.onlyCarsWithDoNotMoveStrategyRemaining() || turn >= maxTurns) {
+                return new GameResult(Game.NO_WINNER, 0);
+            }
+            game.switchToNextActiveCar();
+        }
+    }
+
+    /**
+     * Plays a game in the simultaneous-move mode, the turns of all cars moving in a round are counted.
+     */
+    private GameResult runSimultaneousGame(Track track, Game game) {
+        int carCount = game.getCarCount();
+        Direction[] accelerations = new Direction[carCount];
+        int[] numberOfMovesForEachCar = new int[carCount];
+        int turns = 0;
+        while (true) {
+            for (int carIndex = 0; carIndex < carCount; carIndex++) {
+                if (!track.getCar(carIndex).isCrashed()) {
+                    accelerations[carIndex] = game.getCarMoveStrategy(carIndex).nextMove();
+                    numberOfMovesForEachCar[carIndex]++;
+                    turns++;
+                }
+            }
+            game.doSimultaneousRound(accelerations);
+
+            int winner = game.getWinner();
+            if (winner != Game.NO_WINNER) {
+                return new GameResult(winner, numberOfMovesForEachCar[winner]);
+            }
+            if (game.onlyCarsWithDoNotMoveStrategyRemaining() || turns >= maxTurns) {
+                return new GameResult(Game.NO_WINNER, 0);
+            }
+        }
+    }
+
+    private static void throwCause(ExecutionException e) throws IOException, InvalidFileFormatException {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException ioException) {
+            throw ioException;
+        } else if (cause instanceof InvalidFileFormatException invalidFileFormatException) {
+            throw invalidFileFormatException;
+        } else if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else {
+            throw new IllegalStateException("A game failed", cause);
+        }
+    }
+
+    /**
+     * Outcome of a single game.
+     */
+    private static class GameResult {
+        private final int winner;
+        private final int turnsOfWinner;
+
+        GameResult(int winner, int turnsOfWinner) {
+            this.winner = winner;
+            this.turnsOfWinner = turnsOfWinner;
+        }
+    }
+}
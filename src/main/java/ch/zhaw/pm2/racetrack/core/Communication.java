@@ -32,11 +32,6 @@ public class Communication implements UserInterface {
      */
     @Override
     public void outputPrintRaceTrack(String racetrackOutput) {
-        try {
-            Thread.sleep(350);
-        } catch (InterruptedException e) {
-            outputException("Following error occurred while trying to display the track: " + e.getMessage());
-        }
         textTerminal.resetToBookmark("display");
         textTerminal.print(racetrackOutput);
     }
@@ -136,6 +131,18 @@ public class Communication implements UserInterface {
         textTerminal.println("No car could win the game, the game ended in a tie!");
     }
 
+    /**
+     * Is the method that prints in console how many moves of a car with a time budget were determined too late.
+     *
+     * @param car             The car with the time budget.
+     * @param missedDeadlines The number of moves determined after their deadline.
+     * @param amountOfMoves   The number of moves of the car.
+     */
+    @Override
+    public void outputMissedDeadlines(char car, int missedDeadlines, int amountOfMoves) {
+        textTerminal.println("Car " + car + " missed the deadline of " + missedDeadlines + " of " + amountOfMoves + " moves.");
+    }
+
     /**
      * Is the method that lets the user choose which racetrack they want to play on.
      *
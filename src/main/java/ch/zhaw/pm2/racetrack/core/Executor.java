@@ -3,13 +3,23 @@ package ch.zhaw.pm2.racetrack.core;
 import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
 import ch.zhaw.pm2.racetrack.given.Config;
 import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackCache;
+import ch.zhaw.pm2.racetrack.model.TrackCompiler;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.strategy.AStarFinderStrategy;
+import ch.zhaw.pm2.racetrack.strategy.AnytimeAStarStrategy;
+import ch.zhaw.pm2.racetrack.strategy.AsyncMoveStrategy;
 import ch.zhaw.pm2.racetrack.strategy.DoNotMoveStrategy;
 import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
 import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
 import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
 import ch.zhaw.pm2.racetrack.strategy.PathFinderStrategy;
 import ch.zhaw.pm2.racetrack.strategy.PathFollowerMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.PolicyTable;
+import ch.zhaw.pm2.racetrack.strategy.PolicyTableStrategy;
+import ch.zhaw.pm2.racetrack.strategy.TimeBudgetedMoveStrategy;
 import ch.zhaw.pm2.racetrack.strategy.UserMoveStrategy;
+import ch.zhaw.pm2.racetrack.utils.Reader;
 
 import java.io.File;
 import java.io.IOException;
@@ -17,6 +27,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Class Executor which executes the game and defines its flow.
@@ -25,13 +43,41 @@ import java.util.Map;
  * @version 1.0
  */
 public class Executor {
-    private final UserInterface userInterface = new Communication();
+    private final UserInterface userInterface;
     private final Config config = new Config();
+    private final TrackCache trackCache = new TrackCache(TrackCache.DEFAULT_CAPACITY);
+    private final File replayFile;
+    private final boolean usePolicyTables;
+    private final long moveBudgetNanos;
+    private final ExecutorService planningExecutor;
+    private final Queue<String> planningErrors = new ConcurrentLinkedQueue<>();
     private boolean gameIsRunning;
     private Game game;
     private Track track;
+    private File trackFile;
     private final Map<Integer, Integer> numberOfMovesForEachCar = new HashMap<>();
 
+    /**
+     * Constructs a new Executor with the given settings.
+     *
+     * @param settings the frame pacing and the options of the games, see {@link Settings}.
+     * @throws NullPointerException     if settings is null.
+     * @throws IllegalArgumentException if the frames per second are not positive and needed for the pacing.
+     */
+    public Executor(Settings settings) {
+        Objects.requireNonNull(settings, "settings may not be null");
+        userInterface = new PacedDisplay(new IncrementalDisplay(new Communication()), settings.pacing,
+                settings.framesPerSecond);
+        replayFile = settings.replayFile;
+        usePolicyTables = settings.usePolicyTables;
+        moveBudgetNanos = TimeUnit.MILLISECONDS.toNanos(settings.moveBudgetMillis);
+        planningExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "racetrack-planner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * This method starts the game.
      */
@@ -40,14 +86,14 @@ public class Executor {
             gameIsRunning = true;
             userInterface.outputWelcomeMessage();
 
-            File trackFile = getTrackFile();
+            trackFile = getTrackFile();
 
             if (trackFile == null) {
                 userInterface.outputException("There was no track file found");
                 endGame();
             } else {
                 try {
-                    this.track = new Track(trackFile);
+                    this.track = trackCache.createTrack(trackFile);
 
                 } catch (IOException | InvalidFileFormatException e) {
                     userInterface.outputException("Following error occurred, while trying to start the game: " + e.getCause().getMessage());
@@ -65,9 +111,11 @@ public class Executor {
 
     private void runGame() {
         applyMoveStrategies();
+        ReplayRecorder replayRecorder = startReplay();
         userInterface.outputPrintRaceTrack(track.toString());
 
         while (gameIsRunning) {
+            outputPlanningErrors();
             int currentCarIndex = game.getCurrentCarIndex();
             MoveStrategy carMoveStrategy = game.getCarMoveStrategy(currentCarIndex);
 
@@ -98,6 +146,40 @@ public class Executor {
                 game.switchToNextActiveCar();
             }
         }
+        outputPlanningErrors();
+        outputMissedDeadlines();
+        stopReplay(replayRecorder);
+    }
+
+    private void outputMissedDeadlines() {
+        for (int carIndex = 0; carIndex < game.getCarCount(); carIndex++) {
+            if (game.getCarMoveStrategy(carIndex) instanceof TimeBudgetedMoveStrategy timeBudgetedStrategy) {
+                userInterface.outputMissedDeadlines(game.getCarId(carIndex), timeBudgetedStrategy.getMissedDeadlines(),
+                        numberOfMovesForEachCar.get(carIndex));
+            }
+        }
+    }
+
+    private ReplayRecorder startReplay() {
+        if (replayFile == null) {
+            return null;
+        }
+        try {
+            return new ReplayRecorder(replayFile, game);
+        } catch (IOException e) {
+            userInterface.outputException("The replay could not be recorded: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void stopReplay(ReplayRecorder replayRecorder) {
+        if (replayRecorder != null) {
+            try {
+                replayRecorder.close();
+            } catch (IOException e) {
+                userInterface.outputException("The replay could not be recorded: " + e.getMessage());
+            }
+        }
     }
 
     private void endGame() {
@@ -116,7 +198,8 @@ public class Executor {
 
         if (trackArray != null && trackArray.length != 0) {
             List<String> trackList = new ArrayList<>(List.of(trackArray));
-            trackList.removeIf(s -> !s.endsWith(".txt"));
+            trackList.removeIf(s -> !s.endsWith(Reader.TRACK_FILE_EXTENSION)
+                    && !s.endsWith(TrackCompiler.FILE_EXTENSION));
 
             if (trackList.size() != 0) {
                 String trackOptions = getOptionString(trackList);
@@ -201,7 +284,19 @@ public class Executor {
                     }
 
                     case PATH_FINDER -> {
-                        moveStrategy = new PathFinderStrategy(track, currentCarIndex);
+                        moveStrategy = createPathFinderStrategy(currentCarIndex);
+                        strategyAppliedSuccessfully = true;
+                        notAllCarsHaveDoNotMoveStrategy = true;
+                    }
+
+                    case A_STAR_FINDER -> {
+                        int carIndex = currentCarIndex;
+                        if (moveBudgetNanos > 0) {
+                            moveStrategy = new AnytimeAStarStrategy(track, carIndex, moveBudgetNanos);
+                        } else {
+                            moveStrategy = planInBackground(StrategyType.A_STAR_FINDER,
+                                    planningTrack -> new AStarFinderStrategy(planningTrack, carIndex));
+                        }
                         strategyAppliedSuccessfully = true;
                         notAllCarsHaveDoNotMoveStrategy = true;
                     }
@@ -217,6 +312,64 @@ public class Executor {
         }
     }
 
+    /**
+     * Returns the strategy looking up the moves in the policy table, if policy tables are used and the track
+     * is small enough for one, otherwise the strategy planning a path. Both are constructed in the background,
+     * as loading the table may solve it for the whole track.
+     */
+    private MoveStrategy createPathFinderStrategy(int carIndex) {
+        if (usePolicyTables) {
+            Track gameTrack = track;
+            File policyTrackFile = trackFile;
+            return new AsyncMoveStrategy(StrategyType.PATH_FINDER,
+                    () -> createPolicyTableStrategy(gameTrack, policyTrackFile, carIndex), planningExecutor);
+        }
+        return planInBackground(StrategyType.PATH_FINDER, planningTrack -> createPathFinderStrategy(planningTrack, carIndex));
+    }
+
+    /**
+     * Loads or solves the policy table on the planning executor. The strategy looks up the moves for the cars
+     * of the game track, but only keeps a reference to them. Errors are reported on the game thread, see
+     * {@link #outputPlanningErrors()}.
+     */
+    private MoveStrategy createPolicyTableStrategy(Track gameTrack, File policyTrackFile, int carIndex) {
+        try {
+            return new PolicyTableStrategy(gameTrack, carIndex, PolicyTable.load(policyTrackFile, gameTrack.getTemplate()));
+        } catch (IOException e) {
+            planningErrors.add("The policy table could not be saved: " + e.getMessage());
+            return new PolicyTableStrategy(gameTrack, carIndex, PolicyTable.of(gameTrack.getTemplate()));
+        } catch (IllegalArgumentException e) {
+            planningErrors.add(e.getMessage());
+            return createPathFinderStrategy(new Track(gameTrack.getTemplate()), carIndex);
+        }
+    }
+
+    private static MoveStrategy createPathFinderStrategy(Track planningTrack, int carIndex) {
+        // only large layers of large tracks are expanded on the pool
+        return new PathFinderStrategy(planningTrack, carIndex, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Outputs the errors of the strategies planned in the background, which occurred since the last call.
+     */
+    private void outputPlanningErrors() {
+        String error = planningErrors.poll();
+        while (error != null) {
+            userInterface.outputException(error);
+            error = planningErrors.poll();
+        }
+    }
+
+    /**
+     * Starts the construction of a strategy, which plans its moves in the constructor, on the planning executor,
+     * so it plans while the strategies of the other cars are chosen. The strategy plans on its own track of the
+     * same template, as the cars on the track of the game may already move while it plans.
+     */
+    private MoveStrategy planInBackground(StrategyType strategyType, Function<Track, MoveStrategy> planner) {
+        TrackTemplate template = track.getTemplate();
+        return new AsyncMoveStrategy(strategyType, () -> planner.apply(new Track(template)), planningExecutor);
+    }
+
     private String getOptionString(List<String> optionList) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < optionList.size(); i++) {
@@ -224,4 +377,78 @@ public class Executor {
         }
         return sb.toString();
     }
+
+    /**
+     * The settings of an {@link Executor}. Every setting has a default, so only the ones differing from it are set.
+     */
+    public static class Settings {
+        private PacedDisplay.Pacing pacing = PacedDisplay.Pacing.FIXED_RATE;
+        private int framesPerSecond = PacedDisplay.DEFAULT_FRAMES_PER_SECOND;
+        private File replayFile;
+        private boolean usePolicyTables;
+        private int moveBudgetMillis;
+
+        /**
+         * Sets how the frames of the racetrack are paced, {@link PacedDisplay.Pacing#FIXED_RATE} by default.
+         *
+         * @param pacing the frame pacing.
+         * @return these settings.
+         * @throws NullPointerException if pacing is null.
+         */
+        public Settings setPacing(PacedDisplay.Pacing pacing) {
+            this.pacing = Objects.requireNonNull(pacing, "pacing may not be null");
+            return this;
+        }
+
+        /**
+         * Sets the target frame rate, ignored for {@link PacedDisplay.Pacing#MAX_SPEED},
+         * {@link PacedDisplay#DEFAULT_FRAMES_PER_SECOND} by default.
+         *
+         * @param framesPerSecond the frames per second.
+         * @return these settings.
+         */
+        public Settings setFramesPerSecond(int framesPerSecond) {
+            this.framesPerSecond = framesPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the file to record the replay of the last game to, by default no replay is recorded.
+         *
+         * @param replayFile the replay file, or null to record no replay.
+         * @return these settings.
+         */
+        public Settings setReplayFile(File replayFile) {
+            this.replayFile = replayFile;
+            return this;
+        }
+
+        /**
+         * Sets whether PATH_FINDER cars look up their moves in the {@link PolicyTable}, which is stored next to the
+         * track file, instead of planning a path. By default, they plan a path.
+         *
+         * @param usePolicyTables whether the policy tables are used.
+         * @return these settings.
+         */
+        public Settings setUsePolicyTables(boolean usePolicyTables) {
+            this.usePolicyTables = usePolicyTables;
+            return this;
+        }
+
+        /**
+         * Sets the time budget of every move of the A_STAR_FINDER cars, which plan with the
+         * {@link AnytimeAStarStrategy} then. By default, it is 0 and they plan the whole path before the game.
+         *
+         * @param moveBudgetMillis the time budget in milliseconds, or 0.
+         * @return these settings.
+         * @throws IllegalArgumentException if moveBudgetMillis is negative.
+         */
+        public Settings setMoveBudgetMillis(int moveBudgetMillis) {
+            if (moveBudgetMillis < 0) {
+                throw new IllegalArgumentException("The move budget may not be negative!");
+            }
+            this.moveBudgetMillis = moveBudgetMillis;
+            return this;
+        }
+    }
 }
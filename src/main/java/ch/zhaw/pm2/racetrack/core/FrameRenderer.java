@@ -0,0 +1,99 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import java.util.Objects;
+
+/**
+ * Renders the racetrack frames for an ANSI terminal, only sending the positions which changed
+ * since the previous frame.
+ *
+ * <p>The previous frame is kept as char array. If a new frame has the same size, the changed characters
+ * of each line are written after moving the cursor to them. Otherwise, or after {@link #invalidate()},
+ * the screen is cleared and the whole frame is written.
+ * After each frame the cursor is placed on the line below the track, where other output continues.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class FrameRenderer {
+    private static final String ESCAPE = "\u001b[";
+    private static final String CLEAR_SCREEN = ESCAPE + "H" + ESCAPE + "2J";
+
+    private char[] previousFrame;
+    private int lineCount;
+
+    /**
+     * Returns the text to send to the terminal to display the given frame.
+     *
+     * @param frame the racetrack as returned by {@link ch.zhaw.pm2.racetrack.model.Track#toString()}.
+     * @return the text containing the cursor movements and changed characters,
+     * or the whole frame after a clear screen.
+     * @throws NullPointerException if frame is null.
+     */
+    public String render(String frame) {
+        Objects.requireNonNull(frame, "frame may not be null");
+        char[] currentFrame = frame.toCharArray();
+
+        String output = null;
+        if (previousFrame != null && previousFrame.length == currentFrame.length) {
+            output = renderChanges(currentFrame);
+        }
+        if (output == null) {
+            lineCount = countLines(currentFrame);
+            output = CLEAR_SCREEN + frame;
+        }
+        previousFrame = currentFrame;
+        return output;
+    }
+
+    /**
+     * Forces the next frame to be written completely, e.g. because other output may have scrolled the screen.
+     */
+    public void invalidate() {
+        previousFrame = null;
+    }
+
+    /**
+     * Returns the changed characters with cursor movements, or null if the lines of the frames differ.
+     */
+    private String renderChanges(char[] currentFrame) {
+        StringBuilder output = new StringBuilder();
+        int line = 1;
+        int column = 1;
+        int index = 0;
+        while (index < currentFrame.length) {
+            if (currentFrame[index] == previousFrame[index]) {
+                if (currentFrame[index] == '\n') {
+                    line++;
+                    column = 1;
+                } else {
+                    column++;
+                }
+                index++;
+            } else {
+                output.append(ESCAPE).append(line).append(';').append(column).append('H');
+                while (index < currentFrame.length && currentFrame[index] != previousFrame[index]) {
+                    if (currentFrame[index] == '\n' || previousFrame[index] == '\n') {
+                        return null;
+                    }
+                    output.append(currentFrame[index]);
+                    index++;
+                    column++;
+                }
+            }
+        }
+        if (output.length() > 0) {
+            output.append(ESCAPE).append(lineCount + 1).append(";1H");
+        }
+        return output.toString();
+    }
+
+    private int countLines(char[] frame) {
+        int lines = 0;
+        for (char character : frame) {
+            if (character == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -5,16 +5,15 @@ import ch.zhaw.pm2.racetrack.given.GameSpecification;
 import ch.zhaw.pm2.racetrack.given.PositionVector;
 import ch.zhaw.pm2.racetrack.given.SpaceType;
 import ch.zhaw.pm2.racetrack.model.Car;
+import ch.zhaw.pm2.racetrack.model.CarStateStore;
 import ch.zhaw.pm2.racetrack.model.Track;
 import ch.zhaw.pm2.racetrack.strategy.DoNotMoveStrategy;
 import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
 import ch.zhaw.pm2.racetrack.utils.BresenhamAlgorithm;
+import ch.zhaw.pm2.racetrack.utils.LineOffsetCache;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -30,13 +29,17 @@ public class Game implements GameSpecification {
      * Value representing, that the game is still running, and we have no winner
      */
     public static final int NO_WINNER = -1;
-    private Car winningCar = null;
+    private int winnerIndex = NO_WINNER;
 
     private final List<String> cheating;
 
     private final Track track;
     private int currentCarIndex;
-    private final Map<Integer, MoveStrategy> strategyMap = new HashMap<>();
+    private final MoveStrategy[] strategies;
+    private final ActiveCars activeCars;
+    private final PathChecker pathChecker = new PathChecker();
+    private final LineOffsetCache lineOffsets = new LineOffsetCache();
+    private ReplayRecorder replayRecorder;
 
     /**
      * Constructs a new Game object.
@@ -49,6 +52,9 @@ public class Game implements GameSpecification {
         this.track = track;
         cheating = new ArrayList<>();
         currentCarIndex = 0;
+        // the index check accepts the car count as index as well
+        strategies = new MoveStrategy[track.getCarCount() + 1];
+        activeCars = new ActiveCars(track.getCarStateStore());
     }
 
     /**
@@ -118,7 +124,8 @@ public class Game implements GameSpecification {
     public void setCarMoveStrategy(int carIndex, MoveStrategy carMoveStrategy) {
         Objects.requireNonNull(carMoveStrategy, "The carMoveStrategy may not be null");
         throwExceptionIfCarIndexInvalid(carIndex);
-        strategyMap.put(carIndex, carMoveStrategy);
+        activeCars.changeStrategy(carIndex, strategies[carIndex], carMoveStrategy);
+        strategies[carIndex] = carMoveStrategy;
     }
 
     /**
@@ -130,7 +137,7 @@ public class Game implements GameSpecification {
     @Override
     public MoveStrategy getCarMoveStrategy(int carIndex) {
         throwExceptionIfCarIndexInvalid(carIndex);
-        return strategyMap.get(carIndex);
+        return strategies[carIndex];
     }
 
     /**
@@ -142,13 +149,7 @@ public class Game implements GameSpecification {
      */
     @Override
     public int getWinner() {
-        int winningIndex = NO_WINNER;
-        for (int i = 0; i < track.getCarCount(); i++) {
-            if (track.getCar(i).equals(winningCar)) {
-                winningIndex = i;
-            }
-        }
-        return winningIndex;
+        return winnerIndex;
     }
 
     /**
@@ -181,153 +182,269 @@ public class Game implements GameSpecification {
     @Override
     public void doCarTurn(Direction acceleration) {
         Objects.requireNonNull(acceleration, "The acceleration direction may not be null");
+        if (replayRecorder != null) {
+            replayRecorder.recordTurn(acceleration);
+        }
 
         Car currentCar = track.getCar(currentCarIndex);
         currentCar.accelerate(acceleration);
 
-        if (isCarMoving(getCarVelocity(currentCarIndex))) {
+        if (currentCar.getVelocityX() != 0 || currentCar.getVelocityY() != 0) {
             checkPath(currentCar);
         }
 
-        if (!currentCar.isCrashed() && winningCar == null) {
+        if (!currentCar.isCrashed() && winnerIndex == NO_WINNER) {
             currentCar.move();
         } else if (currentCar.isCrashed()) {
             checkRemainingCars();
         }
     }
 
-    private boolean isCarMoving(PositionVector velocity) {
-        Objects.requireNonNull(velocity, "The velocity may not be null");
-        return !velocity.equals(new PositionVector(0, 0));
+    /**
+     * Execute a round of the simultaneous-move mode, in which all cars which are not crashed move at the same time.
+     * <p>Each car is accelerated by its direction, then the paths are checked with the same rules as in
+     * {@link #doCarTurn(Direction)}, with the conflicts between the moving cars resolved deterministically,
+     * see {@link SimultaneousRound}. The paths of many cars are checked in parallel.</p>
+     * <p>If a car crossed the finish line, it is the winner. Otherwise, if cars crashed and only one car is
+     * remaining, the remaining car is the winner. The current car does not change in this mode.</p>
+     *
+     * @param accelerations the acceleration of each car by its index, ignored for crashed cars.
+     * @throws NullPointerException     if accelerations or the acceleration of a car not crashed is null.
+     * @throws IllegalArgumentException if the number of accelerations does not match the number of cars.
+     * @throws IllegalStateException    if the game is recorded by a {@link ReplayRecorder}.
+     */
+    public void doSimultaneousRound(Direction[] accelerations) {
+        Objects.requireNonNull(accelerations, "The accelerations may not be null");
+        if (accelerations.length != track.getCarCount()) {
+            throw new IllegalArgumentException("One acceleration per car is needed!");
+        }
+        if (replayRecorder != null) {
+            throw new IllegalStateException("Replays can only be recorded in the turn-based mode!");
+        }
+        boolean[] cheatingCars = new boolean[track.getCarCount()];
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            Car car = track.getCar(carIndex);
+            if (!car.isCrashed()) {
+                car.accelerate(Objects.requireNonNull(accelerations[carIndex], "The acceleration direction may not be null"));
+                cheatingCars[carIndex] = cheating.contains(String.valueOf(car.getId()));
+            }
+        }
+
+        SimultaneousRound round = new SimultaneousRound(track, cheatingCars);
+        boolean carsCrashed = false;
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            Car car = track.getCar(carIndex);
+            if (car.isCrashed()) {
+                continue;
+            }
+            String id = String.valueOf(car.getId());
+            if (round.isCheating(carIndex) && !cheatingCars[carIndex]) {
+                cheating.add(id);
+            } else if (!round.isCheating(carIndex) && cheatingCars[carIndex]) {
+                cheating.remove(id);
+            }
+            switch (round.getOutcome(carIndex)) {
+                case MOVED -> car.move();
+                case CRASHED -> {
+                    car.crash(round.getEndX(carIndex), round.getEndY(carIndex));
+                    carsCrashed = true;
+                }
+                case FINISHED -> car.setWinningPosition(new PositionVector(round.getEndX(carIndex), round.getEndY(carIndex)));
+            }
+        }
+
+        if (round.getWinner() != NO_WINNER) {
+            winnerIndex = round.getWinner();
+        } else if (carsCrashed) {
+            checkRemainingCars();
+        }
     }
 
     private void checkPath(Car currentCar) {
         Objects.requireNonNull(currentCar, "The currentCar may not be null");
-        PositionVector startPosition = currentCar.getCurrentPosition();
-        PositionVector endPosition = currentCar.getNextPosition();
+        int startX = currentCar.getPositionX();
+        int startY = currentCar.getPositionY();
 
-        List<PositionVector> path = calculatePath(startPosition, endPosition);
-
-        PositionVector previous = path.get(0);
+        pathChecker.start(currentCar, startX, startY);
+        lineOffsets.walkPath(startX, startY, currentCar.getVelocityX(), currentCar.getVelocityY(), pathChecker);
+    }
 
-        Iterator<PositionVector> iterator = path.iterator();
-        boolean pathInterrupted = false;
+    /**
+     * Verifies each position on the path of the current car, see {@link Game#doCarTurn(Direction)}.
+     * The walk along the path stops as soon as the car crashes or wins.
+     * A single instance is reused for all turns, so checking a path creates no objects.
+     */
+    private class PathChecker implements BresenhamAlgorithm.PathVisitor {
+        private Car currentCar;
+        private int previousX;
+        private int previousY;
+
+        private void start(Car currentCar, int startX, int startY) {
+            this.currentCar = currentCar;
+            previousX = startX;
+            previousY = startY;
+        }
 
-        while (!pathInterrupted && iterator.hasNext()) {
-            PositionVector currentPosition = iterator.next();
-            SpaceType spaceType = track.getSpaceTypeAtPosition(currentPosition);
-            switch (spaceType) {
-                case WALL -> {
-                    currentCar.crash(currentPosition);
+        @Override
+        public boolean visit(int x, int y) {
+            boolean pathInterrupted = false;
+            SpaceType spaceType = track.getSpaceTypeAt(x, y);
+            boolean otherCarAtPosition = spaceType == SpaceType.TRACK && checkCrashedOtherCar(x, y);
+            boolean finishLine = spaceType != SpaceType.TRACK && spaceType != SpaceType.WALL;
+            String id = finishLine ? String.valueOf(currentCar.getId()) : null;
+            boolean carCheating = finishLine && cheating.contains(id);
+            switch (TurnRules.checkStep(spaceType, previousX, previousY, x, y, otherCarAtPosition, carCheating)) {
+                case CRASH -> {
+                    currentCar.crash(x, y);
                     pathInterrupted = true;
                 }
-                case TRACK -> {
-                    if (checkCrashedOtherCar(currentPosition)) {
-                        currentCar.crash(currentPosition);
-                        pathInterrupted = true;
-                    }
+                case FINISH -> {
+                    winnerIndex = currentCarIndex;
+                    currentCar.setWinningPosition(new PositionVector(x, y));
+                    pathInterrupted = true;
                 }
-
-                case FINISH_DOWN, FINISH_LEFT, FINISH_RIGHT, FINISH_UP -> {
-                    boolean finished = checkFinishedInCorrectDirection(spaceType, previous, currentPosition);
-                    String id = String.valueOf(currentCar.getId());
-                    if (finished) {
-                        if (!cheating.contains(id)) {
-                            winningCar = currentCar;
-                            currentCar.setWinningPosition(currentPosition);
-                            pathInterrupted = true;
-                        } else {
-                            cheating.remove(id);
-                        }
-
-                    } else {
-                        if (!cheating.contains(id)) {
-                            cheating.add(id);
-                        }
+                case START_CHEATING -> {
+                    if (!cheating.contains(id)) {
+                        cheating.add(id);
                     }
                 }
-
+                case STOP_CHEATING -> cheating.remove(id);
+                case CONTINUE -> {
+                }
             }
-            previous = currentPosition;
+            previousX = x;
+            previousY = y;
+            return !pathInterrupted;
         }
     }
 
+    /**
+     * If only one car is left, it is the winner. If no car is left, the winner does not change.
+     */
     private void checkRemainingCars() {
-        int remainingCars = 0;
-        int currentCar = 0;
-
-        while (currentCar < track.getCarCount() && remainingCars <= 1) {
-            Car car = track.getCar(currentCar);
-            if (!car.isCrashed()) {
-                remainingCars++;
-                winningCar = car;
-                if (remainingCars > 1) {
-                    winningCar = null;
-                }
-            }
-            currentCar++;
+        int remainingCars = activeCars.getCount();
+        if (remainingCars == 1) {
+            winnerIndex = activeCars.getNext(currentCarIndex);
+        } else if (remainingCars > 1) {
+            winnerIndex = NO_WINNER;
         }
     }
 
+    /**
+     * Returns an immutable snapshot of the current state of the game, from which strategies can play
+     * hypothetical turns without changing the game.
+     *
+     * @return the current state.
+     */
+    public GameState getState() {
+        return GameState.of(this);
+    }
+
     /**
      * This method checks if all active cars have the {@link MoveStrategy} {@link DoNotMoveStrategy}.
      *
      * @return true if that is the case.
      */
     public boolean onlyCarsWithDoNotMoveStrategyRemaining() {
-        boolean onlyCarsWithDoNotMoveStrategyRemaining = true;
-        for (int i = 0; i < track.getCarCount(); i++) {
-            Car currentCar = track.getCar(i);
-            if (!currentCar.isCrashed() && !(getCarMoveStrategy(i) instanceof DoNotMoveStrategy)) {
-                onlyCarsWithDoNotMoveStrategyRemaining = false;
-            }
-        }
-        return onlyCarsWithDoNotMoveStrategyRemaining;
+        return activeCars.getMovingCount() == 0;
     }
 
-    private boolean checkFinishedInCorrectDirection(SpaceType spaceType, PositionVector previousPosition, PositionVector currentPosition) {
-        return switch (spaceType) {
-            case FINISH_DOWN -> previousPosition.getY() < currentPosition.getY();
-            case FINISH_LEFT -> previousPosition.getX() > currentPosition.getX();
-            case FINISH_RIGHT -> previousPosition.getX() < currentPosition.getX();
-            case FINISH_UP -> previousPosition.getY() > currentPosition.getY();
-            default -> false;
-        };
-    }
-
-    private boolean checkCrashedOtherCar(PositionVector nextPosition) {
-        for (int i = 0; i < track.getCarCount(); i++) {
-            if (i == currentCarIndex || track.getCar(i).isCrashed()) {
-                continue;
-            }
-            Car otherCar = track.getCar(i);
-            if (nextPosition.equals(otherCar.getCurrentPosition())) {
-                return true;
-            }
-        }
-        return false;
+    private boolean checkCrashedOtherCar(int x, int y) {
+        return track.isActiveCarAt(x, y, currentCarIndex);
     }
 
     /**
      * Switches to the next car who is still in the game. Skips crashed cars.
+     *
+     * @throws IllegalStateException if all cars are crashed.
      */
     @Override
     public void switchToNextActiveCar() {
-        int nextCarIndex = getNextCarIndex(currentCarIndex);
-        while (track.getCar(nextCarIndex).isCrashed()) {
-            nextCarIndex = getNextCarIndex(nextCarIndex);
+        if (activeCars.getCount() == 0) {
+            throw new IllegalStateException("There is no active car left!");
         }
-        currentCarIndex = nextCarIndex;
+        currentCarIndex = activeCars.getNext(currentCarIndex);
     }
 
-    private int getNextCarIndex(int currentCarIndex) {
-        int nextCarIndex = currentCarIndex;
-        if (currentCarIndex == track.getCarCount() - 1) {
-            nextCarIndex = 0;
-        } else {
-            nextCarIndex++;
+    /**
+     * The cars which are not crashed, linked in a ring in the order of their index, and the number of them
+     * which have another strategy than {@link DoNotMoveStrategy}.
+     *
+     * <p>The crashed cars are found in the order they crashed from the {@link CarStateStore}, also if they
+     * crashed outside the game. Each one is unlinked from the ring once, so all queries take constant time.
+     * An unlinked car keeps the link to the car after it, which leads to the next car not crashed.</p>
+     */
+    private class ActiveCars {
+        private final CarStateStore carStates;
+        private final int[] nextCars;
+        private final int[] previousCars;
+        private int processedCrashes;
+        private int movingCount;
+
+        ActiveCars(CarStateStore carStates) {
+            this.carStates = carStates;
+            int carCount = carStates.getCarCount();
+            nextCars = new int[carCount];
+            previousCars = new int[carCount];
+            for (int carIndex = 0; carIndex < carCount; carIndex++) {
+                nextCars[carIndex] = (carIndex + 1) % carCount;
+                previousCars[carIndex] = (carIndex + carCount - 1) % carCount;
+            }
+            // a car without strategy does not count as one with DoNotMoveStrategy
+            movingCount = carCount;
+        }
+
+        /**
+         * Unlinks the cars which crashed since the last update.
+         */
+        private void update() {
+            while (processedCrashes < carStates.getCrashedCarCount()) {
+                int crashedCar = carStates.getCrashedCar(processedCrashes++);
+                nextCars[previousCars[crashedCar]] = nextCars[crashedCar];
+                previousCars[nextCars[crashedCar]] = previousCars[crashedCar];
+                if (isMoving(strategies[crashedCar])) {
+                    movingCount--;
+                }
+            }
+        }
+
+        private int getCount() {
+            update();
+            return carStates.getCarCount() - processedCrashes;
+        }
+
+        private int getMovingCount() {
+            update();
+            return movingCount;
+        }
+
+        /**
+         * Returns the next car after the given one, which is not crashed. There must be one.
+         */
+        private int getNext(int carIndex) {
+            update();
+            int nextCar = nextCars[carIndex];
+            while (carStates.isCrashed(nextCar)) {
+                nextCar = nextCars[nextCar];
+            }
+            return nextCar;
+        }
+
+        private void changeStrategy(int carIndex, MoveStrategy oldStrategy, MoveStrategy newStrategy) {
+            update();
+            if (carIndex < carStates.getCarCount() && !carStates.isCrashed(carIndex)) {
+                if (isMoving(oldStrategy)) {
+                    movingCount--;
+                }
+                if (isMoving(newStrategy)) {
+                    movingCount++;
+                }
+            }
+        }
+
+        private boolean isMoving(MoveStrategy strategy) {
+            return !(strategy instanceof DoNotMoveStrategy);
         }
-        return nextCarIndex;
     }
 
     /**
@@ -354,6 +471,50 @@ public class Game implements GameSpecification {
         return bresenham.calculatePath();
     }
 
+    Track getTrack() {
+        return track;
+    }
+
+    /**
+     * Sets the recorder, which is called before each turn, or null to stop recording.
+     */
+    void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    /**
+     * Returns the number of cars which are not crashed.
+     */
+    int getActiveCarCount() {
+        return activeCars.getCount();
+    }
+
+    /**
+     * Returns the car which {@link #switchToNextActiveCar()} would switch to from the given car.
+     * There must be a car which is not crashed.
+     */
+    int getNextActiveCar(int carIndex) {
+        return activeCars.getNext(carIndex);
+    }
+
+    boolean isCheating(int carIndex) {
+        return cheating.contains(String.valueOf(track.getCar(carIndex).getId()));
+    }
+
+    /**
+     * Restores the state of the game which is not stored in the cars, see {@link ReplayPlayer}.
+     */
+    void restore(int currentCarIndex, int winnerIndex, boolean[] cheatingCars) {
+        this.currentCarIndex = currentCarIndex;
+        this.winnerIndex = winnerIndex;
+        cheating.clear();
+        for (int carIndex = 0; carIndex < cheatingCars.length; carIndex++) {
+            if (cheatingCars[carIndex]) {
+                cheating.add(String.valueOf(track.getCar(carIndex).getId()));
+            }
+        }
+    }
+
     private void throwExceptionIfCarIndexInvalid(int carIndex) {
         if (carIndex < 0 || carIndex > track.getCarCount()) {
             throw new IllegalStateException("The car index is invalid");
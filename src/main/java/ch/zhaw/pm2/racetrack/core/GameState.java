@@ -0,0 +1,272 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.model.CarStateStore;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.utils.LineOffsetCache;
+
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of a game, for strategies which search through hypothetical turns.
+ *
+ * <p>The state of all cars is kept in a single int array, with {@link #CAR_FIELDS} values per car, and the
+ * track is the shared, immutable {@link TrackTemplate}. {@link #apply(Direction)} plays a turn with the same
+ * {@link TurnRules} as {@link Game#doCarTurn(Direction)} and returns a new state, so a state can be branched
+ * any number of times and copying it only costs the car array.</p>
+ * <p>Other cars are found by looking at all cars, which is fast for the few cars of a normal game, but not meant
+ * for the swarm mode of the {@link TrackTemplate}.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class GameState {
+    /**
+     * Number of int values per car: x, y, velocity x, velocity y and the flags.
+     */
+    static final int CAR_FIELDS = 5;
+
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int VELOCITY_X = 2;
+    private static final int VELOCITY_Y = 3;
+    private static final int FLAGS = 4;
+    private static final int CRASHED = 1;
+    private static final int CHEATING = 2;
+    private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+
+    /**
+     * Filled with all velocities up to its maximum speed when the class is loaded, afterwards it is only read,
+     * so all states of all threads can share it.
+     */
+    private static final LineOffsetCache LINE_OFFSETS = createFilledCache();
+
+    private final TrackTemplate template;
+    private final int[] cars;
+    private final int currentCarIndex;
+    private final int winner;
+
+    private GameState(TrackTemplate template, int[] cars, int currentCarIndex, int winner) {
+        this.template = template;
+        this.cars = cars;
+        this.currentCarIndex = currentCarIndex;
+        this.winner = winner;
+    }
+
+    private static LineOffsetCache createFilledCache() {
+        LineOffsetCache lineOffsets = new LineOffsetCache();
+        for (int velocityX = -lineOffsets.getMaxSpeed(); velocityX <= lineOffsets.getMaxSpeed(); velocityX++) {
+            for (int velocityY = -lineOffsets.getMaxSpeed(); velocityY <= lineOffsets.getMaxSpeed(); velocityY++) {
+                lineOffsets.getOffsets(velocityX, velocityY);
+            }
+        }
+        return lineOffsets;
+    }
+
+    /**
+     * Returns the state at the start of a game on the given track: all cars stand at their start positions
+     * and the first car is the current car.
+     *
+     * @param template the track.
+     * @return the initial state.
+     * @throws NullPointerException if template is null.
+     */
+    public static GameState initial(TrackTemplate template) {
+        Objects.requireNonNull(template, "template may not be null");
+        int[] cars = new int[template.getCarCount() * CAR_FIELDS];
+        for (int carIndex = 0; carIndex < template.getCarCount(); carIndex++) {
+            cars[carIndex * CAR_FIELDS + X] = template.getCarStartPosition(carIndex).getX();
+            cars[carIndex * CAR_FIELDS + Y] = template.getCarStartPosition(carIndex).getY();
+        }
+        return new GameState(template, cars, 0, Game.NO_WINNER);
+    }
+
+    /**
+     * Returns the current state of the given game.
+     */
+    static GameState of(Game game) {
+        CarStateStore carStates = game.getTrack().getCarStateStore();
+        int[] cars = new int[carStates.getCarCount() * CAR_FIELDS];
+        for (int carIndex = 0; carIndex < carStates.getCarCount(); carIndex++) {
+            int offset = carIndex * CAR_FIELDS;
+            cars[offset + X] = carStates.getPositionX(carIndex);
+            cars[offset + Y] = carStates.getPositionY(carIndex);
+            cars[offset + VELOCITY_X] = carStates.getVelocityX(carIndex);
+            cars[offset + VELOCITY_Y] = carStates.getVelocityY(carIndex);
+            cars[offset + FLAGS] = (carStates.isCrashed(carIndex) ? CRASHED : 0) | (game.isCheating(carIndex) ? CHEATING : 0);
+        }
+        return new GameState(game.getTrack().getTemplate(), cars, game.getCurrentCarIndex(), game.getWinner());
+    }
+
+    /**
+     * Plays a turn of the current car and returns the resulting state, this state is not changed.
+     *
+     * <p>The turn follows the rules of {@link Game#doCarTurn(Direction)}. Afterwards the next car which is not
+     * crashed becomes the current car, like {@link Game#switchToNextActiveCar()} called by the {@link Executor},
+     * unless there is a winner or no car is left.</p>
+     *
+     * @param acceleration the acceleration of the current car.
+     * @return the state after the turn.
+     * @throws NullPointerException if acceleration is null.
+     */
+    public GameState apply(Direction acceleration) {
+        Objects.requireNonNull(acceleration, "The acceleration direction may not be null");
+        int[] nextCars = cars.clone();
+        int nextWinner = winner;
+        int offset = currentCarIndex * CAR_FIELDS;
+        int velocityX = nextCars[offset + VELOCITY_X] + acceleration.vector.getX();
+        int velocityY = nextCars[offset + VELOCITY_Y] + acceleration.vector.getY();
+        nextCars[offset + VELOCITY_X] = velocityX;
+        nextCars[offset + VELOCITY_Y] = velocityY;
+
+        boolean crashed = false;
+        if (velocityX != 0 || velocityY != 0) {
+            int startX = nextCars[offset + X];
+            int startY = nextCars[offset + Y];
+            int[] path = LINE_OFFSETS.getOffsets(velocityX, velocityY);
+            int previousX = startX;
+            int previousY = startY;
+            for (int i = 0; i < path.length; i += 2) {
+                int x = startX + path[i];
+                int y = startY + path[i + 1];
+                SpaceType spaceType = SPACE_TYPES[template.getSpaceTypeOrdinal(x, y)];
+                boolean otherCarAtPosition = spaceType == SpaceType.TRACK && isOtherCarAt(nextCars, x, y);
+                boolean cheating = (nextCars[offset + FLAGS] & CHEATING) != 0;
+                TurnRules.Step step = TurnRules.checkStep(spaceType, previousX, previousY, x, y, otherCarAtPosition, cheating);
+                if (step == TurnRules.Step.CRASH) {
+                    nextCars[offset + X] = x;
+                    nextCars[offset + Y] = y;
+                    nextCars[offset + FLAGS] |= CRASHED;
+                    crashed = true;
+                    break;
+                } else if (step == TurnRules.Step.FINISH) {
+                    nextWinner = currentCarIndex;
+                    nextCars[offset + X] = x;
+                    nextCars[offset + Y] = y;
+                    break;
+                } else if (step == TurnRules.Step.START_CHEATING) {
+                    nextCars[offset + FLAGS] |= CHEATING;
+                } else if (step == TurnRules.Step.STOP_CHEATING) {
+                    nextCars[offset + FLAGS] &= ~CHEATING;
+                }
+                previousX = x;
+                previousY = y;
+            }
+        }
+
+        crashed |= (nextCars[offset + FLAGS] & CRASHED) != 0;
+        if (!crashed && nextWinner == Game.NO_WINNER) {
+            nextCars[offset + X] += velocityX;
+            nextCars[offset + Y] += velocityY;
+        }
+        int activeCars = countActiveCars(nextCars);
+        if (crashed) {
+            if (activeCars == 1) {
+                nextWinner = getNextActiveCar(nextCars, currentCarIndex);
+            } else if (activeCars > 1) {
+                nextWinner = Game.NO_WINNER;
+            }
+        }
+        int nextCarIndex = currentCarIndex;
+        if (nextWinner == Game.NO_WINNER && activeCars > 0) {
+            nextCarIndex = getNextActiveCar(nextCars, currentCarIndex);
+        }
+        return new GameState(template, nextCars, nextCarIndex, nextWinner);
+    }
+
+    private boolean isOtherCarAt(int[] carValues, int x, int y) {
+        for (int carIndex = 0; carIndex < getCarCount(); carIndex++) {
+            int offset = carIndex * CAR_FIELDS;
+            if (carIndex != currentCarIndex && carValues[offset + X] == x && carValues[offset + Y] == y
+                    && (carValues[offset + FLAGS] & CRASHED) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int countActiveCars(int[] carValues) {
+        int activeCars = 0;
+        for (int offset = FLAGS; offset < carValues.length; offset += CAR_FIELDS) {
+            if ((carValues[offset] & CRASHED) == 0) {
+                activeCars++;
+            }
+        }
+        return activeCars;
+    }
+
+    /**
+     * Returns the next car after the given one, which is not crashed. There must be one.
+     */
+    private int getNextActiveCar(int[] carValues, int carIndex) {
+        int nextCar = carIndex;
+        do {
+            nextCar = (nextCar + 1) % getCarCount();
+        } while ((carValues[nextCar * CAR_FIELDS + FLAGS] & CRASHED) != 0);
+        return nextCar;
+    }
+
+    /**
+     * Returns the track of the game.
+     *
+     * @return the shared track template.
+     */
+    public TrackTemplate getTemplate() {
+        return template;
+    }
+
+    public int getCarCount() {
+        return cars.length / CAR_FIELDS;
+    }
+
+    public int getCurrentCarIndex() {
+        return currentCarIndex;
+    }
+
+    /**
+     * Returns the index of the winner.
+     *
+     * @return the winning car's index, or {@link Game#NO_WINNER} if the game is still in progress.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getCarPositionX(int carIndex) {
+        return getCarValue(carIndex, X);
+    }
+
+    public int getCarPositionY(int carIndex) {
+        return getCarValue(carIndex, Y);
+    }
+
+    public int getCarVelocityX(int carIndex) {
+        return getCarValue(carIndex, VELOCITY_X);
+    }
+
+    public int getCarVelocityY(int carIndex) {
+        return getCarValue(carIndex, VELOCITY_Y);
+    }
+
+    public boolean isCarCrashed(int carIndex) {
+        return (getCarValue(carIndex, FLAGS) & CRASHED) != 0;
+    }
+
+    /**
+     * Returns whether the car crossed the finish line in the wrong direction and did not cross it back yet.
+     *
+     * @param carIndex the index of the car.
+     * @return true if the car can not win when crossing the finish line in the correct direction the next time.
+     */
+    public boolean isCarCheating(int carIndex) {
+        return (getCarValue(carIndex, FLAGS) & CHEATING) != 0;
+    }
+
+    private int getCarValue(int carIndex, int field) {
+        if (carIndex < 0 || carIndex >= getCarCount()) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+        return cars[carIndex * CAR_FIELDS + field];
+    }
+}
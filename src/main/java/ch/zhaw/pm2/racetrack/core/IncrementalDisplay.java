@@ -0,0 +1,176 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+
+import java.io.PrintStream;
+import java.util.Objects;
+
+/**
+ * User interface which displays the racetrack incrementally with a {@link FrameRenderer},
+ * so only the changed positions are sent to the terminal after each turn.
+ *
+ * <p>All other input and output is passed on to another {@link UserInterface}, e.g. {@link Communication}.
+ * As this output may scroll the screen, the next racetrack is then displayed completely again.</p>
+ * <p>If the terminal does not support moving the cursor, the racetrack is displayed by the other
+ * user interface as well.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class IncrementalDisplay implements UserInterface {
+    private final UserInterface userInterface;
+    private final PrintStream out;
+    private final boolean cursorPositioningSupported;
+    private final FrameRenderer frameRenderer = new FrameRenderer();
+
+    /**
+     * Constructs a new IncrementalDisplay writing to the console, if the terminal supports moving the cursor.
+     *
+     * @param userInterface the user interface used for all other input and output.
+     * @throws NullPointerException if userInterface is null.
+     */
+    public IncrementalDisplay(UserInterface userInterface) {
+        this(userInterface, System.out, isCursorPositioningSupported());
+    }
+
+    /**
+     * Constructs a new IncrementalDisplay.
+     *
+     * @param userInterface              the user interface used for all other input and output.
+     * @param out                        the stream the racetrack is written to.
+     * @param cursorPositioningSupported whether the terminal supports moving the cursor, if not,
+     *                                   the racetrack is displayed by the given user interface.
+     * @throws NullPointerException if userInterface or out is null.
+     */
+    public IncrementalDisplay(UserInterface userInterface, PrintStream out, boolean cursorPositioningSupported) {
+        this.userInterface = Objects.requireNonNull(userInterface, "userInterface may not be null");
+        this.out = Objects.requireNonNull(out, "out may not be null");
+        this.cursorPositioningSupported = cursorPositioningSupported;
+    }
+
+    /**
+     * Cursor movements are supported, if the application runs in a console with a terminal type other than dumb.
+     */
+    private static boolean isCursorPositioningSupported() {
+        String terminalType = System.getenv("TERM");
+        return System.console() != null && terminalType != null && !terminalType.equals("dumb");
+    }
+
+    /**
+     * Displays the racetrack, sending only the changes since the last racetrack if possible.
+     *
+     * @param racetrackOutput The chosen racetrack file.
+     */
+    @Override
+    public void outputPrintRaceTrack(String racetrackOutput) {
+        if (!cursorPositioningSupported) {
+            userInterface.outputPrintRaceTrack(racetrackOutput);
+            return;
+        }
+        out.print(frameRenderer.render(racetrackOutput));
+        out.flush();
+    }
+
+    @Override
+    public void outputWinner(char car) {
+        frameRenderer.invalidate();
+        userInterface.outputWinner(car);
+    }
+
+    @Override
+    public void outputWelcomeMessage() {
+        frameRenderer.invalidate();
+        userInterface.outputWelcomeMessage();
+    }
+
+    @Override
+    public void outputChooseDifferentStrategy() {
+        frameRenderer.invalidate();
+        userInterface.outputChooseDifferentStrategy();
+    }
+
+    @Override
+    public void outputCarCrashed(char car) {
+        frameRenderer.invalidate();
+        userInterface.outputCarCrashed(car);
+    }
+
+    @Override
+    public void outputCurrentCarPlaying(char car) {
+        frameRenderer.invalidate();
+        userInterface.outputCurrentCarPlaying(car);
+    }
+
+    @Override
+    public void outputAmountOfTurnsNeededToWin(int amountOfTurns) {
+        frameRenderer.invalidate();
+        userInterface.outputAmountOfTurnsNeededToWin(amountOfTurns);
+    }
+
+    @Override
+    public void outputExitGame() {
+        frameRenderer.invalidate();
+        userInterface.outputExitGame();
+    }
+
+    @Override
+    public void outputWarningDoNotMoveStrategy() {
+        frameRenderer.invalidate();
+        userInterface.outputWarningDoNotMoveStrategy();
+    }
+
+    @Override
+    public void outputException(String exceptionText) {
+        frameRenderer.invalidate();
+        userInterface.outputException(exceptionText);
+    }
+
+    @Override
+    public void outputTie() {
+        frameRenderer.invalidate();
+        userInterface.outputTie();
+    }
+
+    @Override
+    public void outputMissedDeadlines(char car, int missedDeadlines, int amountOfMoves) {
+        frameRenderer.invalidate();
+        userInterface.outputMissedDeadlines(car, missedDeadlines, amountOfMoves);
+    }
+
+    @Override
+    public int inputChooseRacetrack(String trackNames, int length) {
+        frameRenderer.invalidate();
+        return userInterface.inputChooseRacetrack(trackNames, length);
+    }
+
+    @Override
+    public int inputChooseMoveListStrategyFile(String fileNames, int length) {
+        frameRenderer.invalidate();
+        return userInterface.inputChooseMoveListStrategyFile(fileNames, length);
+    }
+
+    @Override
+    public int inputChooseFollowerStrategyFile(String fileNames, int length) {
+        frameRenderer.invalidate();
+        return userInterface.inputChooseFollowerStrategyFile(fileNames, length);
+    }
+
+    @Override
+    public MoveStrategy.StrategyType inputChooseStrategyForCar(char carNumber) {
+        frameRenderer.invalidate();
+        return userInterface.inputChooseStrategyForCar(carNumber);
+    }
+
+    @Override
+    public Direction inputVelocityDirection() {
+        frameRenderer.invalidate();
+        return userInterface.inputVelocityDirection();
+    }
+
+    @Override
+    public boolean inputStartNewGame() {
+        frameRenderer.invalidate();
+        return userInterface.inputStartNewGame();
+    }
+}
@@ -0,0 +1,318 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User interface which controls how fast the racetrack frames are displayed by another {@link UserInterface}.
+ *
+ * <p>With {@link Pacing#FIXED_RATE} every frame is displayed and the game waits until the next frame is due.
+ * With {@link Pacing#SKIP_FRAMES} and {@link Pacing#MAX_SPEED} the game never waits for the display:
+ * all output is handed over to a display thread, which shows the frames at the target frame rate resp. as fast
+ * as it can. If the game produces frames faster than they are displayed, only the latest frame is shown.</p>
+ * <p>The other output is always displayed in the same order as it was sent. Before any input is read
+ * and before the exit message, all outstanding output is displayed.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class PacedDisplay implements UserInterface {
+    /**
+     * Frames per second used if none are given, so the moves can be followed on the screen.
+     */
+    public static final int DEFAULT_FRAMES_PER_SECOND = 3;
+
+    private final UserInterface userInterface;
+    private final Pacing pacing;
+    private final long frameIntervalNanos;
+    private final Deque<Runnable> pendingOutputs = new ArrayDeque<>();
+    private boolean outputRunning;
+    private long nextFrameTime;
+    private Thread displayThread;
+
+    /**
+     * Defines how the frames are paced.
+     */
+    public enum Pacing {
+        /**
+         * Every frame is displayed, the game waits until the next frame is due.
+         */
+        FIXED_RATE,
+        /**
+         * The frames are displayed at the target frame rate, frames which are not displayed in time are skipped.
+         */
+        SKIP_FRAMES,
+        /**
+         * The frames are displayed without any waiting, frames which are not displayed in time are skipped.
+         */
+        MAX_SPEED
+    }
+
+    /**
+     * Constructs a new PacedDisplay.
+     *
+     * @param userInterface   the user interface used to display the frames and for all other input and output.
+     * @param pacing          how the frames are paced.
+     * @param framesPerSecond the target frame rate, ignored for {@link Pacing#MAX_SPEED}.
+     * @throws NullPointerException     if userInterface or pacing is null.
+     * @throws IllegalArgumentException if framesPerSecond is not positive and needed for the pacing.
+     */
+    public PacedDisplay(UserInterface userInterface, Pacing pacing, int framesPerSecond) {
+        this.userInterface = Objects.requireNonNull(userInterface, "userInterface may not be null");
+        this.pacing = Objects.requireNonNull(pacing, "pacing may not be null");
+        if (pacing == Pacing.MAX_SPEED) {
+            frameIntervalNanos = 0;
+        } else if (framesPerSecond > 0) {
+            frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+        } else {
+            throw new IllegalArgumentException("framesPerSecond must be positive!");
+        }
+        nextFrameTime = System.nanoTime();
+    }
+
+    /**
+     * Displays the racetrack according to the pacing.
+     *
+     * @param racetrackOutput The chosen racetrack file.
+     */
+    @Override
+    public void outputPrintRaceTrack(String racetrackOutput) {
+        if (pacing == Pacing.FIXED_RATE) {
+            waitForNextFrame();
+            userInterface.outputPrintRaceTrack(racetrackOutput);
+            return;
+        }
+        synchronized (pendingOutputs) {
+            if (pendingOutputs.peekLast() instanceof PendingFrame pendingFrame) {
+                pendingFrame.frame = racetrackOutput;
+            } else {
+                addOutput(new PendingFrame(racetrackOutput));
+            }
+        }
+    }
+
+    @Override
+    public void outputWinner(char car) {
+        output(() -> userInterface.outputWinner(car));
+    }
+
+    @Override
+    public void outputWelcomeMessage() {
+        output(userInterface::outputWelcomeMessage);
+    }
+
+    @Override
+    public void outputChooseDifferentStrategy() {
+        output(userInterface::outputChooseDifferentStrategy);
+    }
+
+    @Override
+    public void outputCarCrashed(char car) {
+        output(() -> userInterface.outputCarCrashed(car));
+    }
+
+    @Override
+    public void outputCurrentCarPlaying(char car) {
+        output(() -> userInterface.outputCurrentCarPlaying(car));
+    }
+
+    @Override
+    public void outputAmountOfTurnsNeededToWin(int amountOfTurns) {
+        output(() -> userInterface.outputAmountOfTurnsNeededToWin(amountOfTurns));
+    }
+
+    /**
+     * Displays all outstanding output and then the exit message on the calling thread, as the application
+     * may end right afterwards and the display thread would not finish.
+     */
+    @Override
+    public void outputExitGame() {
+        awaitPendingOutputs();
+        userInterface.outputExitGame();
+    }
+
+    @Override
+    public void outputWarningDoNotMoveStrategy() {
+        output(userInterface::outputWarningDoNotMoveStrategy);
+    }
+
+    @Override
+    public void outputException(String exceptionText) {
+        output(() -> userInterface.outputException(exceptionText));
+    }
+
+    @Override
+    public void outputTie() {
+        output(userInterface::outputTie);
+    }
+
+    @Override
+    public void outputMissedDeadlines(char car, int missedDeadlines, int amountOfMoves) {
+        output(() -> userInterface.outputMissedDeadlines(car, missedDeadlines, amountOfMoves));
+    }
+
+    @Override
+    public int inputChooseRacetrack(String trackNames, int length) {
+        awaitPendingOutputs();
+        return userInterface.inputChooseRacetrack(trackNames, length);
+    }
+
+    @Override
+    public int inputChooseMoveListStrategyFile(String fileNames, int length) {
+        awaitPendingOutputs();
+        return userInterface.inputChooseMoveListStrategyFile(fileNames, length);
+    }
+
+    @Override
+    public int inputChooseFollowerStrategyFile(String fileNames, int length) {
+        awaitPendingOutputs();
+        return userInterface.inputChooseFollowerStrategyFile(fileNames, length);
+    }
+
+    @Override
+    public MoveStrategy.StrategyType inputChooseStrategyForCar(char carNumber) {
+        awaitPendingOutputs();
+        return userInterface.inputChooseStrategyForCar(carNumber);
+    }
+
+    @Override
+    public Direction inputVelocityDirection() {
+        awaitPendingOutputs();
+        return userInterface.inputVelocityDirection();
+    }
+
+    @Override
+    public boolean inputStartNewGame() {
+        awaitPendingOutputs();
+        return userInterface.inputStartNewGame();
+    }
+
+    /**
+     * Displays the output directly with a fixed rate, otherwise hands it over to the display thread.
+     */
+    private void output(Runnable output) {
+        if (pacing == Pacing.FIXED_RATE) {
+            output.run();
+        } else {
+            synchronized (pendingOutputs) {
+                addOutput(output);
+            }
+        }
+    }
+
+    private void addOutput(Runnable output) {
+        pendingOutputs.addLast(output);
+        if (displayThread == null) {
+            displayThread = new Thread(this::displayOutputs, "racetrack-display");
+            displayThread.setDaemon(true);
+            displayThread.start();
+        }
+        pendingOutputs.notifyAll();
+    }
+
+    /**
+     * Blocks until the display thread has displayed all output sent so far.
+     */
+    private void awaitPendingOutputs() {
+        synchronized (pendingOutputs) {
+            try {
+                while (!pendingOutputs.isEmpty() || outputRunning) {
+                    pendingOutputs.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Sleeps until the next frame is due, if the last frame was displayed less than a frame interval ago.
+     */
+    private void waitForNextFrame() {
+        long remainingNanos = nextFrameTime - System.nanoTime();
+        if (remainingNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        scheduleNextFrame();
+    }
+
+    /**
+     * The next frame is due one frame interval after the current one, or after now, if the display fell behind.
+     */
+    private void scheduleNextFrame() {
+        nextFrameTime = Math.max(nextFrameTime, System.nanoTime() - frameIntervalNanos) + frameIntervalNanos;
+    }
+
+    /**
+     * Runs on the display thread: displays the pending output in order. A frame stays in the queue until it is due,
+     * so it can still be replaced by a newer frame while waiting.
+     */
+    private void displayOutputs() {
+        while (true) {
+            Runnable output;
+            synchronized (pendingOutputs) {
+                try {
+                    while (!isOutputDue()) {
+                        if (pendingOutputs.isEmpty()) {
+                            pendingOutputs.wait();
+                        } else {
+                            TimeUnit.NANOSECONDS.timedWait(pendingOutputs, nextFrameTime - System.nanoTime());
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                output = pendingOutputs.pollFirst();
+                if (output instanceof PendingFrame) {
+                    scheduleNextFrame();
+                }
+                outputRunning = true;
+            }
+            try {
+                output.run();
+            } catch (RuntimeException e) {
+                userInterface.outputException("Following error occurred while trying to display the track: " + e.getMessage());
+            } finally {
+                synchronized (pendingOutputs) {
+                    outputRunning = false;
+                    pendingOutputs.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the first pending output can be displayed: other output immediately, frames when they are due.
+     */
+    private boolean isOutputDue() {
+        if (pendingOutputs.isEmpty()) {
+            return false;
+        }
+        return !(pendingOutputs.peekFirst() instanceof PendingFrame) || nextFrameTime - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Frame waiting to be displayed, which is replaced by newer frames until it is displayed.
+     */
+    private class PendingFrame implements Runnable {
+        private String frame;
+
+        PendingFrame(String frame) {
+            this.frame = frame;
+        }
+
+        @Override
+        public void run() {
+            userInterface.outputPrintRaceTrack(frame);
+        }
+    }
+}
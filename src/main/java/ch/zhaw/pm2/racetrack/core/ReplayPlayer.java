@@ -0,0 +1,316 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Plays back a replay written by the {@link ReplayRecorder}, without user interface or on a {@link UserInterface}.
+ *
+ * <p>The whole replay is read when the player is created. {@link #seek(int)} reconstructs the state after any turn
+ * from the nearest keyframe before it, so it only replays the turns in between. Seeking forward without
+ * a keyframe in between continues from the current state.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class ReplayPlayer {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
+
+    private final TrackTemplate template;
+    private final StrategyType[] strategyTypes;
+    private final byte[] turns;
+    private final Keyframe[] keyframes;
+    private Track track;
+    private Game game;
+    private int currentTurn;
+    private int currentKeyframe = -1;
+
+    /**
+     * Reads the given replay of a game on the given track.
+     *
+     * @param replayFile the replay file.
+     * @param template   the track of the game.
+     * @throws IOException                if the replay file can not be read.
+     * @throws InvalidFileFormatException if the replay file is invalid or belongs to another track.
+     * @throws NullPointerException       if replayFile or template is null.
+     */
+    public ReplayPlayer(File replayFile, TrackTemplate template) throws IOException, InvalidFileFormatException {
+        Objects.requireNonNull(replayFile, "replayFile may not be null");
+        this.template = Objects.requireNonNull(template, "template may not be null");
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(replayFile.toPath()));
+        try {
+            strategyTypes = readHeader(buffer);
+            byte[] allTurns = new byte[buffer.remaining()];
+            int turnCount = 0;
+            List<Keyframe> keyframeList = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                int record = buffer.get();
+                if (record == ReplayRecorder.KEYFRAME) {
+                    keyframeList.add(readKeyframe(buffer, turnCount));
+                } else if (record >= 0 && record < DIRECTIONS.length) {
+                    allTurns[turnCount++] = (byte) record;
+                } else {
+                    throw new InvalidFileFormatException("The replay contains an invalid turn!");
+                }
+            }
+            if (keyframeList.isEmpty() || keyframeList.get(0).turn != 0) {
+                throw new InvalidFileFormatException("The replay does not start with a keyframe!");
+            }
+            turns = Arrays.copyOf(allTurns, turnCount);
+            keyframes = keyframeList.toArray(new Keyframe[0]);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidFileFormatException("The replay is incomplete!");
+        }
+        seek(0);
+    }
+
+    private StrategyType[] readHeader(ByteBuffer buffer) throws InvalidFileFormatException {
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != ReplayRecorder.MAGIC) {
+            throw new InvalidFileFormatException("File is not a replay!");
+        }
+        if (buffer.get() != ReplayRecorder.VERSION) {
+            throw new InvalidFileFormatException("Unsupported version of the replay!");
+        }
+        if (buffer.getInt() != template.getContentHash()) {
+            throw new InvalidFileFormatException("The replay does not belong to the track!");
+        }
+        buffer.getInt();
+        int carCount = buffer.getInt();
+        if (carCount != template.getCarCount()) {
+            throw new InvalidFileFormatException("The replay does not belong to the track!");
+        }
+        StrategyType[] types = new StrategyType[carCount];
+        Track startTrack = new Track(template);
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            if (buffer.getChar() != startTrack.getCar(carIndex).getId()) {
+                throw new InvalidFileFormatException("The replay does not belong to the track!");
+            }
+            int strategyType = buffer.get();
+            types[carIndex] = strategyType >= 0 && strategyType < STRATEGY_TYPES.length ? STRATEGY_TYPES[strategyType] : null;
+        }
+        return types;
+    }
+
+    private Keyframe readKeyframe(ByteBuffer buffer, int turnCount) throws InvalidFileFormatException {
+        int carCount = template.getCarCount();
+        Keyframe keyframe = new Keyframe(buffer.getInt(), buffer.getInt(), buffer.getInt(), carCount);
+        if (keyframe.turn != turnCount) {
+            throw new InvalidFileFormatException("A keyframe of the replay is at the wrong turn!");
+        }
+        if (keyframe.currentCarIndex < 0 || keyframe.currentCarIndex >= carCount
+                || keyframe.winner < Game.NO_WINNER || keyframe.winner >= carCount) {
+            throw new InvalidFileFormatException("A keyframe of the replay contains an invalid car!");
+        }
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            keyframe.positionX[carIndex] = buffer.getInt();
+            keyframe.positionY[carIndex] = buffer.getInt();
+            keyframe.velocityX[carIndex] = buffer.getInt();
+            keyframe.velocityY[carIndex] = buffer.getInt();
+            int flags = buffer.get();
+            keyframe.crashed[carIndex] = (flags & ReplayRecorder.CRASHED) != 0;
+            keyframe.cheating[carIndex] = (flags & ReplayRecorder.CHEATING) != 0;
+        }
+        return keyframe;
+    }
+
+    /**
+     * Returns the number of turns in the replay.
+     *
+     * @return the number of turns.
+     */
+    public int getTurnCount() {
+        return turns.length;
+    }
+
+    /**
+     * Returns the number of turns played to reach the current state.
+     *
+     * @return the current turn, 0 before the first turn.
+     */
+    public int getCurrentTurn() {
+        return currentTurn;
+    }
+
+    /**
+     * Returns the acceleration of the given turn.
+     *
+     * @param turn the zero-based number of the turn.
+     * @return the acceleration of the car in this turn.
+     * @throws IllegalArgumentException if the turn is not in the replay.
+     */
+    public Direction getAcceleration(int turn) {
+        if (turn < 0 || turn >= turns.length) {
+            throw new IllegalArgumentException("Invalid turn!");
+        }
+        return DIRECTIONS[turns[turn]];
+    }
+
+    /**
+     * Returns the type of the strategy, which the car used in the recorded game.
+     *
+     * @param carIndex the index of the car.
+     * @return the strategy type, or null if the strategy had no type.
+     * @throws IllegalArgumentException if the car index is invalid.
+     */
+    public StrategyType getStrategyType(int carIndex) {
+        if (carIndex < 0 || carIndex >= strategyTypes.length) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+        return strategyTypes[carIndex];
+    }
+
+    /**
+     * Returns the track with the cars in the current state. It is replaced by a new one when seeking backwards.
+     *
+     * @return the current track.
+     */
+    public Track getTrack() {
+        return track;
+    }
+
+    /**
+     * Returns the game in the current state. It is replaced by a new one when seeking backwards
+     * and has no strategies.
+     *
+     * @return the current game.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Reconstructs the state of the game after the given number of turns.
+     *
+     * @param turn the number of turns, between 0 and {@link #getTurnCount()}.
+     * @throws IllegalArgumentException if the turn is not in the replay.
+     */
+    public void seek(int turn) {
+        if (turn < 0 || turn > turns.length) {
+            throw new IllegalArgumentException("Invalid turn!");
+        }
+        int keyframe = findKeyframe(turn);
+        if (keyframe != currentKeyframe || turn < currentTurn) {
+            restore(keyframe);
+        }
+        while (currentTurn < turn) {
+            playTurn();
+        }
+    }
+
+    /**
+     * Returns the index of the last keyframe at or before the given turn.
+     */
+    private int findKeyframe(int turn) {
+        int low = 0;
+        int high = keyframes.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (keyframes[middle].turn <= turn) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void restore(int keyframeIndex) {
+        Keyframe keyframe = keyframes[keyframeIndex];
+        track = new Track(template);
+        game = new Game(track);
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            track.restoreCar(carIndex, keyframe.positionX[carIndex], keyframe.positionY[carIndex],
+                    keyframe.velocityX[carIndex], keyframe.velocityY[carIndex], keyframe.crashed[carIndex]);
+        }
+        game.restore(keyframe.currentCarIndex, keyframe.winner, keyframe.cheating);
+        currentTurn = keyframe.turn;
+        currentKeyframe = keyframeIndex;
+    }
+
+    /**
+     * Plays the next turn and switches to the next car like the {@link Executor}, unless there is a winner.
+     */
+    private void playTurn() {
+        game.doCarTurn(DIRECTIONS[turns[currentTurn]]);
+        currentTurn++;
+        if (game.getWinner() == Game.NO_WINNER && game.getActiveCarCount() > 0) {
+            game.switchToNextActiveCar();
+        }
+        if (currentKeyframe + 1 < keyframes.length && keyframes[currentKeyframe + 1].turn == currentTurn) {
+            // the state only differs from the keyframe, if the recorded game continued with another car
+            if (keyframes[currentKeyframe + 1].currentCarIndex != game.getCurrentCarIndex()) {
+                restore(currentKeyframe + 1);
+            } else {
+                currentKeyframe++;
+            }
+        }
+    }
+
+    /**
+     * Plays the whole replay from the start on the given user interface: the track after every turn,
+     * the crashed cars and the winner.
+     *
+     * @param userInterface the user interface displaying the replay.
+     * @throws NullPointerException if userInterface is null.
+     */
+    public void play(UserInterface userInterface) {
+        Objects.requireNonNull(userInterface, "userInterface may not be null");
+        seek(0);
+        userInterface.outputPrintRaceTrack(track.toString());
+        int[] numberOfMovesForEachCar = new int[template.getCarCount()];
+        while (currentTurn < turns.length) {
+            int currentCarIndex = game.getCurrentCarIndex();
+            playTurn();
+            numberOfMovesForEachCar[currentCarIndex]++;
+            userInterface.outputPrintRaceTrack(track.toString());
+            if (track.getCar(currentCarIndex).isCrashed()) {
+                userInterface.outputCarCrashed(game.getCarId(currentCarIndex));
+            }
+        }
+        if (game.getWinner() != Game.NO_WINNER) {
+            userInterface.outputWinner(game.getCarId(game.getWinner()));
+            userInterface.outputAmountOfTurnsNeededToWin(numberOfMovesForEachCar[game.getWinner()]);
+        }
+    }
+
+    /**
+     * The full state of the game before a turn.
+     */
+    private static class Keyframe {
+        private final int turn;
+        private final int currentCarIndex;
+        private final int winner;
+        private final int[] positionX;
+        private final int[] positionY;
+        private final int[] velocityX;
+        private final int[] velocityY;
+        private final boolean[] crashed;
+        private final boolean[] cheating;
+
+        Keyframe(int turn, int currentCarIndex, int winner, int carCount) {
+            this.turn = turn;
+            this.currentCarIndex = currentCarIndex;
+            this.winner = winner;
+            positionX = new int[carCount];
+            positionY = new int[carCount];
+            velocityX = new int[carCount];
+            velocityY = new int[carCount];
+            crashed = new boolean[carCount];
+            cheating = new boolean[carCount];
+        }
+    }
+}
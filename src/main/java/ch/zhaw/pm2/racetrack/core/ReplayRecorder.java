@@ -0,0 +1,224 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.CarStateStore;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.strategy.AStarFinderStrategy;
+import ch.zhaw.pm2.racetrack.strategy.AnytimeAStarStrategy;
+import ch.zhaw.pm2.racetrack.strategy.AsyncMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.DoNotMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveListStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
+import ch.zhaw.pm2.racetrack.strategy.PathFinderStrategy;
+import ch.zhaw.pm2.racetrack.strategy.PathFollowerMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.PolicyTableStrategy;
+import ch.zhaw.pm2.racetrack.strategy.UserMoveStrategy;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Objects;
+
+/**
+ * Records the turns of a {@link Game} in a compact replay file, which the {@link ReplayPlayer} plays back.
+ *
+ * <p>A replay file contains, all numbers in big-endian byte order:</p>
+ * <ul>
+ *   <li>the magic number {@link #MAGIC} ("RRPL") and the format {@link #VERSION} as byte</li>
+ *   <li>the hash of the track, see {@link TrackTemplate#getContentHash()}, and the keyframe interval as int</li>
+ *   <li>the number of cars as int and for each car its id as char and the ordinal of its
+ *       {@link StrategyType} as byte, or -1 if the strategy has no type</li>
+ *   <li>the turns, one byte with the ordinal of the {@link Direction} per turn</li>
+ * </ul>
+ * <p>When the recording starts and every keyframe interval turns, a keyframe with the full state of the game
+ * is written between the turns: the byte {@link #KEYFRAME}, the number of turns before it, the current car and the
+ * winner as int and for each car its position and velocity as int and a byte with the flags {@link #CRASHED} and
+ * {@link #CHEATING}. The player only needs to replay the turns after the nearest keyframe to seek to any turn.</p>
+ * <p>The player switches to the next car after each turn, like the {@link Executor}, unless there is a winner.
+ * If the game continues with another car, e.g. because the cars were changed from outside, a keyframe is written
+ * as well, so the replay is always correct.</p>
+ * <p>Replays can only be recorded in the turn-based mode. If writing fails, the recording stops without disturbing
+ * the game and the error is thrown by {@link #close()}.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class ReplayRecorder implements Closeable {
+    /**
+     * The first four bytes of a replay file, "RRPL" in ASCII.
+     */
+    public static final int MAGIC = 0x5252504C;
+    public static final byte VERSION = 1;
+    public static final String FILE_EXTENSION = ".replay";
+    /**
+     * Number of turns between two keyframes, used if none is given.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+    static final int KEYFRAME = 0x7F;
+    static final int CRASHED = 1;
+    static final int CHEATING = 2;
+    static final int NO_STRATEGY_TYPE = -1;
+
+    private final Game game;
+    private final CarStateStore carStates;
+    private final int keyframeInterval;
+    private final DataOutputStream output;
+    private IOException writeError;
+    private int turns;
+    private int lastCarIndex;
+
+    /**
+     * Starts recording the given game with the {@link #DEFAULT_KEYFRAME_INTERVAL}.
+     *
+     * @param replayFile the file to write the replay to.
+     * @param game       the game to record, with the strategies of all cars set.
+     * @throws IOException          if the replay file can not be written.
+     * @throws NullPointerException if replayFile or game is null.
+     */
+    public ReplayRecorder(File replayFile, Game game) throws IOException {
+        this(replayFile, game, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Starts recording the given game, the turns are written until the recorder is closed.
+     *
+     * @param replayFile       the file to write the replay to.
+     * @param game             the game to record, with the strategies of all cars set.
+     * @param keyframeInterval the number of turns between two keyframes.
+     * @throws IOException              if the replay file can not be written.
+     * @throws NullPointerException     if replayFile or game is null.
+     * @throws IllegalArgumentException if keyframeInterval is not positive.
+     */
+    public ReplayRecorder(File replayFile, Game game, int keyframeInterval) throws IOException {
+        Objects.requireNonNull(replayFile, "replayFile may not be null");
+        this.game = Objects.requireNonNull(game, "game may not be null");
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("keyframeInterval must be positive!");
+        }
+        this.keyframeInterval = keyframeInterval;
+        carStates = game.getTrack().getCarStateStore();
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(replayFile.toPath())));
+        lastCarIndex = game.getCurrentCarIndex();
+        try {
+            writeHeader();
+            writeKeyframe(lastCarIndex);
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+        game.setReplayRecorder(this);
+    }
+
+    private void writeHeader() throws IOException {
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeInt(game.getTrack().getTemplate().getContentHash());
+        output.writeInt(keyframeInterval);
+        output.writeInt(carStates.getCarCount());
+        for (int carIndex = 0; carIndex < carStates.getCarCount(); carIndex++) {
+            output.writeChar(carStates.getId(carIndex));
+            StrategyType strategyType = getStrategyType(game.getCarMoveStrategy(carIndex));
+            output.writeByte(strategyType == null ? NO_STRATEGY_TYPE : strategyType.ordinal());
+        }
+    }
+
+    private static StrategyType getStrategyType(MoveStrategy strategy) {
+        if (strategy instanceof DoNotMoveStrategy) {
+            return StrategyType.DO_NOT_MOVE;
+        } else if (strategy instanceof UserMoveStrategy) {
+            return StrategyType.USER;
+        } else if (strategy instanceof MoveListStrategy) {
+            return StrategyType.MOVE_LIST;
+        } else if (strategy instanceof PathFollowerMoveStrategy) {
+            return StrategyType.PATH_FOLLOWER;
+        } else if (strategy instanceof PathFinderStrategy || strategy instanceof PolicyTableStrategy) {
+            return StrategyType.PATH_FINDER;
+        } else if (strategy instanceof AStarFinderStrategy || strategy instanceof AnytimeAStarStrategy) {
+            return StrategyType.A_STAR_FINDER;
+        } else if (strategy instanceof AsyncMoveStrategy asyncStrategy) {
+            return asyncStrategy.getStrategyType();
+        }
+        return null;
+    }
+
+    /**
+     * Writes the turn of the current car, preceded by a keyframe if one is due. Is called by the game before the turn.
+     */
+    void recordTurn(Direction acceleration) {
+        if (writeError != null) {
+            return;
+        }
+        try {
+            int currentCarIndex = game.getCurrentCarIndex();
+            if (turns > 0 && turns % keyframeInterval == 0 || currentCarIndex != getExpectedCarIndex()) {
+                writeKeyframe(currentCarIndex);
+            }
+            output.writeByte(acceleration.ordinal());
+            turns++;
+            lastCarIndex = currentCarIndex;
+        } catch (IOException e) {
+            writeError = e;
+            game.setReplayRecorder(null);
+        }
+    }
+
+    /**
+     * Returns the car the player continues with after the last keyframe or turn, see {@link ReplayPlayer}.
+     */
+    private int getExpectedCarIndex() {
+        if (turns == 0 || game.getWinner() != Game.NO_WINNER || game.getActiveCarCount() == 0) {
+            return lastCarIndex;
+        }
+        return game.getNextActiveCar(lastCarIndex);
+    }
+
+    private void writeKeyframe(int currentCarIndex) throws IOException {
+        output.writeByte(KEYFRAME);
+        output.writeInt(turns);
+        output.writeInt(currentCarIndex);
+        output.writeInt(game.getWinner());
+        for (int carIndex = 0; carIndex < carStates.getCarCount(); carIndex++) {
+            output.writeInt(carStates.getPositionX(carIndex));
+            output.writeInt(carStates.getPositionY(carIndex));
+            output.writeInt(carStates.getVelocityX(carIndex));
+            output.writeInt(carStates.getVelocityY(carIndex));
+            output.writeByte((carStates.isCrashed(carIndex) ? CRASHED : 0) | (game.isCheating(carIndex) ? CHEATING : 0));
+        }
+    }
+
+    /**
+     * Returns the number of turns recorded.
+     *
+     * @return the number of turns.
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Stops recording and closes the replay file.
+     *
+     * @throws IOException if writing the replay failed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (writeError == null) {
+            game.setReplayRecorder(null);
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            if (writeError == null) {
+                writeError = e;
+            }
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.model.CarStateStore;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.utils.BresenhamAlgorithm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Resolves a round of the simultaneous-move mode, in which all cars which are not crashed move at the same time,
+ * see {@link Game#doSimultaneousRound(ch.zhaw.pm2.racetrack.given.Direction[])}.
+ *
+ * <p>The cars must already be accelerated. First the path of every moving car is checked against the track alone,
+ * with the same {@link TurnRules} for walls, the finish line and cheating as {@link Game#doCarTurn}. These checks only read
+ * the track and the state of the car itself, so they run in parallel if at least {@link #PARALLEL_THRESHOLD}
+ * cars are moving. Then the conflicts between the cars are resolved serially, step by step along their paths:</p>
+ * <ul>
+ *   <li>In every step each car advances one position on its path. A car at the end of its path, or without
+ *       velocity, stays where it is.</li>
+ *   <li>A car entering a TRACK position crashes there, if another car which is not crashed is at this position
+ *       after the step, or if it swapped the position with another car in this step. Cars entering the same
+ *       position in the same step crash both, a car standing there does not crash.</li>
+ *   <li>A crashed car stops and is no obstacle anymore, like in the turn-based mode.</li>
+ *   <li>Of the cars crossing the finish line in the correct direction, the one needing the fewest steps wins.
+ *       If several need the same number of steps, the one with the lowest index wins.</li>
+ * </ul>
+ * <p>Only cars whose paths share a TRACK position with another car take part in the serial resolution,
+ * all others keep the result of their own check. The result does not depend on the number of threads.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+final class SimultaneousRound {
+    /**
+     * Minimum number of moving cars for which the paths are checked in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private static final int TRACK_ORDINAL = SpaceType.TRACK.ordinal();
+
+    private final Track track;
+    private final CarStateStore carStates;
+    private final boolean[] cheating;
+    private final PlannedMove[] plannedMoves;
+    private int winner = Game.NO_WINNER;
+
+    /**
+     * Checks the paths of all moving cars and resolves the conflicts between them.
+     *
+     * @param track    the track with the accelerated cars.
+     * @param cheating whether each car crossed the finish line in the wrong direction before this round.
+     * @throws NullPointerException if track or cheating is null.
+     */
+    SimultaneousRound(Track track, boolean[] cheating) {
+        this.track = Objects.requireNonNull(track, "track may not be null");
+        this.cheating = Objects.requireNonNull(cheating, "cheating may not be null");
+        carStates = track.getCarStateStore();
+        int carCount = carStates.getCarCount();
+        plannedMoves = new PlannedMove[carCount];
+
+        int movingCars = 0;
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            if (isMoving(carIndex)) {
+                movingCars++;
+            }
+        }
+        IntStream carIndexes = IntStream.range(0, carCount);
+        if (movingCars >= PARALLEL_THRESHOLD) {
+            carIndexes = carIndexes.parallel();
+        }
+        carIndexes.filter(this::isMoving).forEach(carIndex -> plannedMoves[carIndex] = planMove(carIndex, cheating[carIndex]));
+
+        resolveConflicts(findConflictingCars());
+        chooseWinner();
+    }
+
+    private boolean isMoving(int carIndex) {
+        return !carStates.isCrashed(carIndex)
+                && (carStates.getVelocityX(carIndex) != 0 || carStates.getVelocityY(carIndex) != 0);
+    }
+
+    private PlannedMove planMove(int carIndex, boolean cheating) {
+        int startX = carStates.getPositionX(carIndex);
+        int startY = carStates.getPositionY(carIndex);
+        PlannedMove plannedMove = new PlannedMove(carStates.getVelocityX(carIndex), carStates.getVelocityY(carIndex), cheating);
+        BresenhamAlgorithm.walkPath(startX, startY, startX + carStates.getVelocityX(carIndex),
+                startY + carStates.getVelocityY(carIndex), plannedMove);
+        return plannedMove;
+    }
+
+    /**
+     * Returns which cars share a TRACK position with another car, either on their paths or where they stand.
+     */
+    private boolean[] findConflictingCars() {
+        int carCount = carStates.getCarCount();
+        boolean[] conflicting = new boolean[carCount];
+        Map<Long, Integer> firstCarAtPosition = new HashMap<>();
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            if (carStates.isCrashed(carIndex)) {
+                continue;
+            }
+            PlannedMove plannedMove = plannedMoves[carIndex];
+            int steps = plannedMove == null ? 0 : plannedMove.steps;
+            for (int step = 0; step <= steps; step++) {
+                int x = getX(carIndex, step);
+                int y = getY(carIndex, step);
+                if (track.getSpaceTypeOrdinal(x, y) != TRACK_ORDINAL) {
+                    continue;
+                }
+                Integer firstCar = firstCarAtPosition.putIfAbsent(toKey(x, y), carIndex);
+                if (firstCar != null && firstCar != carIndex) {
+                    conflicting[firstCar] = true;
+                    conflicting[carIndex] = true;
+                }
+            }
+        }
+        return conflicting;
+    }
+
+    /**
+     * Moves the conflicting cars step by step and crashes the cars colliding with each other.
+     */
+    private void resolveConflicts(boolean[] conflicting) {
+        int maxSteps = 0;
+        for (int carIndex = 0; carIndex < conflicting.length; carIndex++) {
+            if (conflicting[carIndex] && plannedMoves[carIndex] != null) {
+                maxSteps = Math.max(maxSteps, plannedMoves[carIndex].steps);
+            }
+        }
+
+        Map<Long, Integer> carsAtPosition = new HashMap<>();
+        Map<Long, List<Long>> arrivals = new HashMap<>();
+        boolean[] collided = new boolean[conflicting.length];
+        for (int step = 1; step <= maxSteps; step++) {
+            carsAtPosition.clear();
+            arrivals.clear();
+            for (int carIndex = 0; carIndex < conflicting.length; carIndex++) {
+                if (conflicting[carIndex] && !isStopped(carIndex, step - 1)) {
+                    carsAtPosition.merge(toKey(getX(carIndex, step), getY(carIndex, step)), 1, Integer::sum);
+                    if (isArriving(carIndex, step)) {
+                        arrivals.computeIfAbsent(toKey(getX(carIndex, step), getY(carIndex, step)), key -> new ArrayList<>())
+                                .add(toKey(getX(carIndex, step - 1), getY(carIndex, step - 1)));
+                    }
+                }
+            }
+            for (int carIndex = 0; carIndex < conflicting.length; carIndex++) {
+                if (conflicting[carIndex] && isArriving(carIndex, step)) {
+                    int x = getX(carIndex, step);
+                    int y = getY(carIndex, step);
+                    long from = toKey(getX(carIndex, step - 1), getY(carIndex, step - 1));
+                    long to = toKey(x, y);
+                    collided[carIndex] = track.getSpaceTypeOrdinal(x, y) == TRACK_ORDINAL
+                            && (carsAtPosition.get(to) > 1 || arrivals.getOrDefault(from, List.of()).contains(to));
+                }
+            }
+            for (int carIndex = 0; carIndex < conflicting.length; carIndex++) {
+                if (collided[carIndex]) {
+                    plannedMoves[carIndex].crashIntoCar(step);
+                    collided[carIndex] = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the car moves to a new position of its path in the given step.
+     */
+    private boolean isArriving(int carIndex, int step) {
+        PlannedMove plannedMove = plannedMoves[carIndex];
+        return plannedMove != null && !isStopped(carIndex, step - 1) && step <= plannedMove.steps;
+    }
+
+    /**
+     * Returns whether the car crashed during the round at or before the given step.
+     */
+    private boolean isStopped(int carIndex, int step) {
+        if (carStates.isCrashed(carIndex)) {
+            return true;
+        }
+        PlannedMove plannedMove = plannedMoves[carIndex];
+        return plannedMove != null && plannedMove.outcome == Outcome.CRASHED && plannedMove.steps <= step;
+    }
+
+    private void chooseWinner() {
+        int winnerSteps = Integer.MAX_VALUE;
+        for (int carIndex = 0; carIndex < plannedMoves.length; carIndex++) {
+            PlannedMove plannedMove = plannedMoves[carIndex];
+            if (plannedMove != null && plannedMove.outcome == Outcome.FINISHED && plannedMove.steps < winnerSteps) {
+                winner = carIndex;
+                winnerSteps = plannedMove.steps;
+            }
+        }
+    }
+
+    private int getX(int carIndex, int step) {
+        PlannedMove plannedMove = plannedMoves[carIndex];
+        if (plannedMove == null) {
+            return carStates.getPositionX(carIndex);
+        }
+        return plannedMove.path[2 * Math.min(step, plannedMove.steps)];
+    }
+
+    private int getY(int carIndex, int step) {
+        PlannedMove plannedMove = plannedMoves[carIndex];
+        if (plannedMove == null) {
+            return carStates.getPositionY(carIndex);
+        }
+        return plannedMove.path[2 * Math.min(step, plannedMove.steps) + 1];
+    }
+
+    private static long toKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the index of the car which wins in this round.
+     *
+     * @return the index of the winner, or {@link Game#NO_WINNER} if no car crossed the finish line.
+     */
+    int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns how the move of the given car ends.
+     *
+     * @param carIndex the index of the car.
+     * @return the outcome, {@link Outcome#MOVED} for cars which did not move or were crashed before.
+     */
+    Outcome getOutcome(int carIndex) {
+        PlannedMove plannedMove = plannedMoves[carIndex];
+        return plannedMove == null ? Outcome.MOVED : plannedMove.outcome;
+    }
+
+    /**
+     * Returns the position where the car crashed or crossed the finish line, see {@link #getOutcome(int)}.
+     */
+    int getEndX(int carIndex) {
+        return getX(carIndex, Integer.MAX_VALUE);
+    }
+
+    int getEndY(int carIndex) {
+        return getY(carIndex, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns whether the car crossed the finish line in the wrong direction and did not cross it back
+     * until the end of its move.
+     */
+    boolean isCheating(int carIndex) {
+        PlannedMove plannedMove = plannedMoves[carIndex];
+        return plannedMove == null ? cheating[carIndex] : plannedMove.cheating[plannedMove.steps];
+    }
+
+    /**
+     * How the move of a car ends.
+     */
+    enum Outcome {
+        MOVED, CRASHED, FINISHED
+    }
+
+    /**
+     * The path of a moving car, checked against the track only, and the cheating state after each step.
+     * Step 0 is the starting position, which is checked as well, like in the turn-based mode.
+     */
+    private class PlannedMove implements BresenhamAlgorithm.PathVisitor {
+        private final int[] path;
+        private final boolean[] cheating;
+        private int steps = -1;
+        private Outcome outcome = Outcome.MOVED;
+        private boolean currentlyCheating;
+
+        PlannedMove(int velocityX, int velocityY, boolean cheating) {
+            int length = Math.max(Math.abs(velocityX), Math.abs(velocityY)) + 1;
+            path = new int[2 * length];
+            this.cheating = new boolean[length];
+            currentlyCheating = cheating;
+        }
+
+        private void crashIntoCar(int step) {
+            steps = step;
+            outcome = Outcome.CRASHED;
+        }
+
+        @Override
+        public boolean visit(int x, int y) {
+            steps++;
+            path[2 * steps] = x;
+            path[2 * steps + 1] = y;
+            int previousX = steps == 0 ? x : path[2 * steps - 2];
+            int previousY = steps == 0 ? y : path[2 * steps - 1];
+            boolean pathInterrupted = false;
+            switch (TurnRules.checkStep(track.getSpaceTypeAt(x, y), previousX, previousY, x, y, false, currentlyCheating)) {
+                case CRASH -> {
+                    outcome = Outcome.CRASHED;
+                    pathInterrupted = true;
+                }
+                case FINISH -> {
+                    outcome = Outcome.FINISHED;
+                    pathInterrupted = true;
+                }
+                case START_CHEATING -> currentlyCheating = true;
+                case STOP_CHEATING -> currentlyCheating = false;
+                case CONTINUE -> {
+                }
+            }
+            cheating[steps] = currentlyCheating;
+            return !pathInterrupted;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+
+/**
+ * The rules for a car reaching a position on the path of its move, shared by {@link Game}, {@link SimultaneousRound}
+ * and {@link GameState}, so all of them judge a move the same way.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+final class TurnRules {
+
+    /**
+     * What happens to the car on a position of its path.
+     */
+    enum Step {
+        /**
+         * The car continues on its path.
+         */
+        CONTINUE,
+        /**
+         * The car crashes on the position and stops.
+         */
+        CRASH,
+        /**
+         * The car crosses the finish line in the correct direction and wins on the position.
+         */
+        FINISH,
+        /**
+         * The car crosses the finish line in the wrong direction, it is cheating until it crosses it back.
+         */
+        START_CHEATING,
+        /**
+         * The car crosses the finish line back in the correct direction, it is no longer cheating.
+         */
+        STOP_CHEATING
+    }
+
+    private TurnRules() {
+    }
+
+    /**
+     * Judges a position on the path of a car. The starting position of the path is checked as well,
+     * with the same previous position.
+     *
+     * @param spaceType          the type of space at the position.
+     * @param previousX          x-value of the previous position on the path.
+     * @param previousY          y-value of the previous position on the path.
+     * @param x                  x-value of the position.
+     * @param y                  y-value of the position.
+     * @param otherCarAtPosition whether another car, which is not crashed, is at the position,
+     *                           only needed for TRACK positions.
+     * @param cheating           whether the car crossed the finish line in the wrong direction before.
+     * @return what happens to the car.
+     */
+    static Step checkStep(SpaceType spaceType, int previousX, int previousY, int x, int y,
+                          boolean otherCarAtPosition, boolean cheating) {
+        return switch (spaceType) {
+            case WALL -> Step.CRASH;
+            case TRACK -> otherCarAtPosition ? Step.CRASH : Step.CONTINUE;
+            case FINISH_DOWN, FINISH_LEFT, FINISH_RIGHT, FINISH_UP -> {
+                if (!isFinishedInCorrectDirection(spaceType, previousX, previousY, x, y)) {
+                    yield Step.START_CHEATING;
+                }
+                yield cheating ? Step.STOP_CHEATING : Step.FINISH;
+            }
+        };
+    }
+
+    private static boolean isFinishedInCorrectDirection(SpaceType spaceType, int previousX, int previousY,
+                                                        int currentX, int currentY) {
+        return switch (spaceType) {
+            case FINISH_DOWN -> previousY < currentY;
+            case FINISH_LEFT -> previousX > currentX;
+            case FINISH_RIGHT -> previousX < currentX;
+            case FINISH_UP -> previousY > currentY;
+            default -> false;
+        };
+    }
+}
@@ -79,6 +79,15 @@ public interface UserInterface {
      */
     void outputTie();
 
+    /**
+     * Is the method that prints how many moves of a car with a time budget were determined too late.
+     *
+     * @param car             The car with the time budget.
+     * @param missedDeadlines The number of moves determined after their deadline.
+     * @param amountOfMoves   The number of moves of the car.
+     */
+    void outputMissedDeadlines(char car, int missedDeadlines, int amountOfMoves);
+
     /**
      * Is the method that lets the user choose which racetrack they want to play on.
      *
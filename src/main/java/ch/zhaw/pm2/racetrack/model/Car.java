@@ -8,24 +8,23 @@ import java.util.Objects;
 
 /**
  * Class representing a car on the racetrack.<br/>
- * Uses {@link PositionVector} to store current position on the track grid and current velocity vector.<br/>
+ * Uses {@link PositionVector} to return current position on the track grid and current velocity vector.<br/>
  * Each car has an identifier character which represents the car on the racetrack board.<br/>
  * Also keeps the state, if the car is crashed (not active anymore). The state can not be changed back to not crashed.<br/>
  * The velocity is changed by providing an acceleration vector.<br/>
  * The car is able to calculate the endpoint of its next position and on request moves to it.<br/>
  *
+ * <p>The state is not stored in the car itself, it is a view on one index of a {@link CarStateStore},
+ * which holds the state of all cars of a track in primitive arrays. A car created by its public constructor
+ * gets a store of its own.</p>
+ *
  * @author Team03 - Stackoverflow
  * @version 1.0
  */
 public class Car implements CarSpecification {
 
-    /**
-     * Car identifier used to represent the car on the track
-     */
-    private final char id;
-    private PositionVector currentPosition;
-    private PositionVector velocity = new PositionVector(0, 0);
-    private boolean isCrashed = false;
+    private final CarStateStore store;
+    private final int carIndex;
 
     /**
      * Constructor for class Car
@@ -36,8 +35,19 @@ public class Car implements CarSpecification {
      */
     public Car(char id, PositionVector startPosition) {
         Objects.requireNonNull(startPosition, "startPosition in Car Constructor may not be null.");
-        this.id = id;
-        this.currentPosition = startPosition;
+        this.store = new CarStateStore(new char[]{id}, new PositionVector[]{startPosition});
+        this.carIndex = 0;
+    }
+
+    /**
+     * Constructs the view on the car with the given index in the store, used by the {@link Track}.
+     *
+     * @param store    the store holding the state of the car.
+     * @param carIndex the index of the car in the store.
+     */
+    Car(CarStateStore store, int carIndex) {
+        this.store = Objects.requireNonNull(store, "store may not be null");
+        this.carIndex = carIndex;
     }
 
     /**
@@ -47,7 +57,7 @@ public class Car implements CarSpecification {
      */
     @Override
     public char getId() {
-        return this.id;
+        return store.getId(carIndex);
     }
 
     /**
@@ -57,7 +67,25 @@ public class Car implements CarSpecification {
      */
     @Override
     public PositionVector getCurrentPosition() {
-        return new PositionVector(currentPosition);
+        return new PositionVector(store.getPositionX(carIndex), store.getPositionY(carIndex));
+    }
+
+    /**
+     * Returns the x-value of the current position, without creating a {@link PositionVector}.
+     *
+     * @return x-value (column) of the current position
+     */
+    public int getPositionX() {
+        return store.getPositionX(carIndex);
+    }
+
+    /**
+     * Returns the y-value of the current position, without creating a {@link PositionVector}.
+     *
+     * @return y-value (row) of the current position
+     */
+    public int getPositionY() {
+        return store.getPositionY(carIndex);
     }
 
     /**
@@ -68,7 +96,25 @@ public class Car implements CarSpecification {
      */
     @Override
     public PositionVector getVelocity() {
-        return new PositionVector(velocity);
+        return new PositionVector(store.getVelocityX(carIndex), store.getVelocityY(carIndex));
+    }
+
+    /**
+     * Returns the x-value of the velocity, without creating a {@link PositionVector}.
+     *
+     * @return velocity in x direction
+     */
+    public int getVelocityX() {
+        return store.getVelocityX(carIndex);
+    }
+
+    /**
+     * Returns the y-value of the velocity, without creating a {@link PositionVector}.
+     *
+     * @return velocity in y direction
+     */
+    public int getVelocityY() {
+        return store.getVelocityY(carIndex);
     }
 
     /**
@@ -79,7 +125,8 @@ public class Car implements CarSpecification {
      */
     @Override
     public PositionVector getNextPosition() {
-        return currentPosition.add(velocity);
+        return new PositionVector(store.getPositionX(carIndex) + store.getVelocityX(carIndex),
+                store.getPositionY(carIndex) + store.getVelocityY(carIndex));
     }
 
     /**
@@ -94,7 +141,7 @@ public class Car implements CarSpecification {
     @Override
     public void accelerate(Direction acceleration) {
         Objects.requireNonNull(acceleration, "The acceleration direction may not be null");
-        velocity = velocity.add(acceleration.vector);
+        store.accelerate(carIndex, acceleration);
     }
 
     /**
@@ -102,7 +149,7 @@ public class Car implements CarSpecification {
      */
     @Override
     public void move() {
-        currentPosition = currentPosition.add(velocity);
+        store.move(carIndex);
     }
 
     /**
@@ -114,8 +161,17 @@ public class Car implements CarSpecification {
     @Override
     public void crash(PositionVector crashPosition) {
         Objects.requireNonNull(crashPosition, "The crashPosition may not be null");
-        isCrashed = true;
-        currentPosition = crashPosition;
+        store.crash(carIndex, crashPosition.getX(), crashPosition.getY());
+    }
+
+    /**
+     * Mark this Car as being crashed at the given coordinates, without the need of a {@link PositionVector}.
+     *
+     * @param x x-value of the position the car crashed.
+     * @param y y-value of the position the car crashed.
+     */
+    public void crash(int x, int y) {
+        store.crash(carIndex, x, y);
     }
 
     /**
@@ -125,7 +181,7 @@ public class Car implements CarSpecification {
      */
     @Override
     public boolean isCrashed() {
-        return isCrashed;
+        return store.isCrashed(carIndex);
     }
 
     /**
@@ -137,6 +193,6 @@ public class Car implements CarSpecification {
      */
     public void setWinningPosition(PositionVector winningPosition) {
         Objects.requireNonNull(winningPosition, "The winningPosition may not be null");
-        currentPosition = winningPosition;
+        store.setPosition(carIndex, winningPosition.getX(), winningPosition.getY());
     }
 }
@@ -0,0 +1,118 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import java.util.Arrays;
+
+/**
+ * Index of the cars by the grid cell they are standing on, used by the {@link Track}.
+ *
+ * <p>The cells (y * width + x) of the cars are stored in a hash table with one bucket list per hash value.
+ * The lists are linked by car index and sorted by it, so the first car found on a cell is always the one with
+ * the lowest index. As there are only as many entries as cars, the index needs no memory per grid cell.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+class CarOccupancy {
+    /**
+     * Cell of a car, which is not on the grid.
+     */
+    static final int NO_CELL = -1;
+    private static final int NO_CAR = -1;
+
+    private final int[] bucketHeads;
+    private final int bucketShift;
+    private final int[] nextCars;
+    private final int[] carCells;
+
+    /**
+     * Constructs a new index for the given number of cars, which are not on the grid yet.
+     *
+     * @param carCount the number of cars.
+     */
+    CarOccupancy(int carCount) {
+        bucketHeads = new int[Integer.highestOneBit(Math.max(1, carCount) * 2 - 1) * 2];
+        bucketShift = Integer.numberOfLeadingZeros(bucketHeads.length) + 1;
+        nextCars = new int[carCount];
+        carCells = new int[carCount];
+        Arrays.fill(bucketHeads, NO_CAR);
+        Arrays.fill(carCells, NO_CELL);
+    }
+
+    /**
+     * Moves the car to the given cell.
+     *
+     * @param carIndex the index of the car.
+     * @param cell     the new cell of the car or {@link #NO_CELL}.
+     */
+    void moveCar(int carIndex, int cell) {
+        if (carCells[carIndex] != NO_CELL) {
+            removeCar(carIndex);
+        }
+        carCells[carIndex] = cell;
+        if (cell != NO_CELL) {
+            insertCar(carIndex);
+        }
+    }
+
+    /**
+     * Returns the lowest index of the cars on the given cell.
+     *
+     * @param cell the cell to look at.
+     * @return the car index or -1, if there is no car on the cell.
+     */
+    int getFirstCar(int cell) {
+        int carIndex = bucketHeads[getBucket(cell)];
+        while (carIndex != NO_CAR && carCells[carIndex] != cell) {
+            carIndex = nextCars[carIndex];
+        }
+        return carIndex;
+    }
+
+    /**
+     * Returns the next car on the same cell after the given car.
+     *
+     * @param carIndex a car returned by {@link #getFirstCar(int)} or this method.
+     * @return the next car index or -1, if there is no other car on the cell.
+     */
+    int getNextCar(int carIndex) {
+        int cell = carCells[carIndex];
+        int nextCar = nextCars[carIndex];
+        while (nextCar != NO_CAR && carCells[nextCar] != cell) {
+            nextCar = nextCars[nextCar];
+        }
+        return nextCar;
+    }
+
+    private void insertCar(int carIndex) {
+        int bucket = getBucket(carCells[carIndex]);
+        int previousCar = NO_CAR;
+        int currentCar = bucketHeads[bucket];
+        while (currentCar != NO_CAR && currentCar < carIndex) {
+            previousCar = currentCar;
+            currentCar = nextCars[currentCar];
+        }
+        nextCars[carIndex] = currentCar;
+        if (previousCar == NO_CAR) {
+            bucketHeads[bucket] = carIndex;
+        } else {
+            nextCars[previousCar] = carIndex;
+        }
+    }
+
+    private void removeCar(int carIndex) {
+        int bucket = getBucket(carCells[carIndex]);
+        if (bucketHeads[bucket] == carIndex) {
+            bucketHeads[bucket] = nextCars[carIndex];
+        } else {
+            int previousCar = bucketHeads[bucket];
+            while (nextCars[previousCar] != carIndex) {
+                previousCar = nextCars[previousCar];
+            }
+            nextCars[previousCar] = nextCars[carIndex];
+        }
+    }
+
+    private int getBucket(int cell) {
+        return (cell * 0x9E3779B9) >>> bucketShift;
+    }
+}
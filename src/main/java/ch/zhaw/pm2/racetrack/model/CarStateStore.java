@@ -0,0 +1,234 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+
+import java.util.Objects;
+
+/**
+ * State of all cars of a track, stored in parallel arrays of primitive values indexed by the car index.
+ *
+ * <p>The {@link Car} objects are views on one index of the store, so moving, accelerating and crashing a car
+ * only changes array elements instead of creating new {@link PositionVector}s. This keeps the garbage low
+ * when thousands of cars are simulated, see the swarm mode of the {@link TrackTemplate}.</p>
+ * <p>Whenever the position of a car changes, the {@link PositionListener} is called with the new coordinates,
+ * which the {@link Track} uses to keep its index of the car positions up to date.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class CarStateStore {
+    private final char[] ids;
+    private final int[] positionX;
+    private final int[] positionY;
+    private final int[] velocityX;
+    private final int[] velocityY;
+    private final boolean[] crashed;
+    private final int[] crashOrder;
+    private int crashedCarCount;
+    private PositionListener positionListener = (carIndex, x, y) -> {
+    };
+
+    /**
+     * Called whenever the position of a car changes.
+     */
+    @FunctionalInterface
+    interface PositionListener {
+        void positionChanged(int carIndex, int x, int y);
+    }
+
+    /**
+     * Constructs a new store with the given cars standing still at their start positions.
+     *
+     * @param ids            the id of each car.
+     * @param startPositions the start position of each car.
+     * @throws NullPointerException     if ids or startPositions or one of the positions is null.
+     * @throws IllegalArgumentException if the number of ids and start positions differs.
+     */
+    CarStateStore(char[] ids, PositionVector[] startPositions) {
+        Objects.requireNonNull(ids, "ids may not be null");
+        Objects.requireNonNull(startPositions, "startPositions may not be null");
+        if (ids.length != startPositions.length) {
+            throw new IllegalArgumentException("Each car needs an id and a start position!");
+        }
+        this.ids = ids.clone();
+        positionX = new int[ids.length];
+        positionY = new int[ids.length];
+        velocityX = new int[ids.length];
+        velocityY = new int[ids.length];
+        crashed = new boolean[ids.length];
+        crashOrder = new int[ids.length];
+        for (int carIndex = 0; carIndex < ids.length; carIndex++) {
+            PositionVector startPosition = Objects.requireNonNull(startPositions[carIndex], "startPosition may not be null.");
+            positionX[carIndex] = startPosition.getX();
+            positionY[carIndex] = startPosition.getY();
+        }
+    }
+
+    void setPositionListener(PositionListener positionListener) {
+        this.positionListener = Objects.requireNonNull(positionListener, "positionListener may not be null");
+    }
+
+    /**
+     * Returns the number of cars in the store.
+     *
+     * @return the number of cars.
+     */
+    public int getCarCount() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the id of the car, which is shown on the track.
+     *
+     * @param carIndex the index of the car.
+     * @return the id of the car.
+     */
+    public char getId(int carIndex) {
+        return ids[carIndex];
+    }
+
+    /**
+     * Returns the x-value of the current position of the car.
+     *
+     * @param carIndex the index of the car.
+     * @return the x-value of the position.
+     */
+    public int getPositionX(int carIndex) {
+        return positionX[carIndex];
+    }
+
+    /**
+     * Returns the y-value of the current position of the car.
+     *
+     * @param carIndex the index of the car.
+     * @return the y-value of the position.
+     */
+    public int getPositionY(int carIndex) {
+        return positionY[carIndex];
+    }
+
+    /**
+     * Returns the x-value of the current velocity of the car.
+     *
+     * @param carIndex the index of the car.
+     * @return the x-value of the velocity.
+     */
+    public int getVelocityX(int carIndex) {
+        return velocityX[carIndex];
+    }
+
+    /**
+     * Returns the y-value of the current velocity of the car.
+     *
+     * @param carIndex the index of the car.
+     * @return the y-value of the velocity.
+     */
+    public int getVelocityY(int carIndex) {
+        return velocityY[carIndex];
+    }
+
+    /**
+     * Returns whether the car is crashed.
+     *
+     * @param carIndex the index of the car.
+     * @return true if the car is crashed.
+     */
+    public boolean isCrashed(int carIndex) {
+        return crashed[carIndex];
+    }
+
+    /**
+     * Returns the number of crashed cars.
+     *
+     * @return the number of cars, which are crashed.
+     */
+    public int getCrashedCarCount() {
+        return crashedCarCount;
+    }
+
+    /**
+     * Returns the index of the car, which crashed as the given one, so the crashes since an earlier
+     * {@link #getCrashedCarCount()} can be found without looking at all cars.
+     *
+     * @param crashNumber the zero-based number of the crash, lower than {@link #getCrashedCarCount()}.
+     * @return the index of the car.
+     */
+    public int getCrashedCar(int crashNumber) {
+        return crashOrder[crashNumber];
+    }
+
+    /**
+     * Adds the acceleration to the velocity of the car.
+     *
+     * @param carIndex     the index of the car.
+     * @param acceleration the acceleration, not null.
+     */
+    void accelerate(int carIndex, Direction acceleration) {
+        velocityX[carIndex] += acceleration.vector.getX();
+        velocityY[carIndex] += acceleration.vector.getY();
+    }
+
+    /**
+     * Moves the car by its velocity.
+     *
+     * @param carIndex the index of the car.
+     */
+    void move(int carIndex) {
+        setPosition(carIndex, positionX[carIndex] + velocityX[carIndex], positionY[carIndex] + velocityY[carIndex]);
+    }
+
+    /**
+     * Marks the car as crashed at the given position.
+     *
+     * @param carIndex the index of the car.
+     * @param x        x-value of the crash position.
+     * @param y        y-value of the crash position.
+     */
+    void crash(int carIndex, int x, int y) {
+        if (!crashed[carIndex]) {
+            crashOrder[crashedCarCount++] = carIndex;
+        }
+        crashed[carIndex] = true;
+        setPosition(carIndex, x, y);
+    }
+
+    /**
+     * Sets the whole state of the car, e.g. to continue a recorded game from a keyframe of its replay.
+     * A crash can not be undone, so a crashed car can only be restored as crashed.
+     *
+     * @param carIndex  the index of the car.
+     * @param x         the x-value of the position.
+     * @param y         the y-value of the position.
+     * @param velocityX the x-value of the velocity.
+     * @param velocityY the y-value of the velocity.
+     * @param crashed   whether the car is crashed.
+     * @throws IllegalStateException if the car is crashed, but crashed is false.
+     * @see Track#restoreCar(int, int, int, int, int, boolean)
+     */
+    void restore(int carIndex, int x, int y, int velocityX, int velocityY, boolean crashed) {
+        if (this.crashed[carIndex] && !crashed) {
+            throw new IllegalStateException("A crashed car can not be restored as not crashed!");
+        }
+        this.velocityX[carIndex] = velocityX;
+        this.velocityY[carIndex] = velocityY;
+        if (crashed) {
+            crash(carIndex, x, y);
+        } else {
+            setPosition(carIndex, x, y);
+        }
+    }
+
+    /**
+     * Sets the position of the car, without changing its velocity.
+     *
+     * @param carIndex the index of the car.
+     * @param x        the new x-value.
+     * @param y        the new y-value.
+     */
+    void setPosition(int carIndex, int x, int y) {
+        positionX[carIndex] = x;
+        positionY[carIndex] = y;
+        positionListener.positionChanged(carIndex, x, y);
+    }
+}
@@ -0,0 +1,157 @@
+package ch.zhaw.pm2.racetrack.model;
+
+/**
+ * Read-only bit mask over the track grid, marking all positions of one kind, e.g. all walls.
+ *
+ * <p>Each row is stored as bitset in long values, so a horizontal range of positions is tested 64 positions
+ * at a time. A path is split into its horizontal runs the same way as the Bresenham algorithm steps
+ * along it, see {@link ch.zhaw.pm2.racetrack.utils.BresenhamAlgorithm}.</p>
+ * <p>Positions outside the grid are either all set or all not set, given at construction.
+ * The mask is created and filled by the {@link Track}.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class CollisionMask {
+
+    private final long[] bits;
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final boolean outsideSet;
+
+    /**
+     * Constructs an empty mask of the given size.
+     *
+     * @param width      width (number of columns) of the grid.
+     * @param height     height (number of rows) of the grid.
+     * @param outsideSet whether positions outside the grid are considered set.
+     */
+    CollisionMask(int width, int height, boolean outsideSet) {
+        this.width = width;
+        this.height = height;
+        this.outsideSet = outsideSet;
+        wordsPerRow = (width + 63) >>> 6;
+        bits = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Marks the given position, used by the {@link Track} to fill the mask.
+     */
+    void set(int x, int y) {
+        bits[y * wordsPerRow + (x >>> 6)] |= 1L << (x & 63);
+    }
+
+    /**
+     * Returns whether the given position is set.
+     *
+     * @param x x-value (column) of the position.
+     * @param y y-value (row) of the position.
+     * @return true if the position is set.
+     */
+    public boolean isSet(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return outsideSet;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    /**
+     * Returns whether any position between the given columns in the given row is set.
+     *
+     * @param y     y-value of the row.
+     * @param fromX x-value of one end of the range, inclusive.
+     * @param toX   x-value of the other end of the range, inclusive.
+     * @return true if at least one position in the range is set.
+     */
+    public boolean anySetInRow(int y, int fromX, int toX) {
+        int minX = Math.min(fromX, toX);
+        int maxX = Math.max(fromX, toX);
+        if (y < 0 || y >= height || minX < 0 || maxX >= width) {
+            if (outsideSet) {
+                return true;
+            }
+            if (y < 0 || y >= height || maxX < 0 || minX >= width) {
+                return false;
+            }
+            minX = Math.max(minX, 0);
+            maxX = Math.min(maxX, width - 1);
+        }
+
+        int rowStart = y * wordsPerRow;
+        int firstWord = minX >>> 6;
+        int lastWord = maxX >>> 6;
+        long firstMask = -1L << (minX & 63);
+        long lastMask = -1L >>> (63 - (maxX & 63));
+
+        if (firstWord == lastWord) {
+            return (bits[rowStart + firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[rowStart + firstWord] & firstMask) != 0 || (bits[rowStart + lastWord] & lastMask) != 0) {
+            return true;
+        }
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            if (bits[rowStart + word] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether any position on the path between the given points is set, including start and end.
+     * The path contains the same positions as calculated by the Bresenham algorithm.
+     *
+     * @param startX x-value of the starting point.
+     * @param startY y-value of the starting point.
+     * @param endX   x-value of the ending point.
+     * @param endY   y-value of the ending point.
+     * @return true if at least one position on the path is set.
+     */
+    public boolean anySetOnPath(int startX, int startY, int endX, int endY) {
+        int distanceX = Math.abs(endX - startX);
+        int distanceY = Math.abs(endY - startY);
+        int directionX = Integer.signum(endX - startX);
+        int directionY = Integer.signum(endY - startY);
+        int x = startX;
+        int y = startY;
+
+        if (distanceX <= distanceY) {
+            // y-axis is the 'fast' direction, so every row contains only one position
+            int error = distanceY / 2;
+            if (isSet(x, y)) {
+                return true;
+            }
+            for (int step = 0; step < distanceY; step++) {
+                error -= distanceX;
+                if (error < 0) {
+                    error += distanceY;
+                    x += directionX;
+                }
+                y += directionY;
+                if (isSet(x, y)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // x-axis is the 'fast' direction: test the run of parallel steps in each row at once
+        int error = distanceX / 2;
+        int remainingSteps = distanceX;
+        while (true) {
+            // number of steps until the error gets negative, the last of them is a diagonal step
+            int stepsToDiagonal = distanceY == 0 ? Integer.MAX_VALUE : error / distanceY + 1;
+            if (stepsToDiagonal > remainingSteps) {
+                return anySetInRow(y, x, x + directionX * remainingSteps);
+            }
+            if (anySetInRow(y, x, x + directionX * (stepsToDiagonal - 1))) {
+                return true;
+            }
+            x += directionX * stepsToDiagonal;
+            y += directionY;
+            error += distanceX - stepsToDiagonal * distanceY;
+            remainingSteps -= stepsToDiagonal;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a track file in the compiled format of the {@link TrackCompiler}.
+ *
+ * <p>The cells of the file are stored exactly like the grid of the {@link Track}, so they are read
+ * with a single bulk read into the grid. The size of the file is checked against the header before the grid
+ * is allocated and the checksum is verified, so a damaged file is rejected with an
+ * {@link InvalidFileFormatException}.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+final class CompiledTrackReader implements TrackData {
+    private static final int SPACE_TYPE_COUNT = SpaceType.values().length;
+
+    private final byte[] grid;
+    private final int width;
+    private final int height;
+    private final List<Car> cars = new ArrayList<>();
+
+    /**
+     * Reads the given compiled track file.
+     *
+     * @param trackFile the compiled track file.
+     * @throws IOException                if the file can not be read.
+     * @throws InvalidFileFormatException if the file is no compiled track of this version or it is damaged.
+     */
+    CompiledTrackReader(File trackFile) throws IOException, InvalidFileFormatException {
+        try (FileChannel channel = FileChannel.open(trackFile.toPath(), StandardOpenOption.READ)) {
+            CRC32 checksum = new CRC32();
+            ByteBuffer header = read(channel, TrackCompiler.HEADER_SIZE);
+            if (header.getInt() != TrackCompiler.MAGIC) {
+                throw new InvalidFileFormatException("File is not a compiled track!");
+            }
+            if (header.get() != TrackCompiler.VERSION) {
+                throw new InvalidFileFormatException("Unsupported version of the compiled track!");
+            }
+            width = header.getInt();
+            height = header.getInt();
+            int carCount = header.getInt();
+            long cellCount = (long) width * height;
+            if (width <= 0 || height <= 0 || carCount < 0 || cellCount > Integer.MAX_VALUE
+                    || (long) carCount * TrackCompiler.CAR_SIZE > Integer.MAX_VALUE
+                    || channel.size() != TrackCompiler.HEADER_SIZE + (long) carCount * TrackCompiler.CAR_SIZE
+                    + cellCount + TrackCompiler.CHECKSUM_SIZE) {
+                throw new InvalidFileFormatException("The size of the compiled track does not match its header!");
+            }
+            checksum.update(header.flip());
+
+            ByteBuffer carData = read(channel, carCount * TrackCompiler.CAR_SIZE);
+            for (int carIndex = 0; carIndex < carCount; carIndex++) {
+                cars.add(new Car(carData.getChar(), new PositionVector(carData.getInt(), carData.getInt())));
+            }
+            checksum.update(carData.flip());
+
+            grid = new byte[(int) cellCount];
+            ByteBuffer gridBuffer = ByteBuffer.wrap(grid);
+            while (gridBuffer.hasRemaining()) {
+                if (channel.read(gridBuffer) < 0) {
+                    throw new InvalidFileFormatException("The compiled track is incomplete!");
+                }
+            }
+            checksum.update(grid);
+
+            if (read(channel, TrackCompiler.CHECKSUM_SIZE).getInt() != (int) checksum.getValue()) {
+                throw new InvalidFileFormatException("The checksum of the compiled track does not match!");
+            }
+        }
+        checkContent();
+    }
+
+    /**
+     * Reads the given number of bytes into a new buffer, which is ready to be read from.
+     */
+    private static ByteBuffer read(FileChannel channel, int size) throws IOException, InvalidFileFormatException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new InvalidFileFormatException("The compiled track is incomplete!");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Checks the values, which a valid checksum does not guarantee for a file written by another program.
+     */
+    private void checkContent() throws InvalidFileFormatException {
+        for (byte ordinal : grid) {
+            if (ordinal < 0 || ordinal >= SPACE_TYPE_COUNT) {
+                throw new InvalidFileFormatException("The compiled track contains an invalid space type!");
+            }
+        }
+        for (Car car : cars) {
+            PositionVector position = car.getCurrentPosition();
+            if (position.getX() < 0 || position.getX() >= width || position.getY() < 0 || position.getY() >= height) {
+                throw new InvalidFileFormatException("A car of the compiled track is outside the track!");
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given file starts with the magic number of a compiled track.
+     *
+     * @param trackFile the track file.
+     * @return true if the file is a compiled track, false if it is a text track or shorter than the magic number.
+     * @throws IOException if the file can not be read.
+     */
+    static boolean isCompiledTrack(File trackFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(trackFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.flip().getInt() == TrackCompiler.MAGIC;
+        }
+    }
+
+    @Override
+    public byte[] getGrid() {
+        return grid;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public List<Car> getCars() {
+        return cars;
+    }
+}
@@ -0,0 +1,226 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a track file for the {@link Track} directly into its grid, without creating a String per line.
+ *
+ * <p>The file is mapped into memory and its UTF-8 bytes are decoded and stored as {@link SpaceType} ordinals
+ * in a single pass. Only the first track line is scanned beforehand to get the width, which limits the number
+ * of rows the file can contain, so the grid is allocated once.</p>
+ * <p>The lines are handled like {@link ch.zhaw.pm2.racetrack.utils.Reader#readFile(File)} does:
+ * lines end with '\n', '\r' or "\r\n" and blank lines are skipped anywhere in the file.
+ * If a track line has a different length, the same {@link InvalidFileFormatException} is thrown.
+ * The cars are only collected, they are checked by the {@link Track}.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+final class MappedTrackReader implements TrackData {
+    private static final byte CAR = -1;
+    private static final byte TRACK_ORDINAL = (byte) SpaceType.TRACK.ordinal();
+    private static final byte[] ASCII_ORDINALS = new byte[128];
+    private static final int END_OF_FILE = -1;
+
+    static {
+        Arrays.fill(ASCII_ORDINALS, CAR);
+        for (SpaceType spaceType : SpaceType.values()) {
+            ASCII_ORDINALS[spaceType.getSpaceChar()] = (byte) spaceType.ordinal();
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final List<Car> cars = new ArrayList<>();
+    private int pendingLowSurrogate = END_OF_FILE;
+    private byte[] grid;
+    private int width;
+    private int height;
+
+    /**
+     * Reads the given track file.
+     *
+     * @param trackFile the track file.
+     * @throws IOException                if the file can not be read or is not valid UTF-8.
+     * @throws InvalidFileFormatException if the file contains no track lines or the track lines have different lengths.
+     */
+    MappedTrackReader(File trackFile) throws IOException, InvalidFileFormatException {
+        try (FileChannel channel = FileChannel.open(trackFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The track file is too large!");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        readGrid();
+    }
+
+    @Override
+    public byte[] getGrid() {
+        return grid;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public List<Car> getCars() {
+        return cars;
+    }
+
+    private void readGrid() throws IOException, InvalidFileFormatException {
+        int firstLineStart = findFirstTrackLine();
+        if (firstLineStart == END_OF_FILE) {
+            throw new InvalidFileFormatException("File is empty!");
+        }
+        // every track line needs at least width bytes and a line break, except the last one
+        long maxRows = (buffer.limit() - firstLineStart + 1L) / (width + 1L);
+        if (maxRows * width > Integer.MAX_VALUE) {
+            throw new IOException("The track file is too large!");
+        }
+        grid = new byte[(int) (maxRows * width)];
+        buffer.position(firstLineStart);
+
+        int column = 0;
+        boolean blank = true;
+        int carCountAtLineStart = 0;
+        while (true) {
+            int symbol = nextChar();
+            if (symbol == END_OF_FILE || isLineBreak(symbol)) {
+                if (blank) {
+                    cars.subList(carCountAtLineStart, cars.size()).clear();
+                } else if (column != width) {
+                    throw new InvalidFileFormatException("Not all track lines have the same length!");
+                } else {
+                    height++;
+                }
+                if (symbol == END_OF_FILE) {
+                    break;
+                }
+                column = 0;
+                blank = true;
+                carCountAtLineStart = cars.size();
+            } else {
+                if (column < width && height < maxRows) {
+                    byte ordinal = symbol < ASCII_ORDINALS.length ? ASCII_ORDINALS[symbol] : CAR;
+                    if (ordinal == CAR) {
+                        cars.add(new Car((char) symbol, new PositionVector(column, height)));
+                        ordinal = TRACK_ORDINAL;
+                    }
+                    grid[height * width + column] = ordinal;
+                }
+                blank &= Character.isWhitespace(symbol);
+                column++;
+            }
+        }
+
+        if (grid.length != height * width) {
+            grid = Arrays.copyOf(grid, height * width);
+        }
+    }
+
+    /**
+     * Sets the width to the length of the first line, which is not blank, and returns the position where it starts.
+     */
+    private int findFirstTrackLine() throws IOException {
+        int lineStart = buffer.position();
+        int length = 0;
+        boolean blank = true;
+        while (true) {
+            int symbol = nextChar();
+            if (symbol == END_OF_FILE || isLineBreak(symbol)) {
+                if (!blank) {
+                    width = length;
+                    return lineStart;
+                }
+                if (symbol == END_OF_FILE) {
+                    return END_OF_FILE;
+                }
+                lineStart = buffer.position();
+                length = 0;
+            } else {
+                blank &= Character.isWhitespace(symbol);
+                length++;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the symbol ends a line, a "\r\n" is consumed as a single line break.
+     */
+    private boolean isLineBreak(int symbol) {
+        if (symbol == '\r' && buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+            buffer.get();
+        }
+        return symbol == '\n' || symbol == '\r';
+    }
+
+    /**
+     * Decodes the next UTF-8 character, characters outside the basic multilingual plane are returned
+     * as two surrogate chars like in a String.
+     */
+    private int nextChar() throws IOException {
+        if (pendingLowSurrogate != END_OF_FILE) {
+            int lowSurrogate = pendingLowSurrogate;
+            pendingLowSurrogate = END_OF_FILE;
+            return lowSurrogate;
+        }
+        if (!buffer.hasRemaining()) {
+            return END_OF_FILE;
+        }
+        int first = buffer.get() & 0xFF;
+        if (first < 0x80) {
+            return first;
+        }
+        int continuationBytes;
+        int codePoint;
+        if (first >= 0xC2 && first < 0xE0) {
+            continuationBytes = 1;
+            codePoint = first & 0x1F;
+        } else if (first >= 0xE0 && first < 0xF0) {
+            continuationBytes = 2;
+            codePoint = first & 0x0F;
+        } else if (first >= 0xF0 && first < 0xF5) {
+            continuationBytes = 3;
+            codePoint = first & 0x07;
+        } else {
+            throw new MalformedInputException(1);
+        }
+        for (int i = 0; i < continuationBytes; i++) {
+            if (!buffer.hasRemaining()) {
+                throw new MalformedInputException(i + 1);
+            }
+            int next = buffer.get() & 0xFF;
+            if ((next & 0xC0) != 0x80) {
+                throw new MalformedInputException(i + 1);
+            }
+            codePoint = codePoint << 6 | next & 0x3F;
+        }
+        if (continuationBytes == 2 && (codePoint < 0x800 || Character.isSurrogate((char) codePoint))
+                || continuationBytes == 3 && (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT)) {
+            throw new MalformedInputException(continuationBytes + 1);
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            pendingLowSurrogate = Character.lowSurrogate(codePoint);
+            return Character.highSurrogate(codePoint);
+        }
+        return codePoint;
+    }
+}
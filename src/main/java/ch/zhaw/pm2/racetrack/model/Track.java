@@ -4,16 +4,11 @@ import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
 import ch.zhaw.pm2.racetrack.given.PositionVector;
 import ch.zhaw.pm2.racetrack.given.SpaceType;
 import ch.zhaw.pm2.racetrack.given.TrackSpecification;
-import ch.zhaw.pm2.racetrack.utils.Reader;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 
 /**
  * This class represents the racetrack board.
@@ -23,7 +18,9 @@ import java.util.Set;
  * <p>Positions on the track grid are specified using {@link PositionVector} objects. These are vectors containing an
  * x/y coordinate pair, pointing from the zero-point (top-left) to the addressed space in the grid.</p>
  *
- * <p>Each position in the grid represents a space which can hold an enum object of type {@link SpaceType}.<br>
+ * <p>Each position in the grid represents a space which can hold an enum object of type {@link SpaceType}.
+ * The grid is stored row by row in a single byte array, holding the ordinal of the {@link SpaceType}
+ * for each position.<br>
  * Possible Space types are:
  * <ul>
  *  <li>WALL : road boundary or off track space</li>
@@ -31,9 +28,17 @@ import java.util.Set;
  *  <li>FINISH_LEFT, FINISH_RIGHT, FINISH_UP, FINISH_DOWN :  finish line spaces which have to be crossed
  *      in the indicated direction to winn the race.</li>
  * </ul>
- * <p>Beside the board the track contains the list of cars, with their current state (position, velocity, crashed,...)</p>
+ * <p>Additionally the positions of the walls and of each finish line direction are stored in a
+ * {@link CollisionMask}, to check a whole path at once.</p>
+ * <p>Beside the board the track contains the list of cars, with their current state (position, velocity, crashed,...)
+ * and an index of the cars by their position, which is updated whenever a car moves or crashes.</p>
  *
- * <p>At initialization the track grid data is read from the given track file. The track data must be a
+ * <p>The board and the start positions of the cars are read once into a {@link TrackTemplate}, which can be shared
+ * by the tracks of several games, e.g. through a {@link TrackCache}. Each track creates its own cars.</p>
+ * <p>At initialization the track grid data is read from the given track file by a {@link MappedTrackReader},
+ * which decodes the memory mapped file directly into the grid. A track file compiled by the {@link TrackCompiler}
+ * is recognized by its first bytes and read by a {@link CompiledTrackReader} with a single bulk read instead.</p>
+ * <p>The track data of a text file must be a
  * rectangular block of text. Empty lines at the start are ignored. Processing stops at the first empty line
  * following a non-empty line, or at the end of the file.</p>
  * <p>Characters in the line represent SpaceTypes. The mapping of the Characters is as follows:</p>
@@ -46,7 +51,8 @@ import java.util.Set;
  *   <li>FINISH_DOWN: 'v'</li>
  *   <li>Any other character indicates the starting position of a car.<br>
  *       The character acts as the id for the car and must be unique.<br>
- *       There are 1 to {@link TrackSpecification#MAX_CARS} allowed. </li>
+ *       There are 1 to {@link TrackSpecification#MAX_CARS} allowed,
+ *       or up to {@link TrackTemplate#MAX_SWARM_CARS} for a template in swarm mode. </li>
  * </ul>
  *
  * <p>All lines must have the same length, used to initialize the grid width.<br/>
@@ -70,71 +76,74 @@ public class Track implements TrackSpecification {
 
     public static final char CRASH_INDICATOR = 'X';
 
-    private final SpaceType[][] grid;
+    private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+    private static final int WALL_ORDINAL = SpaceType.WALL.ordinal();
+
+    private final TrackTemplate template;
+    private final byte[] grid;
+    private final int width;
+    private final int height;
+    private final CarStateStore carStateStore;
     private final List<Car> cars;
+    private final CarOccupancy carOccupancy;
 
     /**
      * Initialize a Track from the given track file.<br/>
      * See class description for structure and valid tracks.
      *
-     * @param trackFile Reference to a file containing the track data
+     * @param trackFile Reference to a file containing the track data, as text or compiled by the {@link TrackCompiler}
      * @throws IOException                if the track file can not be opened or reading fails
      * @throws InvalidFileFormatException if the track file contains invalid data (no track lines, inconsistent length, no cars)
+     *                                    or a compiled track file is damaged
      * @throws NullPointerException       if trackFile is null.
      */
     public Track(File trackFile) throws IOException, InvalidFileFormatException {
-        Objects.requireNonNull(trackFile, "The trackFile may not be null");
-        String[] lines = Reader.readFile(trackFile);
-        checkLineConditions(lines);
-
-        int height = lines.length;
-        int width = lines[0].length();
-        grid = new SpaceType[height][width];
-        cars = new ArrayList<>();
-
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                char symbol = lines[i].charAt(j);
-                Optional<SpaceType> spaceTypeOptional = SpaceType.spaceTypeForChar(symbol);
-
-                if (spaceTypeOptional.isPresent()) {
-                    grid[i][j] = spaceTypeOptional.get();
-                } else {
-                    cars.add(new Car(symbol, new PositionVector(j, i)));
-                    grid[i][j] = SpaceType.TRACK;
-                }
-            }
-        }
-        checkCarConditions();
+        this(new TrackTemplate(trackFile));
     }
 
-    private void checkLineConditions(String[] lines) throws InvalidFileFormatException {
-        Objects.requireNonNull(lines, "lines may not be null");
-        if (lines.length == 0) {
-            throw new InvalidFileFormatException("File is empty!");
-        }
-        int length = lines[0].length();
-        for (int i = 1; i < lines.length; i++) {
-            if (lines[i].length() != length) {
-                throw new InvalidFileFormatException("Not all track lines have the same length!");
-            }
+    /**
+     * Initialize a Track from an already read track, with all cars at their start positions.
+     * The grid and collision masks are shared with the template, only the cars are created.
+     *
+     * @param template the track read from a track file, e.g. from a {@link TrackCache}.
+     * @throws NullPointerException if template is null.
+     */
+    public Track(TrackTemplate template) {
+        this.template = Objects.requireNonNull(template, "The template may not be null");
+        height = template.getHeight();
+        width = template.getWidth();
+        grid = template.getGrid();
+        carStateStore = template.createCarStateStore();
+
+        int carCount = carStateStore.getCarCount();
+        Car[] carViews = new Car[carCount];
+        carOccupancy = new CarOccupancy(carCount);
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            carViews[carIndex] = new Car(carStateStore, carIndex);
+            carOccupancy.moveCar(carIndex, getCell(carStateStore.getPositionX(carIndex), carStateStore.getPositionY(carIndex)));
         }
+        cars = List.of(carViews);
+        carStateStore.setPositionListener((carIndex, x, y) -> carOccupancy.moveCar(carIndex, getCell(x, y)));
     }
 
-    private void checkCarConditions() throws InvalidFileFormatException {
-        if (cars.isEmpty()) {
-            throw new InvalidFileFormatException("File contains no cars!");
-        }
-        if (cars.size() > TrackSpecification.MAX_CARS) {
-            throw new InvalidFileFormatException("File contains too many cars (max: " + TrackSpecification.MAX_CARS + ")!");
-        }
-        Set<Character> ids = new HashSet<>();
-        for (Car car : cars) {
-            if (ids.contains(car.getId())) {
-                throw new InvalidFileFormatException("Car ids must be unique!");
-            }
-            ids.add(car.getId());
-        }
+    /**
+     * Return the state of all cars in primitive arrays, to access many cars without creating objects.
+     * The cars of {@link #getCar(int)} are views on it.
+     *
+     * @return The state of the cars of the track
+     */
+    public CarStateStore getCarStateStore() {
+        return carStateStore;
+    }
+
+    /**
+     * Return the template this track was created from, which holds the data shared with other tracks
+     * of the same file.
+     *
+     * @return The template of the track
+     */
+    public TrackTemplate getTemplate() {
+        return template;
     }
 
     /**
@@ -143,7 +152,7 @@ public class Track implements TrackSpecification {
      * @return Height of the track grid
      */
     public int getHeight() {
-        return grid.length;
+        return height;
     }
 
     /**
@@ -152,7 +161,7 @@ public class Track implements TrackSpecification {
      * @return Width of the track grid
      */
     public int getWidth() {
-        return grid[0].length;
+        return width;
     }
 
     /**
@@ -179,6 +188,36 @@ public class Track implements TrackSpecification {
         return cars.get(carIndex);
     }
 
+    /**
+     * Sets the whole state of a car, e.g. to continue a recorded game from a keyframe of its replay.
+     * A crash can not be undone, so a crashed car can only be restored as crashed.
+     *
+     * @param carIndex  The zero-based carIndex number
+     * @param x         The x-value of the position
+     * @param y         The y-value of the position
+     * @param velocityX The x-value of the velocity
+     * @param velocityY The y-value of the velocity
+     * @param crashed   Whether the car is crashed
+     * @throws IllegalArgumentException if the car index is invalid
+     * @throws IllegalStateException    if the car is crashed, but crashed is false
+     */
+    public void restoreCar(int carIndex, int x, int y, int velocityX, int velocityY, boolean crashed) {
+        if (carIndex < 0 || carIndex >= cars.size()) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+        carStateStore.restore(carIndex, x, y, velocityX, velocityY, crashed);
+    }
+
+    /**
+     * Return the grid, row by row with the ordinal of the {@link SpaceType} for each position.
+     * Used by the {@link TrackCompiler} to write it as a whole, it must not be changed.
+     *
+     * @return The grid of the track, not copied
+     */
+    byte[] getGrid() {
+        return grid;
+    }
+
     /**
      * Return the type of space at the given position.
      * If the location is outside the track bounds, it is considered a WALL.
@@ -190,15 +229,87 @@ public class Track implements TrackSpecification {
     @Override
     public SpaceType getSpaceTypeAtPosition(PositionVector position) {
         Objects.requireNonNull(position, "Parameter position may not be null!");
-        int x = position.getX();
-        int y = position.getY();
+        return getSpaceTypeAt(position.getX(), position.getY());
+    }
 
+    /**
+     * Return the type of space at the given coordinates, without the need of a {@link PositionVector}.
+     * If the location is outside the track bounds, it is considered a WALL.
+     *
+     * @param x x-value (column) of the position to examine
+     * @param y y-value (row) of the position to examine
+     * @return The type of track position at the given location
+     */
+    public SpaceType getSpaceTypeAt(int x, int y) {
+        return SPACE_TYPES[getSpaceTypeOrdinal(x, y)];
+    }
+
+    /**
+     * Return the ordinal of the type of space at the given coordinates, see {@link SpaceType#ordinal()}.
+     * If the location is outside the track bounds, it is considered a WALL.
+     *
+     * @param x x-value (column) of the position to examine
+     * @param y y-value (row) of the position to examine
+     * @return The ordinal of the type of track position at the given location
+     */
+    public int getSpaceTypeOrdinal(int x, int y) {
         // Given position is outside the grid and thus a wall
-        if (x < 0 || x >= grid[0].length || y < 0 || y >= grid.length) {
-            return SpaceType.WALL;
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return WALL_ORDINAL;
+        }
+
+        return grid[y * width + x];
+    }
+
+    /**
+     * Return the mask of all positions of the given space type. For WALL, positions outside the track bounds
+     * are set as well, for the finish line types they are not.
+     *
+     * @param spaceType WALL or one of the FINISH_* space types.
+     * @return The read-only mask of the given space type.
+     * @throws NullPointerException     if spaceType is null.
+     * @throws IllegalArgumentException if spaceType is TRACK.
+     */
+    public CollisionMask getCollisionMask(SpaceType spaceType) {
+        return template.getCollisionMask(spaceType);
+    }
+
+    /**
+     * Return the mask of all finish line positions, regardless of their direction.
+     *
+     * @return The read-only mask of all finish line positions.
+     */
+    public CollisionMask getFinishLineMask() {
+        return template.getFinishLineMask();
+    }
+
+    /**
+     * Return whether a car, which is not crashed, is at the given position.
+     *
+     * @param x               x-value (column) of the position to examine
+     * @param y               y-value (row) of the position to examine
+     * @param excludedCarIndex index of a car which is not considered, e.g. the car which is moving
+     * @return true if another car which is not crashed is at the given position
+     */
+    public boolean isActiveCarAt(int x, int y, int excludedCarIndex) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        int carIndex = carOccupancy.getFirstCar(y * width + x);
+        while (carIndex != -1) {
+            if (carIndex != excludedCarIndex && !carStateStore.isCrashed(carIndex)) {
+                return true;
+            }
+            carIndex = carOccupancy.getNextCar(carIndex);
         }
+        return false;
+    }
 
-        return grid[y][x];
+    private int getCell(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return CarOccupancy.NO_CELL;
+        }
+        return y * width + x;
     }
 
     /**
@@ -212,20 +323,22 @@ public class Track implements TrackSpecification {
      * @param col column (x-value) of the racetrack position
      * @return character representing the position (col,row) on the track
      * or {@link Car#getId()} resp. {@link #CRASH_INDICATOR}, if a car is at the given position
+     * @throws IllegalArgumentException if the position is outside the track bounds.
      */
     @Override
     public char getCharRepresentationAtPosition(int row, int col) {
-        for (Car car : cars) {
-            PositionVector positionVector = new PositionVector(col, row);
-            if (positionVector.equals(car.getCurrentPosition())) {
-                if (car.isCrashed()) {
-                    return CRASH_INDICATOR;
-                } else {
-                    return car.getId();
-                }
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new IllegalArgumentException("Invalid position!");
+        }
+        int carIndex = carOccupancy.getFirstCar(row * width + col);
+        if (carIndex != -1) {
+            if (carStateStore.isCrashed(carIndex)) {
+                return CRASH_INDICATOR;
+            } else {
+                return carStateStore.getId(carIndex);
             }
         }
-        return grid[row][col].getSpaceChar();
+        return SPACE_TYPES[grid[row * width + col]].getSpaceChar();
     }
 
     /**
@@ -235,7 +348,7 @@ public class Track implements TrackSpecification {
      */
     @Override
     public String toString() {
-        StringBuilder stringBuilder = new StringBuilder();
+        StringBuilder stringBuilder = new StringBuilder((width + 1) * height);
         for (int i = 0; i < getHeight(); i++) {
             for (int j = 0; j < getWidth(); j++) {
                 stringBuilder.append(getCharRepresentationAtPosition(i, j));
@@ -0,0 +1,125 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of the {@link TrackTemplate}s of the track files used in a session, so a new game on the same track
+ * does not read the file again.
+ *
+ * <p>A template is found by the canonical path of its file, together with the size and last modification time
+ * of the file, so a changed file is read again. The cache holds at most the given number of templates,
+ * when it is full the least recently used one is removed. With the templates their derived data is removed,
+ * see {@link TrackTemplate#getDerivedData}.</p>
+ * <p>The cache can be used by several threads, a file is read by only one thread at a time.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class TrackCache {
+    /**
+     * Number of templates kept, used if none is given.
+     */
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final Map<CacheKey, TrackTemplate> templates;
+
+    /**
+     * Constructs a new empty TrackCache.
+     *
+     * @param capacity the maximum number of templates kept.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public TrackCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+        templates = new LinkedHashMap<>(capacity + 1, 1, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, TrackTemplate> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the template of the given track file, read from the file if it is not cached
+     * or the file changed since it was read.
+     *
+     * @param trackFile Reference to a file containing the track data, see {@link Track}.
+     * @return the template of the track file.
+     * @throws IOException                if the track file can not be opened or reading fails
+     * @throws InvalidFileFormatException if the track file contains invalid data
+     * @throws NullPointerException       if trackFile is null.
+     */
+    public synchronized TrackTemplate getTemplate(File trackFile) throws IOException, InvalidFileFormatException {
+        Objects.requireNonNull(trackFile, "The trackFile may not be null");
+        BasicFileAttributes attributes = Files.readAttributes(trackFile.toPath(), BasicFileAttributes.class);
+        CacheKey key = new CacheKey(trackFile.getCanonicalPath(), attributes.size(), attributes.lastModifiedTime().toMillis());
+        TrackTemplate template = templates.get(key);
+        if (template == null) {
+            // a changed file is not requested with its old key anymore
+            templates.keySet().removeIf(cachedKey -> cachedKey.path.equals(key.path));
+            template = new TrackTemplate(trackFile);
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Returns a new track of the given track file, with all cars at their start positions.
+     *
+     * @param trackFile Reference to a file containing the track data, see {@link Track}.
+     * @return a new track from the cached template.
+     * @throws IOException                if the track file can not be opened or reading fails
+     * @throws InvalidFileFormatException if the track file contains invalid data
+     * @throws NullPointerException       if trackFile is null.
+     */
+    public Track createTrack(File trackFile) throws IOException, InvalidFileFormatException {
+        return new Track(getTemplate(trackFile));
+    }
+
+    /**
+     * Returns the number of cached templates.
+     *
+     * @return the number of templates.
+     */
+    public synchronized int size() {
+        return templates.size();
+    }
+
+    private static class CacheKey {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+
+        CacheKey(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CacheKey otherKey)) {
+                return false;
+            }
+            return size == otherKey.size && lastModified == otherKey.lastModified && path.equals(otherKey.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModified);
+        }
+    }
+}
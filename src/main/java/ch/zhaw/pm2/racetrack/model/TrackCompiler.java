@@ -0,0 +1,104 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.utils.Reader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Converts track files into the compiled track format, which a {@link Track} loads without decoding any characters.
+ *
+ * <p>A compiled track file contains, all numbers in big-endian byte order:</p>
+ * <ul>
+ *   <li>the magic number {@link #MAGIC} ("RTRK") and the format {@link #VERSION} as byte</li>
+ *   <li>the width, the height and the number of cars as int</li>
+ *   <li>for each car its id as char and the x and y value of its start position as int</li>
+ *   <li>the cells row by row, one byte with the ordinal of the {@link SpaceType} per position,
+ *       exactly as the {@link Track} stores its grid</li>
+ *   <li>the CRC-32 checksum of all bytes before as int</li>
+ * </ul>
+ * <p>A text track can never start with the magic number, as it would contain the car 'R' twice,
+ * so the {@link Track} can tell both formats apart by the first bytes.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class TrackCompiler {
+    /**
+     * The first four bytes of a compiled track file, "RTRK" in ASCII.
+     */
+    public static final int MAGIC = 0x5254524B;
+    public static final byte VERSION = 1;
+    public static final String FILE_EXTENSION = ".rtrack";
+
+    static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + 3 * Integer.BYTES;
+    static final int CAR_SIZE = Character.BYTES + 2 * Integer.BYTES;
+    static final int CHECKSUM_SIZE = Integer.BYTES;
+
+    private TrackCompiler() {
+    }
+
+    /**
+     * Reads the given track file and writes it as compiled track.
+     *
+     * @param trackFile    the track file to convert, in text or compiled format.
+     * @param compiledFile the compiled track file to write.
+     * @throws IOException                if the track file can not be read or the compiled file can not be written.
+     * @throws InvalidFileFormatException if the track file contains invalid data, see {@link Track}.
+     * @throws NullPointerException       if a file is null.
+     */
+    public static void compile(File trackFile, File compiledFile) throws IOException, InvalidFileFormatException {
+        write(new Track(trackFile), compiledFile);
+    }
+
+    /**
+     * Writes the given track as compiled track, with the current positions of the cars as start positions.
+     *
+     * @param track        the track to write.
+     * @param compiledFile the compiled track file to write.
+     * @throws IOException          if the compiled file can not be written.
+     * @throws NullPointerException if track or compiledFile is null.
+     */
+    public static void write(Track track, File compiledFile) throws IOException {
+        Objects.requireNonNull(track, "The track may not be null");
+        Objects.requireNonNull(compiledFile, "The compiledFile may not be null");
+        CheckedOutputStream checkedStream = new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(compiledFile.toPath())), new CRC32());
+        try (DataOutputStream output = new DataOutputStream(checkedStream)) {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            output.writeInt(track.getWidth());
+            output.writeInt(track.getHeight());
+            output.writeInt(track.getCarCount());
+            for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+                Car car = track.getCar(carIndex);
+                PositionVector position = car.getCurrentPosition();
+                output.writeChar(car.getId());
+                output.writeInt(position.getX());
+                output.writeInt(position.getY());
+            }
+            output.write(track.getGrid());
+            output.writeInt((int) checkedStream.getChecksum().getValue());
+        }
+    }
+
+    /**
+     * Returns the name of the compiled file for a track file, its name with {@link #FILE_EXTENSION}
+     * instead of the extension {@link Reader#TRACK_FILE_EXTENSION}.
+     *
+     * @param trackFile the track file.
+     * @return the compiled file in the same directory.
+     */
+    public static File getCompiledFile(File trackFile) {
+        return Reader.getDerivedFile(trackFile, FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,33 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+
+import java.util.List;
+
+/**
+ * The data of a track file, as read by {@link MappedTrackReader} from a text file
+ * or by {@link CompiledTrackReader} from a compiled track file.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+interface TrackData {
+
+    /**
+     * Returns the grid, row by row with the ordinal of the {@link SpaceType} for each position.
+     *
+     * @return the grid, which is not copied.
+     */
+    byte[] getGrid();
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * Returns the cars at their start positions, not yet checked for their count and unique ids.
+     *
+     * @return the cars in the order of the file.
+     */
+    List<Car> getCars();
+}
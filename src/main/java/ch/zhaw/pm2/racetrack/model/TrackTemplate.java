@@ -0,0 +1,293 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.given.TrackSpecification;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * The immutable part of a track read from a track file: the grid, its {@link CollisionMask}s
+ * and the ids and start positions of the cars.
+ *
+ * <p>A template is read once and can be shared by any number of {@link Track}s, e.g. of games
+ * which are played one after the other or in parallel. Each track only creates its own cars,
+ * so a new game on a template does not read the file again.</p>
+ * <p>In swarm mode, a track may contain far more cars than {@link TrackSpecification#MAX_CARS}.
+ * Their state is kept in a {@link CarStateStore}, so even thousands of cars create no garbage while moving.</p>
+ * <p>Data which strategies derive from the track alone, without the cars, can be stored with the template
+ * by {@link #getDerivedData(Class, Function)}, so it is computed once per template as well.</p>
+ * <p>See {@link Track} for the format of the track file and the checks of its content.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class TrackTemplate {
+    /**
+     * Maximum number of cars in swarm mode. Every char except the space characters can be the id of a car.
+     */
+    public static final int MAX_SWARM_CARS = Character.MAX_VALUE + 1 - SpaceType.values().length;
+
+    private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+    private static final int WALL_ORDINAL = SpaceType.WALL.ordinal();
+
+    private final byte[] grid;
+    private final int width;
+    private final int height;
+    private final char[] carIds;
+    private final PositionVector[] carStartPositions;
+    private final CollisionMask[] collisionMasks;
+    private final CollisionMask finishLineMask;
+    private final boolean swarmMode;
+    private final Map<Class<?>, Object> derivedData = new ConcurrentHashMap<>();
+
+    /**
+     * Reads a track template from the given track file, as text or compiled by the {@link TrackCompiler}.
+     *
+     * @param trackFile Reference to a file containing the track data
+     * @throws IOException                if the track file can not be opened or reading fails
+     * @throws InvalidFileFormatException if the track file contains invalid data, see {@link Track}
+     * @throws NullPointerException       if trackFile is null.
+     */
+    public TrackTemplate(File trackFile) throws IOException, InvalidFileFormatException {
+        this(trackFile, false);
+    }
+
+    /**
+     * Reads a track template from the given track file, optionally in swarm mode.
+     * In swarm mode the file may contain up to {@link #MAX_SWARM_CARS} cars instead of
+     * {@link TrackSpecification#MAX_CARS}, e.g. to simulate thousands of cars on a track.
+     *
+     * @param trackFile Reference to a file containing the track data
+     * @param swarmMode whether more than {@link TrackSpecification#MAX_CARS} cars are allowed
+     * @throws IOException                if the track file can not be opened or reading fails
+     * @throws InvalidFileFormatException if the track file contains invalid data, see {@link Track}
+     * @throws NullPointerException       if trackFile is null.
+     */
+    public TrackTemplate(File trackFile, boolean swarmMode) throws IOException, InvalidFileFormatException {
+        Objects.requireNonNull(trackFile, "The trackFile may not be null");
+        this.swarmMode = swarmMode;
+        TrackData trackData = CompiledTrackReader.isCompiledTrack(trackFile)
+                ? new CompiledTrackReader(trackFile) : new MappedTrackReader(trackFile);
+
+        height = trackData.getHeight();
+        width = trackData.getWidth();
+        grid = trackData.getGrid();
+        List<Car> cars = trackData.getCars();
+        checkCarConditions(cars, swarmMode ? MAX_SWARM_CARS : TrackSpecification.MAX_CARS);
+        carIds = new char[cars.size()];
+        carStartPositions = new PositionVector[cars.size()];
+        for (int carIndex = 0; carIndex < cars.size(); carIndex++) {
+            carIds[carIndex] = cars.get(carIndex).getId();
+            carStartPositions[carIndex] = cars.get(carIndex).getCurrentPosition();
+        }
+
+        collisionMasks = new CollisionMask[SPACE_TYPES.length];
+        finishLineMask = new CollisionMask(width, height, false);
+        fillCollisionMasks();
+    }
+
+    private void fillCollisionMasks() {
+        for (SpaceType spaceType : SPACE_TYPES) {
+            if (spaceType != SpaceType.TRACK) {
+                collisionMasks[spaceType.ordinal()] = new CollisionMask(width, height, spaceType == SpaceType.WALL);
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int ordinal = grid[y * width + x];
+                if (collisionMasks[ordinal] != null) {
+                    collisionMasks[ordinal].set(x, y);
+                }
+                if (ordinal != WALL_ORDINAL && collisionMasks[ordinal] != null) {
+                    finishLineMask.set(x, y);
+                }
+            }
+        }
+    }
+
+    private static void checkCarConditions(List<Car> cars, int maxCars) throws InvalidFileFormatException {
+        if (cars.isEmpty()) {
+            throw new InvalidFileFormatException("File contains no cars!");
+        }
+        if (cars.size() > maxCars) {
+            throw new InvalidFileFormatException("File contains too many cars (max: " + maxCars + ")!");
+        }
+        Set<Character> ids = new HashSet<>();
+        for (Car car : cars) {
+            if (ids.contains(car.getId())) {
+                throw new InvalidFileFormatException("Car ids must be unique!");
+            }
+            ids.add(car.getId());
+        }
+    }
+
+    /**
+     * Creates the state of new cars at their start positions, for a new {@link Track}.
+     */
+    CarStateStore createCarStateStore() {
+        return new CarStateStore(carIds, carStartPositions);
+    }
+
+    /**
+     * Returns whether the template was read in swarm mode, which allows more than
+     * {@link TrackSpecification#MAX_CARS} cars.
+     *
+     * @return true in swarm mode.
+     */
+    public boolean isSwarmMode() {
+        return swarmMode;
+    }
+
+    /**
+     * Return the grid, row by row with the ordinal of the {@link SpaceType} for each position.
+     * It is shared by all tracks of the template and must not be changed.
+     */
+    byte[] getGrid() {
+        return grid;
+    }
+
+    /**
+     * Return the height (number of rows) of the track grid.
+     *
+     * @return Height of the track grid
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Return the width (number of columns) of the track grid.
+     *
+     * @return Width of the track grid
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Return the number of cars.
+     *
+     * @return Number of cars
+     */
+    public int getCarCount() {
+        return carIds.length;
+    }
+
+    /**
+     * Return the start position of the given car.
+     *
+     * @param carIndex The zero-based carIndex number
+     * @return The position of the car at the start of a game
+     * @throws IllegalArgumentException if the car index is invalid.
+     */
+    public PositionVector getCarStartPosition(int carIndex) {
+        if (carIndex < 0 || carIndex >= carIds.length) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+        return carStartPositions[carIndex];
+    }
+
+    /**
+     * Return the ordinal of the type of space at the given coordinates, see {@link SpaceType#ordinal()}.
+     * If the location is outside the track bounds, it is considered a WALL.
+     *
+     * @param x x-value (column) of the position to examine
+     * @param y y-value (row) of the position to examine
+     * @return The ordinal of the type of track position at the given location
+     */
+    public int getSpaceTypeOrdinal(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return WALL_ORDINAL;
+        }
+        return grid[y * width + x];
+    }
+
+    /**
+     * Return the mask of all positions of the given space type, see {@link Track#getCollisionMask(SpaceType)}.
+     *
+     * @param spaceType WALL or one of the FINISH_* space types.
+     * @return The read-only mask of the given space type.
+     * @throws NullPointerException     if spaceType is null.
+     * @throws IllegalArgumentException if spaceType is TRACK.
+     */
+    public CollisionMask getCollisionMask(SpaceType spaceType) {
+        Objects.requireNonNull(spaceType, "Parameter spaceType may not be null!");
+        if (spaceType == SpaceType.TRACK) {
+            throw new IllegalArgumentException("There is no collision mask for TRACK!");
+        }
+        return collisionMasks[spaceType.ordinal()];
+    }
+
+    /**
+     * Return the mask of all finish line positions, regardless of their direction.
+     *
+     * @return The read-only mask of all finish line positions.
+     */
+    public CollisionMask getFinishLineMask() {
+        return finishLineMask;
+    }
+
+    /**
+     * Return the hash of the content of this template, e.g. to check that a file derived from the track belongs
+     * to it: the CRC-32 checksum of its size, the ordinal of every space type and the start positions of the cars.
+     *
+     * @return the hash of the track.
+     */
+    public int getContentHash() {
+        CRC32 checksum = new CRC32();
+        updateInt(checksum, width);
+        updateInt(checksum, height);
+        checksum.update(grid);
+        for (PositionVector startPosition : carStartPositions) {
+            updateInt(checksum, startPosition.getX());
+            updateInt(checksum, startPosition.getY());
+        }
+        return (int) checksum.getValue();
+    }
+
+    private static void updateInt(CRC32 checksum, int value) {
+        checksum.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    /**
+     * Return the data of the given type derived from this template, computing it on the first request.
+     *
+     * <p>Data which only depends on the track, like the distances to the finish line used by the path finding
+     * strategies, is stored here instead of in each strategy, so it is computed once and shared by all strategies
+     * of all cars on tracks of the same file.</p>
+     * <p>The data is stored with the template and must therefore not be changed by its users.
+     * If several threads request it at the same time, it may be computed more than once,
+     * but all of them get the same instance. The computation may request other derived data.</p>
+     *
+     * @param type        the type of the data, used as key.
+     * @param computation computes the data from this template.
+     * @param <T>         the type of the data.
+     * @return the derived data.
+     * @throws NullPointerException if type or computation is null, or the computation returns null.
+     */
+    public <T> T getDerivedData(Class<T> type, Function<TrackTemplate, T> computation) {
+        Objects.requireNonNull(type, "type may not be null");
+        Objects.requireNonNull(computation, "computation may not be null");
+        Object data = derivedData.get(type);
+        if (data == null) {
+            T computedData = Objects.requireNonNull(computation.apply(this), "The derived data may not be null");
+            data = derivedData.putIfAbsent(type, computedData);
+            if (data == null) {
+                data = computedData;
+            }
+        }
+        return type.cast(data);
+    }
+}
@@ -0,0 +1,556 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.model.Car;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.utils.BresenhamAlgorithm;
+import ch.zhaw.pm2.racetrack.utils.LineOffsetCache;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * Class AStarFinderStrategy which implements class PathStrategy.
+ * Calculates the moves with the least amount of turns to win, using an A* search over all states
+ * (position and velocity) of the car.
+ *
+ * <p>In contrast to {@link PathFinderStrategy}, a position reached with different velocities is treated as
+ * different states, so the found path is optimal. A state is packed into a single long value.</p>
+ * <p>The estimated number of moves to the finish line is the number of moves needed if the car could
+ * accelerate at full power in both axes without hitting a wall, until it reaches the bounding box of
+ * the finish line, or the estimate of the {@link DistanceField} shared by all cars on the track, whichever
+ * is higher. It never overestimates the real number of moves. States from which the finish line can not
+ * be reached at all are skipped.</p>
+ * <p>Moves which pass a finish line in the wrong direction are not considered, the same as moves into a wall.
+ * Other cars are only considered at the positions where they stand when the path is planned, as the car
+ * would crash into them there if they do not move. Their later positions are unknown.</p>
+ * <p>The {@link AnytimeAStarStrategy} uses weighted searches with a time budget, which weight the estimate
+ * higher to find a path faster, and stop at the deadline.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class AStarFinderStrategy extends PathStrategy {
+    /**
+     * The budget of a search without deadline.
+     */
+    static final long NO_BUDGET = Long.MAX_VALUE;
+
+    private static final long GOAL_STATE = -1;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private final Track track;
+    private final DistanceField distanceField;
+    private final int[] otherCarsX;
+    private final int[] otherCarsY;
+    private final int otherCarCount;
+    private final int maxVelocityX;
+    private final int maxVelocityY;
+    private final double weight;
+    private final boolean timeLimited;
+    private final long deadlineNanos;
+    private boolean complete;
+    private int finishMinX;
+    private int finishMaxX;
+    private int finishMinY;
+    private int finishMaxY;
+
+    private final StateTable stateTable = new StateTable();
+    private final OpenList openList = new OpenList();
+    private final MoveChecker moveChecker = new MoveChecker();
+    private final LineOffsetCache lineOffsets = new LineOffsetCache();
+    private int expandedStates = 0;
+    private int goalCost = Integer.MAX_VALUE;
+    private long goalPreviousState;
+    private Direction goalMove;
+
+    /**
+     * Constructs a new instance of the AStarFinderStrategy class for a given track and car.
+     *
+     * @param track    the track on which the car is running.
+     * @param carIndex the index of the car to plan the path for.
+     * @throws NullPointerException     if track is null.
+     * @throws IllegalArgumentException if the car index is invalid.
+     */
+    public AStarFinderStrategy(Track track, int carIndex) {
+        this(track, carIndex, 1, NO_BUDGET);
+    }
+
+    /**
+     * Constructs a new instance of the AStarFinderStrategy class, which plans the path from the current position
+     * and velocity of the car with a weighted search. The estimate is multiplied by the weight, so with a weight
+     * above 1 the search expands fewer states, but the found path may have up to weight times the least
+     * number of moves. The search stops, when the budget is used up.
+     *
+     * @param track       the track on which the car is running.
+     * @param carIndex    the index of the car to plan the path for.
+     * @param weight      the weight of the estimate, at least 1.
+     * @param budgetNanos the time for the search in nanoseconds, or {@link #NO_BUDGET}.
+     * @throws NullPointerException     if track is null.
+     * @throws IllegalArgumentException if the car index is invalid.
+     */
+    AStarFinderStrategy(Track track, int carIndex, double weight, long budgetNanos) {
+        Objects.requireNonNull(track, "track may not be null!");
+
+        this.track = track;
+        this.weight = weight;
+        timeLimited = budgetNanos != NO_BUDGET;
+        deadlineNanos = timeLimited ? System.nanoTime() + budgetNanos : 0;
+
+        if (carIndex < 0 || carIndex >= track.getCarCount()) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+
+        distanceField = DistanceField.of(track.getTemplate());
+        maxVelocityX = calculateMaxVelocity(track.getWidth());
+        maxVelocityY = calculateMaxVelocity(track.getHeight());
+        findFinishLineBounds();
+
+        otherCarsX = new int[track.getCarCount()];
+        otherCarsY = new int[track.getCarCount()];
+        int otherCarCount = 0;
+        for (int otherCarIndex = 0; otherCarIndex < track.getCarCount(); otherCarIndex++) {
+            Car otherCar = track.getCar(otherCarIndex);
+            if (otherCarIndex != carIndex && !otherCar.isCrashed()) {
+                otherCarsX[otherCarCount] = otherCar.getCurrentPosition().getX();
+                otherCarsY[otherCarCount] = otherCar.getCurrentPosition().getY();
+                otherCarCount++;
+            }
+        }
+        this.otherCarCount = otherCarCount;
+
+        Car car = track.getCar(carIndex);
+        PositionVector startPosition = car.getCurrentPosition();
+        PositionVector startVelocity = car.getVelocity();
+
+        if (distanceField.getDistance(startPosition.getX(), startPosition.getY()) == DistanceField.UNREACHABLE
+                || Math.abs(startVelocity.getX()) > maxVelocityX || Math.abs(startVelocity.getY()) > maxVelocityY) {
+            complete = true;
+        } else {
+            long startState = toState(startPosition.getX(), startPosition.getY(), startVelocity.getX(), startVelocity.getY());
+            searchPath(startState);
+            generateMoveDeque(startState);
+        }
+    }
+
+    /**
+     * Returns the number of states, which were expanded by the search.
+     * This can be used to compare the effort with other strategies.
+     *
+     * @return number of expanded states.
+     */
+    public int getExpandedStates() {
+        return expandedStates;
+    }
+
+    /**
+     * This method is for testing purposes package private. It returns all the remaining moves,
+     * the next move being the last element.
+     */
+    Deque<Direction> getMoves() {
+        return moves;
+    }
+
+    /**
+     * Returns whether the search finished before its deadline. Then the moves are the found path, which is
+     * the shortest one for the weight 1, or there is no path. Otherwise, the moves are a path found before
+     * the deadline, if any.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return next direction from {@link AStarFinderStrategy#moves} or NONE, if no more moves are available.
+     */
+    @Override
+    public Direction nextMove() {
+        Direction nextMove = moves.pollLast();
+        if (nextMove == null) {
+            nextMove = Direction.NONE;
+        }
+        return nextMove;
+    }
+
+    private void findFinishLineBounds() {
+        FinishLine finishLine = FinishLine.of(track.getTemplate());
+        finishMinX = finishLine.getMinX();
+        finishMaxX = finishLine.getMaxX();
+        finishMinY = finishLine.getMinY();
+        finishMaxY = finishLine.getMaxY();
+    }
+
+    private void searchPath(long startState) {
+        stateTable.update(startState, 0, startState);
+        openList.add(startState, weightEstimate(estimateMoves(startState)));
+
+        while (!openList.isEmpty()) {
+            long state = openList.poll();
+            if (state == GOAL_STATE) {
+                complete = true;
+                return;
+            }
+            if (!stateTable.close(state)) {
+                continue;
+            }
+            expandedStates++;
+            if (timeLimited && expandedStates % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadlineNanos > 0) {
+                return;
+            }
+            expandState(state, stateTable.getCost(state) + 1);
+        }
+        complete = true;
+    }
+
+    /**
+     * Returns the estimate multiplied by the weight of the search.
+     */
+    private int weightEstimate(int estimate) {
+        return weight == 1 ? estimate : (int) Math.ceil(weight * estimate);
+    }
+
+    private void expandState(long state, int cost) {
+        int x = getX(state);
+        int y = getY(state);
+        PositionVector position = new PositionVector(x, y);
+
+        for (Direction direction : Direction.values()) {
+            int velocityX = getVelocityX(state) + direction.vector.getX();
+            int velocityY = getVelocityY(state) + direction.vector.getY();
+            if (Math.abs(velocityX) > maxVelocityX || Math.abs(velocityY) > maxVelocityY) {
+                continue;
+            }
+
+            MoveResult result = MoveResult.VALID;
+            if (velocityX != 0 || velocityY != 0) {
+                result = checkMove(position, new PositionVector(x + velocityX, y + velocityY));
+            }
+
+            if (result == MoveResult.FINISHED && cost < goalCost) {
+                goalCost = cost;
+                goalPreviousState = state;
+                goalMove = direction;
+                openList.add(GOAL_STATE, cost);
+            } else if (result == MoveResult.VALID) {
+                long nextState = toState(x + velocityX, y + velocityY, velocityX, velocityY);
+                int estimate = estimateMoves(nextState);
+                if (estimate != DistanceField.UNREACHABLE && stateTable.update(nextState, cost, state)) {
+                    openList.add(nextState, cost + weightEstimate(estimate));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the path of a move the same way as the game does: the move is invalid if it crashes into a wall
+     * or passes a finish line in the wrong direction, and if it crashes into another car standing on the track.
+     * Only if the collision masks show a wall or finish line on the path, or another car stands within the
+     * bounds of the move, it is checked field by field.
+     */
+    private MoveResult checkMove(PositionVector startPosition, PositionVector endPosition) {
+        int startX = startPosition.getX();
+        int startY = startPosition.getY();
+        if (!track.getCollisionMask(SpaceType.WALL).anySetOnPath(startX, startY, endPosition.getX(), endPosition.getY())
+                && !track.getFinishLineMask().anySetOnPath(startX, startY, endPosition.getX(), endPosition.getY())
+                && !isOtherCarWithin(startX, startY, endPosition.getX(), endPosition.getY())) {
+            return MoveResult.VALID;
+        }
+        moveChecker.start(startPosition);
+        lineOffsets.walkPath(startPosition.getX(), startPosition.getY(),
+                endPosition.getX() - startPosition.getX(), endPosition.getY() - startPosition.getY(), moveChecker);
+        return moveChecker.result;
+    }
+
+    private boolean isOtherCarWithin(int startX, int startY, int endX, int endY) {
+        for (int i = 0; i < otherCarCount; i++) {
+            if (otherCarsX[i] >= Math.min(startX, endX) && otherCarsX[i] <= Math.max(startX, endX)
+                    && otherCarsY[i] >= Math.min(startY, endY) && otherCarsY[i] <= Math.max(startY, endY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOtherCarAt(int x, int y) {
+        for (int i = 0; i < otherCarCount; i++) {
+            if (otherCarsX[i] == x && otherCarsY[i] == y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFinishLine(SpaceType spaceType) {
+        return spaceType == SpaceType.FINISH_DOWN || spaceType == SpaceType.FINISH_UP
+                || spaceType == SpaceType.FINISH_LEFT || spaceType == SpaceType.FINISH_RIGHT;
+    }
+
+    /**
+     * Returns the estimated number of moves to the finish line, or {@link DistanceField#UNREACHABLE}.
+     */
+    private int estimateMoves(long state) {
+        int fieldMoves = distanceField.estimateMoves(getX(state), getY(state), getVelocityX(state), getVelocityY(state));
+        if (fieldMoves == DistanceField.UNREACHABLE) {
+            return DistanceField.UNREACHABLE;
+        }
+        int movesX = estimateMovesOnAxis(getX(state), getVelocityX(state), finishMinX, finishMaxX);
+        int movesY = estimateMovesOnAxis(getY(state), getVelocityY(state), finishMinY, finishMaxY);
+        return Math.max(1, Math.max(fieldMoves, Math.max(movesX, movesY)));
+    }
+
+    /**
+     * Returns the least number of moves, after which the car may be in the range from min to max on one axis.
+     * See {@link #calculateMovesForDistance(long, long)}.
+     */
+    private int estimateMovesOnAxis(int position, int velocity, int min, int max) {
+        long distance;
+        if (position < min) {
+            distance = min - position;
+        } else if (position > max) {
+            distance = position - max;
+            velocity = -velocity;
+        } else {
+            return 0;
+        }
+
+        return Math.max(1, calculateMovesForDistance(velocity, distance));
+    }
+
+    private void generateMoveDeque(long startState) {
+        if (goalMove != null) {
+            moves.add(goalMove);
+            long state = goalPreviousState;
+            while (state != startState) {
+                long previousState = stateTable.getPreviousState(state);
+                int accelerationX = getVelocityX(state) - getVelocityX(previousState);
+                int accelerationY = getVelocityY(state) - getVelocityY(previousState);
+
+                for (Direction direction : Direction.values()) {
+                    if (direction.vector.getX() == accelerationX && direction.vector.getY() == accelerationY) {
+                        moves.add(direction);
+                    }
+                }
+                state = previousState;
+            }
+        }
+    }
+
+    private long toState(int x, int y, int velocityX, int velocityY) {
+        long cell = (long) y * track.getWidth() + x;
+        long velocity = (long) (velocityX + maxVelocityX) * (2 * maxVelocityY + 1) + (velocityY + maxVelocityY);
+        return cell * (2L * maxVelocityX + 1) * (2L * maxVelocityY + 1) + velocity;
+    }
+
+    private long getCell(long state) {
+        return state / ((2L * maxVelocityX + 1) * (2L * maxVelocityY + 1));
+    }
+
+    private int getX(long state) {
+        return (int) (getCell(state) % track.getWidth());
+    }
+
+    private int getY(long state) {
+        return (int) (getCell(state) / track.getWidth());
+    }
+
+    private int getVelocityX(long state) {
+        long velocity = state % ((2L * maxVelocityX + 1) * (2L * maxVelocityY + 1));
+        return (int) (velocity / (2 * maxVelocityY + 1)) - maxVelocityX;
+    }
+
+    private int getVelocityY(long state) {
+        return (int) (state % (2 * maxVelocityY + 1)) - maxVelocityY;
+    }
+
+    private enum MoveResult {
+        VALID, INVALID, FINISHED
+    }
+
+    /**
+     * Walks along the path of a move and stops at the first wall or finish line field,
+     * or at another car standing on the track.
+     * A single instance is reused for all moves.
+     */
+    private class MoveChecker implements BresenhamAlgorithm.PathVisitor {
+        private int previousX;
+        private int previousY;
+        private MoveResult result;
+
+        private void start(PositionVector startPosition) {
+            previousX = startPosition.getX();
+            previousY = startPosition.getY();
+            result = MoveResult.VALID;
+        }
+
+        @Override
+        public boolean visit(int x, int y) {
+            SpaceType spaceType = track.getSpaceTypeAt(x, y);
+            if (spaceType == SpaceType.WALL || spaceType == SpaceType.TRACK && isOtherCarAt(x, y)) {
+                result = MoveResult.INVALID;
+            } else if (isFinishLine(spaceType)) {
+                result = crossesInCorrectDirection(spaceType, previousX, previousY, x, y)
+                        ? MoveResult.FINISHED : MoveResult.INVALID;
+            }
+            previousX = x;
+            previousY = y;
+            return result == MoveResult.VALID;
+        }
+    }
+
+    /**
+     * Hash table with open addressing, which stores the least known cost, the previous state and
+     * whether the state is already expanded for every reached state.
+     */
+    private static class StateTable {
+        private static final long EMPTY = -1;
+
+        private long[] states = new long[1024];
+        private int[] costs = new int[1024];
+        private long[] previousStates = new long[1024];
+        private boolean[] closed = new boolean[1024];
+        private int size = 0;
+
+        private StateTable() {
+            Arrays.fill(states, EMPTY);
+        }
+
+        /**
+         * Stores the cost and previous state, if the state is new or the cost is lower than the known one.
+         *
+         * @return true if the state was updated.
+         */
+        private boolean update(long state, int cost, long previousState) {
+            int slot = findSlot(state);
+            if (states[slot] == EMPTY) {
+                states[slot] = state;
+                costs[slot] = cost;
+                previousStates[slot] = previousState;
+                size++;
+                if (size * 2 > states.length) {
+                    grow();
+                }
+                return true;
+            }
+            if (!closed[slot] && cost < costs[slot]) {
+                costs[slot] = cost;
+                previousStates[slot] = previousState;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Marks the state as expanded.
+         *
+         * @return false if the state was already expanded.
+         */
+        private boolean close(long state) {
+            int slot = findSlot(state);
+            if (closed[slot]) {
+                return false;
+            }
+            closed[slot] = true;
+            return true;
+        }
+
+        private int getCost(long state) {
+            return costs[findSlot(state)];
+        }
+
+        private long getPreviousState(long state) {
+            return previousStates[findSlot(state)];
+        }
+
+        private int findSlot(long state) {
+            int mask = states.length - 1;
+            int slot = (int) (state ^ (state >>> 32)) * 0x9E3779B9 & mask;
+            while (states[slot] != EMPTY && states[slot] != state) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldStates = states;
+            int[] oldCosts = costs;
+            long[] oldPreviousStates = previousStates;
+            boolean[] oldClosed = closed;
+
+            states = new long[oldStates.length * 2];
+            costs = new int[states.length];
+            previousStates = new long[states.length];
+            closed = new boolean[states.length];
+            Arrays.fill(states, EMPTY);
+
+            for (int i = 0; i < oldStates.length; i++) {
+                if (oldStates[i] != EMPTY) {
+                    int slot = findSlot(oldStates[i]);
+                    states[slot] = oldStates[i];
+                    costs[slot] = oldCosts[i];
+                    previousStates[slot] = oldPreviousStates[i];
+                    closed[slot] = oldClosed[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Binary heap of states ordered by their estimated total number of moves.
+     * States with the same estimate are ordered by insertion, so the search is deterministic.
+     */
+    private static class OpenList {
+        private long[] states = new long[1024];
+        private long[] priorities = new long[1024];
+        private int size = 0;
+        private int insertions = 0;
+
+        private void add(long state, int estimate) {
+            if (size == states.length) {
+                states = Arrays.copyOf(states, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            long priority = ((long) estimate << 32) | (insertions++ & 0xFFFFFFFFL);
+            int index = size++;
+            while (index > 0 && priorities[(index - 1) / 2] > priority) {
+                int parent = (index - 1) / 2;
+                states[index] = states[parent];
+                priorities[index] = priorities[parent];
+                index = parent;
+            }
+            states[index] = state;
+            priorities[index] = priority;
+        }
+
+        private long poll() {
+            long first = states[0];
+            size--;
+            long lastState = states[size];
+            long lastPriority = priorities[size];
+            int index = 0;
+            while (index * 2 + 1 < size) {
+                int child = index * 2 + 1;
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                    child++;
+                }
+                if (priorities[child] >= lastPriority) {
+                    break;
+                }
+                states[index] = states[child];
+                priorities[index] = priorities[child];
+                index = child;
+            }
+            states[index] = lastState;
+            priorities[index] = lastPriority;
+            return first;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.Car;
+import ch.zhaw.pm2.racetrack.model.Track;
+
+import java.util.Objects;
+
+/**
+ * Class AnytimeAStarStrategy which implements class TimeBudgetedMoveStrategy.
+ * Plans the moves during the game within the time budget of every move, using weighted A* searches
+ * of the {@link AStarFinderStrategy} with a decreasing weight.
+ *
+ * <p>The first search with the highest weight finds a path quickly, each further search with a lower weight
+ * finds a path, which is at least as short, until the search with the weight 1 finds the shortest one.
+ * A search only replaces the current plan, if it finished before the deadline. When the deadline is reached,
+ * the next move of the current plan is returned, and the following moves continue the refinement.
+ * Only if there is no plan yet, the search runs until it found one, and the deadline is missed if this
+ * takes longer than the budget.</p>
+ * <p>If the car is not where the plan expects it, the planning starts again with the highest weight.
+ * Once the shortest path is known, it is searched again at every move, so the plan considers the
+ * positions of the other cars, which changed meanwhile.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class AnytimeAStarStrategy extends PathStrategy implements TimeBudgetedMoveStrategy {
+    /**
+     * The weights of the successive searches, the last one finds the shortest path.
+     */
+    static final double[] WEIGHTS = {3, 2, 1.5, 1};
+
+    private final Track track;
+    private final int carIndex;
+    private final long moveBudgetNanos;
+    private int weightIndex = 0;
+    private int missedDeadlines = 0;
+    private int plannedX;
+    private int plannedY;
+    private int plannedVelocityX;
+    private int plannedVelocityY;
+
+    /**
+     * Constructs a new instance of the AnytimeAStarStrategy class for a given track and car.
+     * The planning starts with the first move.
+     *
+     * @param track           the track on which the car is running.
+     * @param carIndex        the index of the car to plan the moves for.
+     * @param moveBudgetNanos the time budget of every move in nanoseconds.
+     * @throws NullPointerException     if track is null.
+     * @throws IllegalArgumentException if the car index is invalid or the budget is not positive.
+     */
+    public AnytimeAStarStrategy(Track track, int carIndex, long moveBudgetNanos) {
+        this.track = Objects.requireNonNull(track, "track may not be null!");
+
+        if (carIndex < 0 || carIndex >= track.getCarCount()) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+        if (moveBudgetNanos <= 0) {
+            throw new IllegalArgumentException("The move budget must be positive!");
+        }
+
+        this.carIndex = carIndex;
+        this.moveBudgetNanos = moveBudgetNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the next move of the best plan found until the deadline, or NONE if there is no way
+     * to the finish line.
+     */
+    @Override
+    public Direction nextMove(long deadlineNanos) {
+        Car car = track.getCar(carIndex);
+        if (car.getCurrentPosition().getX() != plannedX || car.getCurrentPosition().getY() != plannedY
+                || car.getVelocityX() != plannedVelocityX || car.getVelocityY() != plannedVelocityY) {
+            moves.clear();
+            weightIndex = 0;
+        }
+        refinePlan(deadlineNanos);
+        if (System.nanoTime() - deadlineNanos > 0) {
+            missedDeadlines++;
+        }
+
+        Direction nextMove = moves.pollLast();
+        if (nextMove == null) {
+            nextMove = Direction.NONE;
+        }
+        plannedVelocityX = car.getVelocityX() + nextMove.vector.getX();
+        plannedVelocityY = car.getVelocityY() + nextMove.vector.getY();
+        plannedX = car.getCurrentPosition().getX() + plannedVelocityX;
+        plannedY = car.getCurrentPosition().getY() + plannedVelocityY;
+        return nextMove;
+    }
+
+    /**
+     * Searches with the next weights until the deadline, or until the search with the weight 1 finished.
+     * Without a plan, the search is not stopped at the deadline.
+     */
+    private void refinePlan(long deadlineNanos) {
+        boolean shortestPathSearched = false;
+        while (!shortestPathSearched && (moves.isEmpty() || System.nanoTime() - deadlineNanos < 0)) {
+            boolean hasPlan = !moves.isEmpty();
+            long budgetNanos = hasPlan ? Math.max(0, deadlineNanos - System.nanoTime()) : AStarFinderStrategy.NO_BUDGET;
+            AStarFinderStrategy search = new AStarFinderStrategy(track, carIndex, WEIGHTS[weightIndex], budgetNanos);
+            if (!search.isComplete()) {
+                return;
+            }
+
+            shortestPathSearched = weightIndex == WEIGHTS.length - 1;
+            // the shortest path also replaces a shorter plan, which other cars now stand in the way of
+            if (!search.getMoves().isEmpty()
+                    && (!hasPlan || shortestPathSearched || search.getMoves().size() <= moves.size())) {
+                moves.clear();
+                moves.addAll(search.getMoves());
+            }
+            if (moves.isEmpty()) {
+                return;
+            }
+            if (!shortestPathSearched) {
+                weightIndex++;
+            }
+        }
+    }
+
+    /**
+     * Returns the weight of the next search, for testing purposes package private.
+     */
+    double getNextWeight() {
+        return WEIGHTS[weightIndex];
+    }
+
+    @Override
+    public long getMoveBudgetNanos() {
+        return moveBudgetNanos;
+    }
+
+    @Override
+    public int getMissedDeadlines() {
+        return missedDeadlines;
+    }
+}
@@ -0,0 +1,87 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Class AsyncMoveStrategy which implements class MoveStrategy.
+ * Constructs another strategy in the background and passes the moves of it on.
+ *
+ * <p>The construction starts on the given executor as soon as this strategy is created, so strategies which plan
+ * their moves in the constructor, like the {@link PathFinderStrategy}, plan while the strategies of the other cars
+ * are chosen. {@link #nextMove()} only waits, if the plan is not ready yet at the first turn of the car.</p>
+ * <p>The planner must not read state which changes during the game, as it may run while other cars move.
+ * E.g. it plans on its own {@link ch.zhaw.pm2.racetrack.model.Track} of the same template.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class AsyncMoveStrategy implements MoveStrategy {
+    private final StrategyType strategyType;
+    private final CompletableFuture<MoveStrategy> strategy;
+
+    /**
+     * Constructs a new instance of the AsyncMoveStrategy class and starts the construction of the strategy.
+     *
+     * @param strategyType the type of the constructed strategy, e.g. for the replay.
+     * @param planner      constructs the strategy, called on a thread of the executor.
+     * @param executor     the executor to construct the strategy on.
+     * @throws NullPointerException if an argument is null.
+     */
+    public AsyncMoveStrategy(StrategyType strategyType, Supplier<MoveStrategy> planner, Executor executor) {
+        this.strategyType = Objects.requireNonNull(strategyType, "strategyType may not be null!");
+        Objects.requireNonNull(planner, "planner may not be null!");
+        Objects.requireNonNull(executor, "executor may not be null!");
+        strategy = CompletableFuture.supplyAsync(planner, executor);
+    }
+
+    /**
+     * Returns the type of the constructed strategy, without waiting for it.
+     *
+     * @return the strategy type given at the construction.
+     */
+    public StrategyType getStrategyType() {
+        return strategyType;
+    }
+
+    /**
+     * Returns whether the strategy is constructed, so {@link #nextMove()} does not wait.
+     *
+     * @return true if the construction finished, also if it failed.
+     */
+    public boolean isReady() {
+        return strategy.isDone();
+    }
+
+    /**
+     * Returns the constructed strategy, waiting for its construction if it is not ready yet.
+     *
+     * @return the constructed strategy.
+     * @throws RuntimeException the exception thrown by the planner, if the construction failed.
+     */
+    public MoveStrategy getStrategy() {
+        try {
+            return strategy.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the next move of the constructed strategy, after waiting for its construction if necessary.
+     */
+    @Override
+    public Direction nextMove() {
+        return getStrategy().nextMove();
+    }
+}
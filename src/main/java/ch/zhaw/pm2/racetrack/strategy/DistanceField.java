@@ -0,0 +1,135 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+
+import java.util.Arrays;
+
+/**
+ * The number of steps from every position of a track to the finish line, used by the path finding strategies
+ * to estimate the moves of a car and to skip positions from which the finish line can not be reached.
+ *
+ * <p>A step goes to one of the eight neighbours, like the steps of the path of a move. The distances are found
+ * by a breadth-first search backwards from all finish line positions at once: a position next to the finish
+ * line has the distance 1, if the step onto the finish line does not cross it against its direction. Further
+ * steps only go over track positions, as a path which reaches a finish line position either wins or is invalid.
+ * A step along the finish line counts as well, like in the path check of the {@link PathFinderStrategy},
+ * so no move of the path finding strategies leaves a position without way to the finish line.
+ * Finish line positions have the distance 0, walls and positions without way to the finish line
+ * have {@link #UNREACHABLE}.</p>
+ * <p>The path of a move with the velocity v has max(|v.x|, |v.y|) steps, and this maximum grows by at most one
+ * per move. So the distance gives an estimate of the moves to the finish line, which is never too high and
+ * considers the walls, in contrast to the bounding box of the {@link FinishLine}.</p>
+ * <p>The field is derived data of the track, see {@link #of(TrackTemplate)} and
+ * {@link TrackTemplate#getDerivedData(Class, java.util.function.Function)}.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+final class DistanceField {
+    /**
+     * The distance of walls and of positions without way to the finish line.
+     */
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+    private static final int TRACK_ORDINAL = SpaceType.TRACK.ordinal();
+
+    private final int width;
+    private final int height;
+    private final int[] distances;
+
+    private DistanceField(TrackTemplate template) {
+        width = template.getWidth();
+        height = template.getHeight();
+        distances = new int[width * height];
+        Arrays.fill(distances, UNREACHABLE);
+
+        int[] queue = new int[width * height];
+        int tail = 0;
+        for (PositionVector finishLinePosition : FinishLine.of(template).getPositions()) {
+            int finishX = finishLinePosition.getX();
+            int finishY = finishLinePosition.getY();
+            distances[finishY * width + finishX] = 0;
+            SpaceType finishType = SPACE_TYPES[template.getSpaceTypeOrdinal(finishX, finishY)];
+            for (Direction direction : Direction.values()) {
+                int x = finishX - direction.vector.getX();
+                int y = finishY - direction.vector.getY();
+                if (direction != Direction.NONE && crossesInCorrectDirection(finishType, direction)
+                        && template.getSpaceTypeOrdinal(x, y) == TRACK_ORDINAL && distances[y * width + x] == UNREACHABLE) {
+                    distances[y * width + x] = 1;
+                    queue[tail++] = y * width + x;
+                }
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int cell = queue[head];
+            int cellX = cell % width;
+            int cellY = cell / width;
+            for (Direction direction : Direction.values()) {
+                int x = cellX + direction.vector.getX();
+                int y = cellY + direction.vector.getY();
+                if (template.getSpaceTypeOrdinal(x, y) == TRACK_ORDINAL && distances[y * width + x] == UNREACHABLE) {
+                    distances[y * width + x] = distances[cell] + 1;
+                    queue[tail++] = y * width + x;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the distance field of the given template, which is computed on the first request.
+     *
+     * @param template the template of the track.
+     * @return the distance field of the track.
+     */
+    static DistanceField of(TrackTemplate template) {
+        return template.getDerivedData(DistanceField.class, DistanceField::new);
+    }
+
+    /**
+     * Returns whether a step in the given direction onto a finish line position of the given type
+     * does not cross it against its direction.
+     */
+    private static boolean crossesInCorrectDirection(SpaceType finishType, Direction step) {
+        return switch (finishType) {
+            case FINISH_DOWN -> step.vector.getY() >= 0;
+            case FINISH_UP -> step.vector.getY() <= 0;
+            case FINISH_LEFT -> step.vector.getX() <= 0;
+            case FINISH_RIGHT -> step.vector.getX() >= 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns the number of steps from the position to the finish line.
+     *
+     * @return the distance, or {@link #UNREACHABLE} for walls, positions outside the track and positions
+     * without way to the finish line.
+     */
+    int getDistance(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return UNREACHABLE;
+        }
+        return distances[y * width + x];
+    }
+
+    /**
+     * Returns the least number of moves, which a car at the position with the velocity needs to reach
+     * the finish line. After n moves, the car has made at most n * speed + sumToZero(n) steps, the speed being
+     * the larger absolute value of the velocity.
+     *
+     * @return the estimated number of moves, or {@link #UNREACHABLE} if the finish line can not be reached.
+     */
+    int estimateMoves(int x, int y, int velocityX, int velocityY) {
+        int distance = getDistance(x, y);
+        if (distance == UNREACHABLE) {
+            return UNREACHABLE;
+        }
+        int speed = Math.max(Math.abs(velocityX), Math.abs(velocityY));
+        return PathStrategy.calculateMovesForDistance(speed, distance);
+    }
+}
@@ -0,0 +1,83 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.model.CollisionMask;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The positions of the finish line of a track and their bounding box, used by the path finding strategies.
+ * Without finish line, the bounding box is empty, with the minimum above the maximum.
+ * It is derived data of the track, see {@link #of(TrackTemplate)} and
+ * {@link TrackTemplate#getDerivedData(Class, java.util.function.Function)}.
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+final class FinishLine {
+    private final List<PositionVector> positions;
+    private final int minX;
+    private final int maxX;
+    private final int minY;
+    private final int maxY;
+
+    private FinishLine(TrackTemplate template) {
+        CollisionMask finishLineMask = template.getFinishLineMask();
+        List<PositionVector> finishLinePositions = new ArrayList<>();
+        int foundMinX = Integer.MAX_VALUE;
+        int foundMaxX = Integer.MIN_VALUE;
+        int foundMinY = Integer.MAX_VALUE;
+        int foundMaxY = Integer.MIN_VALUE;
+        for (int y = 0; y < template.getHeight(); y++) {
+            for (int x = 0; x < template.getWidth(); x++) {
+                if (finishLineMask.isSet(x, y)) {
+                    finishLinePositions.add(new PositionVector(x, y));
+                    foundMinX = Math.min(foundMinX, x);
+                    foundMaxX = Math.max(foundMaxX, x);
+                    foundMinY = Math.min(foundMinY, y);
+                    foundMaxY = Math.max(foundMaxY, y);
+                }
+            }
+        }
+        positions = List.copyOf(finishLinePositions);
+        minX = foundMinX;
+        maxX = foundMaxX;
+        minY = foundMinY;
+        maxY = foundMaxY;
+    }
+
+    /**
+     * Returns the finish line of the given template, which is computed on the first request.
+     *
+     * @param template the template of the track.
+     * @return the finish line of the track.
+     */
+    static FinishLine of(TrackTemplate template) {
+        return template.getDerivedData(FinishLine.class, FinishLine::new);
+    }
+
+    /**
+     * Returns the finish line positions in row-major order.
+     */
+    List<PositionVector> getPositions() {
+        return positions;
+    }
+
+    int getMinX() {
+        return minX;
+    }
+
+    int getMaxX() {
+        return maxX;
+    }
+
+    int getMinY() {
+        return minY;
+    }
+
+    int getMaxY() {
+        return maxY;
+    }
+}
@@ -17,6 +17,6 @@ public interface MoveStrategy {
      * Possible Move Strategies which can be selected. This shall not be altered!
      */
     enum StrategyType {
-        DO_NOT_MOVE, USER, MOVE_LIST, PATH_FOLLOWER, PATH_FINDER
+        DO_NOT_MOVE, USER, MOVE_LIST, PATH_FOLLOWER, PATH_FINDER, A_STAR_FINDER
     }
 }
@@ -4,24 +4,57 @@ import ch.zhaw.pm2.racetrack.given.Direction;
 import ch.zhaw.pm2.racetrack.given.PositionVector;
 import ch.zhaw.pm2.racetrack.given.SpaceType;
 import ch.zhaw.pm2.racetrack.model.Car;
+import ch.zhaw.pm2.racetrack.model.CollisionMask;
 import ch.zhaw.pm2.racetrack.model.Track;
-import ch.zhaw.pm2.racetrack.utils.BresenhamAlgorithm;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
 /**
  * Class PathFinderStrategy which implements class PathStrategy.
  * Calculates the next move based on a {@link Track} object
  *
+ * <p>The search skips positions from which the finish line can not be reached, according to the
+ * {@link DistanceField} shared by all cars on the track, and stops after the first layer which reaches
+ * the finish line, as later layers can not reach it with fewer moves.</p>
+ * <p>The search can expand large layers in parallel on a {@link ForkJoinPool}, which gives the same moves
+ * as the sequential search.</p>
+ *
  * @author Team03 - Stackoverflow
  * @version 1.0
  */
 public class PathFinderStrategy extends PathStrategy {
+    /**
+     * Layers with fewer cells are expanded sequentially, even if a pool is given.
+     */
+    static final int PARALLEL_LAYER_SIZE = 4096;
+    private static final int CHUNK_SIZE = 1024;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int UNVISITED = Integer.MAX_VALUE;
+    private static final int INACCESSIBLE = Integer.MIN_VALUE;
+
     private final Track track;
-    private final GridElement[][] pathPlanningGrid;
-    private final List<PositionVector> finishLineElements = new ArrayList<>();
+    private final int width;
+    private final int height;
+    private final ForkJoinPool pool;
+    private final DistanceField distanceField;
+    /**
+     * Number of moves to reach every cell, or {@link #UNVISITED} and {@link #INACCESSIBLE} for walls.
+     */
+    private final int[] counts;
+    /**
+     * Velocity of the car, when it reaches the cell, packed by {@link #packVelocity(int, int)}.
+     * The previous cell of the path is the cell minus this velocity.
+     */
+    private final int[] velocities;
+    private AtomicIntegerArray claims;
+    private int expandedFields = 0;
 
     /**
      * Constructs a new instance of the PathFinderStrategy class for a given track and car.
@@ -31,27 +64,63 @@ public class PathFinderStrategy extends PathStrategy {
      * @throws NullPointerException if track is null.
      */
     public PathFinderStrategy(Track track, int carIndex) {
+        this(track, carIndex, null);
+    }
+
+    /**
+     * Constructs a new instance of the PathFinderStrategy class, which expands large layers of the search
+     * in parallel on the given pool. The planned moves are the same as without pool.
+     *
+     * @param track    the track on which the car is running.
+     * @param carIndex the index of the car to plan the path for.
+     * @param pool     the pool to expand the layers on, or null to search sequentially.
+     * @throws NullPointerException if track is null.
+     */
+    public PathFinderStrategy(Track track, int carIndex, ForkJoinPool pool) {
         Objects.requireNonNull(track, "track may not be null!");
 
         this.track = track;
+        this.pool = pool;
+        this.distanceField = DistanceField.of(track.getTemplate());
 
         if (carIndex < 0 || carIndex >= track.getCarCount()) {
             throw new IllegalArgumentException("Invalid car index!");
         }
 
-        pathPlanningGrid = new GridElement[track.getHeight()][track.getWidth()];
+        width = track.getWidth();
+        height = track.getHeight();
+        counts = new int[width * height];
+        velocities = new int[width * height];
         fillPathPlanningGrid();
 
         Car car = track.getCar(carIndex);
 
-        PositionVector currentPosition = car.getCurrentPosition();
-        pathPlanningGrid[currentPosition.getY()][currentPosition.getX()].setCount(0);
+        int startCell = toCellIndex(car.getCurrentPosition());
+        counts[startCell] = 0;
 
-        calculateDistancesToAllFields();
+        calculateDistancesToAllFields(startCell);
 
         generateMoveDeque();
     }
 
+    /**
+     * Returns the number of fields, which were expanded by the search.
+     * This can be used to compare the effort with other strategies.
+     *
+     * @return number of expanded fields.
+     */
+    public int getExpandedFields() {
+        return expandedFields;
+    }
+
+    /**
+     * This method is for testing purposes package private. It returns all the remaining moves,
+     * the next move being the last element.
+     */
+    Deque<Direction> getMoves() {
+        return moves;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -67,169 +136,349 @@ public class PathFinderStrategy extends PathStrategy {
     }
 
     private void generateMoveDeque() {
-        GridElement closestFinishLineElement = getClosestFinishLineElement();
-
-        if (closestFinishLineElement.getCount() != Integer.MAX_VALUE) {
-            GridElement currentElement = closestFinishLineElement;
-            while (currentElement.getCount() != 0) {
-
-                GridElement closestElement = pathPlanningGrid[currentElement.getPreviousPosition().getY()][currentElement.getPreviousPosition().getX()];
-                PositionVector move = currentElement.getVelocity().subtract(closestElement.getVelocity());
-
-                for (Direction direction : Direction.values()) {
+        int closestFinishLineCell = getClosestFinishLineCell();
+
+        if (closestFinishLineCell >= 0) {
+            int currentCell = closestFinishLineCell;
+            while (counts[currentCell] != 0) {
+                int velocity = velocities[currentCell];
+                int previousCell = currentCell - getVelocityY(velocity) * width - getVelocityX(velocity);
+                int previousVelocity = velocities[previousCell];
+                PositionVector move = new PositionVector(getVelocityX(velocity) - getVelocityX(previousVelocity),
+                        getVelocityY(velocity) - getVelocityY(previousVelocity));
+
+                for (Direction direction : DIRECTIONS) {
                     if (move.equals(direction.vector)) {
                         moves.add(direction);
                     }
                 }
-                currentElement = closestElement;
+                currentCell = previousCell;
             }
         }
     }
 
+    /**
+     * Marks the walls as inaccessible and all other positions as unvisited.
+     */
     private void fillPathPlanningGrid() {
-        for (int y = 0; y < pathPlanningGrid.length; y++) {
-            for (int x = 0; x < pathPlanningGrid[y].length; x++) {
-                boolean isAccessible = track.getCharRepresentationAtPosition(y, x) != SpaceType.WALL.getSpaceChar();
-                pathPlanningGrid[y][x] = new GridElement(isAccessible);
-                SpaceType spaceType = track.getSpaceTypeAtPosition(new PositionVector(x, y));
-                boolean isFinishLineElement = spaceType == SpaceType.FINISH_DOWN || spaceType == SpaceType.FINISH_UP || spaceType == SpaceType.FINISH_LEFT || spaceType == SpaceType.FINISH_RIGHT;
-                if (isFinishLineElement) {
-                    finishLineElements.add(new PositionVector(x, y));
-                }
+        int wallOrdinal = SpaceType.WALL.ordinal();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                counts[y * width + x] = track.getSpaceTypeOrdinal(x, y) != wallOrdinal ? UNVISITED : INACCESSIBLE;
             }
         }
     }
 
-    private GridElement getClosestFinishLineElement() {
-        GridElement shortestPosition = new GridElement(true);
-        for (PositionVector finishLineElement : finishLineElements) {
-            int x = finishLineElement.getX();
-            int y = finishLineElement.getY();
-
-            GridElement currentFinishLine = pathPlanningGrid[y][x];
-            if (currentFinishLine.getCount() < shortestPosition.getCount()) {
-                shortestPosition = currentFinishLine;
+    /**
+     * Returns the first reached finish line cell with the lowest count, or -1 if none was reached.
+     * The finish line positions are shared by all strategies on the track.
+     */
+    private int getClosestFinishLineCell() {
+        int closestCell = -1;
+        int closestCount = UNVISITED;
+        for (PositionVector finishLineElement : FinishLine.of(track.getTemplate()).getPositions()) {
+            int cell = toCellIndex(finishLineElement);
+            if (counts[cell] < closestCount) {
+                closestCell = cell;
+                closestCount = counts[cell];
             }
         }
-        return shortestPosition;
+        return closestCell;
     }
 
-    private void calculateDistancesToAllFields() {
-        int counter = 0;
-        List<PositionVector> positionsWithCount = getPositionVectorsWithCount(counter);
+    /**
+     * Breadth-first search over the grid, starting at the given cell.
+     * <p>Each reached cell is stored exactly once as packed index (y * width + x) in a primitive queue.
+     * The queue is processed layer by layer, and every layer is sorted before it is expanded,
+     * so that cells with the same count are expanded in row-major order. Thus if two paths of equal
+     * length reach the same cell, the same one wins as with a scan over the whole grid.</p>
+     * <p>With a pool, large layers are expanded by {@link #expandLayerInParallel(CellQueue)}, which
+     * lets the same path win.</p>
+     *
+     * @param startCell the cell of the car, which has the count 0.
+     */
+    private void calculateDistancesToAllFields(int startCell) {
+        CellQueue queue = new CellQueue(width * height);
+        queue.add(startCell);
+
+        while (queue.hasNextLayer()) {
+            queue.startNextLayer(pool != null);
+            expandedFields += queue.getLayerSize();
+            if (pool != null && queue.getLayerSize() >= PARALLEL_LAYER_SIZE) {
+                expandLayerInParallel(queue);
+            } else {
+                while (queue.hasNextInLayer()) {
+                    int currentCell = queue.poll();
+                    int velocity = velocities[currentCell];
+                    int newCount = counts[currentCell] + 1;
+                    for (Direction direction : DIRECTIONS) {
+                        int newCell = getTargetCell(currentCell, velocity, direction, newCount);
+                        if (newCell >= 0 && checkPathStaysOnTrack(currentCell, newCell)) {
+                            counts[newCell] = newCount;
+                            velocities[newCell] = packVelocity(getVelocityX(velocity) + direction.vector.getX(),
+                                    getVelocityY(velocity) + direction.vector.getY());
+                            queue.add(newCell);
+                        }
+                    }
+                }
+            }
+            if (queue.nextLayerContains(cell -> distanceField.getDistance(cell % width, cell / width) == 0)) {
+                break;
+            }
+        }
+    }
 
-        while (!positionsWithCount.isEmpty()) {
-            for (PositionVector currentPosition : positionsWithCount) {
-                GridElement currentElement = pathPlanningGrid[currentPosition.getY()][currentPosition.getX()];
-                PositionVector currentVelocity = currentElement.getVelocity();
-                int newCount = currentElement.getCount() + 1;
+    /**
+     * Expands the current layer of the queue in parallel and adds the next layer.
+     *
+     * <p>The sequential search gives a cell to the first move reaching it, in the order of the sorted layer
+     * and of {@link Direction#values()}. All moves of a layer lead to the same count, so the first move is
+     * the one with the lowest priority (rank in the layer * number of directions + direction ordinal).
+     * The expansion is split into two steps, separated by joining the tasks: first all chunks of the layer
+     * collect their moves to unvisited cells and claim the target cells with an atomic minimum of the priority,
+     * without changing the grid. Then every chunk writes the moves which kept their claim. Every cell is only
+     * claimed in a single layer, so the claims are never reset.</p>
+     */
+    private void expandLayerInParallel(CellQueue queue) {
+        if (claims == null) {
+            claims = new AtomicIntegerArray(width * height);
+        }
+        int layerSize = queue.getLayerSize();
+        int chunkCount = (layerSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        MoveChunk[] chunks = new MoveChunk[chunkCount];
+        pool.invoke(new ChunkAction(0, chunkCount, chunk -> chunks[chunk] =
+                collectMoves(queue, chunk * CHUNK_SIZE, Math.min(layerSize, (chunk + 1) * CHUNK_SIZE))));
+        pool.invoke(new ChunkAction(0, chunkCount, chunk -> chunks[chunk].applyClaimedMoves()));
+        queue.skipLayer();
+        for (MoveChunk chunk : chunks) {
+            chunk.addTargetsTo(queue);
+        }
+    }
 
-                checkAllDirection(currentPosition, currentVelocity, newCount);
+    private MoveChunk collectMoves(CellQueue queue, int fromRank, int toRank) {
+        MoveChunk chunk = new MoveChunk();
+        for (int rank = fromRank; rank < toRank; rank++) {
+            int currentCell = queue.getInLayer(rank);
+            int velocity = velocities[currentCell];
+            int newCount = counts[currentCell] + 1;
+            for (Direction direction : DIRECTIONS) {
+                int newCell = getTargetCell(currentCell, velocity, direction, newCount);
+                int priority = rank * DIRECTIONS.length + direction.ordinal();
+                // like the sequential search, skip the path check if an earlier move already claimed the cell
+                if (newCell >= 0 && claims.get(newCell) <= Integer.MAX_VALUE - priority
+                        && checkPathStaysOnTrack(currentCell, newCell)) {
+                    claim(newCell, priority);
+                    chunk.add(newCell, priority, newCount, packVelocity(getVelocityX(velocity) + direction.vector.getX(),
+                            getVelocityY(velocity) + direction.vector.getY()));
+                }
             }
-            counter++;
-            positionsWithCount = getPositionVectorsWithCount(counter);
         }
+        return chunk;
     }
 
-    private void checkAllDirection(PositionVector currentPosition, PositionVector currentVelocity, int count) {
-        for (Direction direction : Direction.values()) {
-            PositionVector newVelocity = currentVelocity.add(direction.vector);
-            PositionVector newPosition = currentPosition.add(newVelocity);
+    /**
+     * Lowers the claim of the cell to the given priority, stored as {@code Integer.MAX_VALUE - priority},
+     * so the initial zero of the array is lower than every claim.
+     */
+    private void claim(int cell, int priority) {
+        int claim = Integer.MAX_VALUE - priority;
+        int current = claims.get(cell);
+        while (claim > current && !claims.compareAndSet(cell, current, claim)) {
+            current = claims.get(cell);
+        }
+    }
 
-            PositionVector maxPosition = newPosition.add(new PositionVector(calculateSumToZero(newVelocity.getX()), calculateSumToZero(newVelocity.getY())));
+    /**
+     * Returns the cell reached by accelerating in the given direction, if the car can still brake in front
+     * of a wall, the cell has no lower count yet and the finish line can be reached from it, otherwise -1.
+     * The path to it is not checked yet.
+     */
+    private int getTargetCell(int currentCell, int velocity, Direction direction, int count) {
+        int newX = currentCell % width + getVelocityX(velocity) + direction.vector.getX();
+        int newY = currentCell / width + getVelocityY(velocity) + direction.vector.getY();
+        int maxX = newX + calculateSumToZero(getVelocityX(velocity) + direction.vector.getX());
+        int maxY = newY + calculateSumToZero(getVelocityY(velocity) + direction.vector.getY());
+
+        if (isInGrid(maxX, maxY) && track.getSpaceTypeOrdinal(maxX, maxY) != SpaceType.WALL.ordinal()) {
+            int newCell = newY * width + newX;
+            if (counts[newCell] > count && distanceField.getDistance(newX, newY) != DistanceField.UNREACHABLE) {
+                return newCell;
+            }
+        }
+        return -1;
+    }
 
-            if (isInGrid(maxPosition) && track.getSpaceTypeAtPosition(maxPosition) != SpaceType.WALL) {
-                BresenhamAlgorithm bresenhamAlgorithm = new BresenhamAlgorithm(currentPosition, newPosition);
-                List<PositionVector> passedFields = bresenhamAlgorithm.calculatePath();
-                boolean carStaysOnTrack = checkPathStaysOnTrack(passedFields, newVelocity);
+    private int toCellIndex(PositionVector position) {
+        return position.getY() * width + position.getX();
+    }
 
-                GridElement nextElement = pathPlanningGrid[newPosition.getY()][newPosition.getX()];
+    private static int packVelocity(int velocityX, int velocityY) {
+        return (velocityX << 16) | (velocityY & 0xFFFF);
+    }
 
-                if (nextElement.getCount() > count && carStaysOnTrack) {
-                    nextElement.setCount(count);
-                    nextElement.setVelocity(newVelocity);
-                    nextElement.setPreviousPosition(currentPosition);
-                }
-            }
-        }
+    private static int getVelocityX(int packedVelocity) {
+        return packedVelocity >> 16;
     }
 
-    private boolean isInGrid(PositionVector position) {
-        return position.getY() >= 0 && position.getY() < pathPlanningGrid.length &&
-                position.getX() >= 0 && position.getX() < pathPlanningGrid[0].length;
+    private static int getVelocityY(int packedVelocity) {
+        return (short) packedVelocity;
     }
 
-    private boolean checkPathStaysOnTrack(List<PositionVector> path, PositionVector newVelocity) {
-        boolean carStaysOnTrack = true;
-        for (PositionVector field : path) {
-            carStaysOnTrack = carStaysOnTrack && passesOnlyValidFields(newVelocity, field);
-        }
-        return carStaysOnTrack;
+    private boolean isInGrid(int x, int y) {
+        return y >= 0 && y < height && x >= 0 && x < width;
     }
 
-    private boolean passesOnlyValidFields(PositionVector newVelocity, PositionVector field) {
-        SpaceType spaceType = track.getSpaceTypeAtPosition(field);
-        return switch (spaceType) {
-            case WALL -> false;
-            case FINISH_DOWN -> newVelocity.getY() >= 0;
-            case FINISH_UP -> newVelocity.getY() <= 0;
-            case FINISH_LEFT -> newVelocity.getX() <= 0;
-            case FINISH_RIGHT -> newVelocity.getX() >= 0;
-            default -> true;
-        };
+    /**
+     * Checks with the {@link CollisionMask}s of the track, that the path does not pass a wall
+     * nor a finish line against its direction.
+     */
+    private boolean checkPathStaysOnTrack(int startCell, int endCell) {
+        int startX = startCell % width;
+        int startY = startCell / width;
+        int endX = endCell % width;
+        int endY = endCell / width;
+        return !track.getCollisionMask(SpaceType.WALL).anySetOnPath(startX, startY, endX, endY)
+                && (endY >= startY || !track.getCollisionMask(SpaceType.FINISH_DOWN).anySetOnPath(startX, startY, endX, endY))
+                && (endY <= startY || !track.getCollisionMask(SpaceType.FINISH_UP).anySetOnPath(startX, startY, endX, endY))
+                && (endX <= startX || !track.getCollisionMask(SpaceType.FINISH_LEFT).anySetOnPath(startX, startY, endX, endY))
+                && (endX >= startX || !track.getCollisionMask(SpaceType.FINISH_RIGHT).anySetOnPath(startX, startY, endX, endY));
     }
 
-    private List<PositionVector> getPositionVectorsWithCount(int count) {
-        List<PositionVector> positionsWithExactCount = new ArrayList<>();
+    /**
+     * The moves of a chunk of a layer to unvisited cells, collected by a parallel expansion.
+     */
+    private class MoveChunk {
+        private int[] cells = new int[CHUNK_SIZE];
+        private int[] priorities = new int[CHUNK_SIZE];
+        private int[] newCounts = new int[CHUNK_SIZE];
+        private int[] newVelocities = new int[CHUNK_SIZE];
+        private int size;
+
+        private void add(int cell, int priority, int count, int velocity) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+                newCounts = Arrays.copyOf(newCounts, size * 2);
+                newVelocities = Arrays.copyOf(newVelocities, size * 2);
+            }
+            cells[size] = cell;
+            priorities[size] = priority;
+            newCounts[size] = count;
+            newVelocities[size] = velocity;
+            size++;
+        }
 
-        for (int y = 0; y < pathPlanningGrid.length; y++) {
-            for (int x = 0; x < pathPlanningGrid[y].length; x++) {
-                if (pathPlanningGrid[y][x].getCount() == count) {
-                    positionsWithExactCount.add(new PositionVector(x, y));
+        /**
+         * Writes the moves, which kept the claim of their cell, and keeps only their cells.
+         */
+        private void applyClaimedMoves() {
+            int claimedSize = 0;
+            for (int i = 0; i < size; i++) {
+                int cell = cells[i];
+                if (claims.get(cell) == Integer.MAX_VALUE - priorities[i]) {
+                    counts[cell] = newCounts[i];
+                    velocities[cell] = newVelocities[i];
+                    cells[claimedSize++] = cell;
                 }
             }
+            size = claimedSize;
+        }
+
+        private void addTargetsTo(CellQueue queue) {
+            for (int i = 0; i < size; i++) {
+                queue.add(cells[i]);
+            }
         }
-        return positionsWithExactCount;
     }
 
-    private static class GridElement {
-        private int count;
-        private PositionVector previousPosition;
-        private PositionVector velocity;
+    /**
+     * Runs the given action for all chunks in the range, splitting the range in halves.
+     */
+    private static class ChunkAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int fromChunk;
+        private final int toChunk;
+        private final transient IntConsumer action;
 
-        private GridElement(boolean isAccessible) {
-            PositionVector nullVector = new PositionVector(0, 0);
-            if (isAccessible) {
-                count = Integer.MAX_VALUE;
+        private ChunkAction(int fromChunk, int toChunk, IntConsumer action) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                action.accept(fromChunk);
             } else {
-                count = Integer.MIN_VALUE;
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkAction(fromChunk, middle, action), new ChunkAction(middle, toChunk, action));
             }
-            this.previousPosition = nullVector;
-            this.velocity = nullVector;
         }
+    }
 
-        private void setCount(int count) {
-            this.count = count;
+    /**
+     * Queue of packed cell indices used by the breadth-first search.
+     * A cell only gets a count once, so the queue never holds more elements than the grid has cells.
+     */
+    private static class CellQueue {
+        private final int[] cells;
+        private int head;
+        private int layerEnd;
+        private int tail;
+
+        private CellQueue(int capacity) {
+            cells = new int[capacity];
         }
 
-        private int getCount() {
-            return count;
+        private void add(int cellIndex) {
+            cells[tail++] = cellIndex;
         }
 
-        private PositionVector getPreviousPosition() {
-            return previousPosition;
+        private boolean hasNextLayer() {
+            return head < tail;
         }
 
-        private void setPreviousPosition(PositionVector previousPosition) {
-            this.previousPosition = previousPosition;
+        private void startNextLayer(boolean parallelSort) {
+            layerEnd = tail;
+            if (parallelSort) {
+                Arrays.parallelSort(cells, head, layerEnd);
+            } else {
+                Arrays.sort(cells, head, layerEnd);
+            }
+        }
+
+        private int getLayerSize() {
+            return layerEnd - head;
+        }
+
+        private int getInLayer(int rank) {
+            return cells[head + rank];
+        }
+
+        private void skipLayer() {
+            head = layerEnd;
+        }
+
+        /**
+         * Returns whether a cell added after the current layer matches the predicate.
+         */
+        private boolean nextLayerContains(IntPredicate predicate) {
+            for (int i = layerEnd; i < tail; i++) {
+                if (predicate.test(cells[i])) {
+                    return true;
+                }
+            }
+            return false;
         }
 
-        private PositionVector getVelocity() {
-            return velocity;
+        private boolean hasNextInLayer() {
+            return head < layerEnd;
         }
 
-        private void setVelocity(PositionVector velocity) {
-            this.velocity = velocity;
+        private int poll() {
+            return cells[head++];
         }
     }
 }
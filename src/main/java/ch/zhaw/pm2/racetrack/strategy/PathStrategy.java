@@ -1,6 +1,7 @@
 package ch.zhaw.pm2.racetrack.strategy;
 
 import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
 
 import java.util.Deque;
 import java.util.LinkedList;
@@ -27,4 +28,62 @@ abstract class PathStrategy implements MoveStrategy {
         }
         return sum;
     }
+
+    /**
+     * Returns the least number of moves, after which a car accelerating at full power has covered the distance.
+     * After n moves with the start speed, it has covered n * speed + sumToZero(n). The estimates of the
+     * {@link AStarFinderStrategy} and the {@link DistanceField} both rely on it to never be too high.
+     *
+     * @param speed    the start speed towards the target, negative if the car moves away from it.
+     * @param distance the distance to the target.
+     * @return the number of moves, 0 if the distance is not positive.
+     */
+    static int calculateMovesForDistance(long speed, long distance) {
+        if (distance <= 0) {
+            return 0;
+        }
+        double linear = 2.0 * speed + 1;
+        int moves = Math.max(0, (int) Math.ceil((-linear + Math.sqrt(linear * linear + 8.0 * distance)) / 2));
+        while (moves * speed + (long) moves * (moves + 1) / 2 < distance) {
+            moves++;
+        }
+        while (moves > 0 && (moves - 1) * speed + (long) (moves - 1) * moves / 2 >= distance) {
+            moves--;
+        }
+        return moves;
+    }
+
+    /**
+     * Returns the highest velocity on an axis of the given length. The car can only reach a velocity,
+     * if it passed at least the sum to zero of it on the grid. The planners of the {@link AStarFinderStrategy}
+     * and the {@link PolicyTable} limit their states with it.
+     *
+     * @param length the width or height of the track.
+     * @return the highest reachable velocity.
+     */
+    static int calculateMaxVelocity(int length) {
+        int velocity = 0;
+        while ((long) (velocity + 1) * (velocity + 2) / 2 < length) {
+            velocity++;
+        }
+        return velocity;
+    }
+
+    /**
+     * Returns whether a step from the previous to the current position onto a finish line field
+     * crosses it in its direction.
+     *
+     * @param spaceType the space type of the current position.
+     * @return true if the space type is a finish line and the step goes in its direction.
+     */
+    static boolean crossesInCorrectDirection(SpaceType spaceType, int previousX, int previousY,
+                                             int currentX, int currentY) {
+        return switch (spaceType) {
+            case FINISH_DOWN -> previousY < currentY;
+            case FINISH_UP -> previousY > currentY;
+            case FINISH_LEFT -> previousX > currentX;
+            case FINISH_RIGHT -> previousX < currentX;
+            default -> false;
+        };
+    }
 }
@@ -0,0 +1,402 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.utils.BresenhamAlgorithm;
+import ch.zhaw.pm2.racetrack.utils.Reader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The best acceleration for every state (position and velocity) of a car on a track, from which the finish line
+ * can be reached, used by the {@link PolicyTableStrategy}.
+ *
+ * <p>The table is solved backwards from the finish line by a breadth-first search over all states: first all states
+ * with a move which crosses the finish line in the correct direction, then all states with a valid move to a state
+ * of the previous layer. A predecessor of the state at position p with velocity v is at position p - v, so all
+ * its nine predecessors share the path to p, which is checked only once. Moves follow the rules of the
+ * {@link AStarFinderStrategy}, using the checks of the {@link PathStrategy}: they are invalid if they hit a wall
+ * or cross a finish line in the wrong direction, and the velocity is limited to what the car can reach on the track.
+ * Other cars are not considered.
+ * As the search goes layer by layer, every state gets a move with the least number of moves to the finish line.</p>
+ * <p>The table stores one byte per state, the ordinal of the {@link Direction} or {@link #NO_MOVE}, so a lookup is
+ * a single array access. It is derived data of the track, see {@link #of(TrackTemplate)} and
+ * {@link TrackTemplate#getDerivedData(Class, java.util.function.Function)}, and can be written next to the track file,
+ * see {@link #load(File, TrackTemplate)}.
+ * A policy file contains, all numbers in big-endian byte order:</p>
+ * <ul>
+ *   <li>the magic number {@link #MAGIC} ("RPOL") and the format {@link #VERSION} as byte</li>
+ *   <li>the hash of the track, see {@link TrackTemplate#getContentHash()}, and the maximum velocity
+ *       in x and in y direction as int</li>
+ *   <li>the table, one byte per state</li>
+ *   <li>the CRC-32 checksum of all bytes before as int</li>
+ * </ul>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class PolicyTable {
+    /**
+     * The first four bytes of a policy file, "RPOL" in ASCII.
+     */
+    public static final int MAGIC = 0x52504F4C;
+    public static final byte VERSION = 1;
+    public static final String FILE_EXTENSION = ".policy";
+    /**
+     * The maximum number of states of a table, so a table and its search fit into memory.
+     */
+    public static final long MAX_STATES = 1L << 25;
+
+    static final byte NO_MOVE = -1;
+
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + 3 * Integer.BYTES;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final SpaceType[] SPACE_TYPES = SpaceType.values();
+    private static final int WALL_ORDINAL = SpaceType.WALL.ordinal();
+
+    private final TrackTemplate template;
+    private final int maxVelocityX;
+    private final int maxVelocityY;
+    private final byte[] moves;
+
+    private PolicyTable(TrackTemplate template, int maxVelocityX, int maxVelocityY, byte[] moves) {
+        this.template = template;
+        this.maxVelocityX = maxVelocityX;
+        this.maxVelocityY = maxVelocityY;
+        this.moves = moves;
+    }
+
+    /**
+     * Returns the policy table of the given template, which is solved on the first request.
+     *
+     * @param template the template of the track.
+     * @return the policy table of the track.
+     * @throws NullPointerException     if template is null.
+     * @throws IllegalArgumentException if the track has more than {@link #MAX_STATES} states.
+     */
+    public static PolicyTable of(TrackTemplate template) {
+        Objects.requireNonNull(template, "template may not be null");
+        TableHolder holder = TableHolder.of(template);
+        synchronized (holder) {
+            if (holder.table == null) {
+                holder.table = solve(template);
+            }
+            return holder.table;
+        }
+    }
+
+    /**
+     * Returns the policy table of the given template, stored in the policy file next to the track file.
+     *
+     * <p>If the template has no table yet, the policy file is read. If it does not exist or belongs to another
+     * version of the track, the table is solved and written to the policy file for later games.
+     * Concurrent calls for the same template wait for the first one, so the table is solved only once.</p>
+     *
+     * @param trackFile the file the template was read from.
+     * @param template  the template of the track.
+     * @return the policy table of the track.
+     * @throws IOException              if the table was solved, but could not be written. It is stored with the
+     *                                  template anyway, so {@link #of(TrackTemplate)} returns it without solving.
+     * @throws NullPointerException     if trackFile or template is null.
+     * @throws IllegalArgumentException if the track has more than {@link #MAX_STATES} states.
+     */
+    public static PolicyTable load(File trackFile, TrackTemplate template) throws IOException {
+        Objects.requireNonNull(trackFile, "trackFile may not be null");
+        Objects.requireNonNull(template, "template may not be null");
+        File policyFile = getPolicyFile(trackFile);
+        TableHolder holder = TableHolder.of(template);
+        synchronized (holder) {
+            if (holder.table == null) {
+                try {
+                    holder.table = read(policyFile, template);
+                } catch (IOException | InvalidFileFormatException e) {
+                    holder.table = solve(template);
+                    holder.table.write(policyFile);
+                }
+            }
+            return holder.table;
+        }
+    }
+
+    /**
+     * Returns the name of the policy file for a track file, its name with {@link #FILE_EXTENSION}
+     * instead of the extension {@link Reader#TRACK_FILE_EXTENSION}.
+     *
+     * @param trackFile the track file.
+     * @return the policy file in the same directory.
+     */
+    public static File getPolicyFile(File trackFile) {
+        return Reader.getDerivedFile(trackFile, FILE_EXTENSION);
+    }
+
+    /**
+     * Reads a policy table of the given track.
+     *
+     * @param policyFile the policy file.
+     * @param template   the template of the track.
+     * @return the policy table.
+     * @throws IOException                if the file can not be read.
+     * @throws InvalidFileFormatException if the file is no policy table of this version or of another track,
+     *                                    or it is damaged.
+     */
+    static PolicyTable read(File policyFile, TrackTemplate template) throws IOException, InvalidFileFormatException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(policyFile.toPath()));
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new InvalidFileFormatException("File is not a policy table of this version!");
+            }
+            if (buffer.getInt() != template.getContentHash()) {
+                throw new InvalidFileFormatException("The policy table does not belong to the track!");
+            }
+            int maxVelocityX = buffer.getInt();
+            int maxVelocityY = buffer.getInt();
+            if (maxVelocityX != PathStrategy.calculateMaxVelocity(template.getWidth())
+                    || maxVelocityY != PathStrategy.calculateMaxVelocity(template.getHeight())) {
+                throw new InvalidFileFormatException("The policy table does not belong to the track!");
+            }
+            long stateCount = getStateCount(template, maxVelocityX, maxVelocityY);
+            if (buffer.remaining() != stateCount + Integer.BYTES) {
+                throw new InvalidFileFormatException("The policy table has the wrong size!");
+            }
+            byte[] moves = new byte[(int) stateCount];
+            buffer.get(moves);
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.array(), 0, HEADER_SIZE + moves.length);
+            if (buffer.getInt() != (int) checksum.getValue()) {
+                throw new InvalidFileFormatException("The policy table is damaged!");
+            }
+            for (byte move : moves) {
+                if (move < NO_MOVE || move >= DIRECTIONS.length) {
+                    throw new InvalidFileFormatException("The policy table contains an invalid move!");
+                }
+            }
+            return new PolicyTable(template, maxVelocityX, maxVelocityY, moves);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidFileFormatException("The policy table is incomplete!");
+        }
+    }
+
+    /**
+     * Writes this table to the given file. The table is written to a temporary file in the same directory first,
+     * which then replaces the file at once, so readers never see a partly written table.
+     *
+     * @param policyFile the policy file to write.
+     * @throws IOException          if the file can not be written.
+     * @throws NullPointerException if policyFile is null.
+     */
+    public void write(File policyFile) throws IOException {
+        Objects.requireNonNull(policyFile, "policyFile may not be null");
+        Path targetPath = policyFile.getAbsoluteFile().toPath();
+        Path temporaryPath = Files.createTempFile(targetPath.getParent(), policyFile.getName(), ".tmp");
+        try {
+            CheckedOutputStream checkedStream = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryPath)), new CRC32());
+            try (DataOutputStream output = new DataOutputStream(checkedStream)) {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeInt(template.getContentHash());
+                output.writeInt(maxVelocityX);
+                output.writeInt(maxVelocityY);
+                output.write(moves);
+                output.writeInt((int) checkedStream.getChecksum().getValue());
+            }
+            Files.move(temporaryPath, targetPath, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Returns the best acceleration for a car in the given state.
+     *
+     * @param x         x-value of the position of the car.
+     * @param y         y-value of the position of the car.
+     * @param velocityX x-value of the velocity of the car.
+     * @param velocityY y-value of the velocity of the car.
+     * @return the acceleration of the first move of a shortest way to the finish line,
+     * or null if there is none from this state.
+     */
+    public Direction getMove(int x, int y, int velocityX, int velocityY) {
+        if (x < 0 || x >= template.getWidth() || y < 0 || y >= template.getHeight()
+                || Math.abs(velocityX) > maxVelocityX || Math.abs(velocityY) > maxVelocityY) {
+            return null;
+        }
+        byte move = moves[toState(x, y, velocityX, velocityY)];
+        return move == NO_MOVE ? null : DIRECTIONS[move];
+    }
+
+    /**
+     * Returns the track of the table.
+     *
+     * @return the shared track template.
+     */
+    public TrackTemplate getTemplate() {
+        return template;
+    }
+
+    private int toState(int x, int y, int velocityX, int velocityY) {
+        int velocity = (velocityX + maxVelocityX) * (2 * maxVelocityY + 1) + velocityY + maxVelocityY;
+        return (y * template.getWidth() + x) * (2 * maxVelocityX + 1) * (2 * maxVelocityY + 1) + velocity;
+    }
+
+    private static long getStateCount(TrackTemplate template, int maxVelocityX, int maxVelocityY) {
+        return (long) template.getWidth() * template.getHeight() * (2 * maxVelocityX + 1) * (2 * maxVelocityY + 1);
+    }
+
+    private static PolicyTable solve(TrackTemplate template) {
+        int maxVelocityX = PathStrategy.calculateMaxVelocity(template.getWidth());
+        int maxVelocityY = PathStrategy.calculateMaxVelocity(template.getHeight());
+        long stateCount = getStateCount(template, maxVelocityX, maxVelocityY);
+        if (stateCount > MAX_STATES) {
+            throw new IllegalArgumentException("The track is too large for a policy table!");
+        }
+        byte[] moves = new byte[(int) stateCount];
+        Arrays.fill(moves, NO_MOVE);
+        PolicyTable table = new PolicyTable(template, maxVelocityX, maxVelocityY, moves);
+        table.solveBackwards();
+        return table;
+    }
+
+    /**
+     * Fills the table by a breadth-first search backwards from the finish line.
+     */
+    private void solveBackwards() {
+        int width = template.getWidth();
+        int height = template.getHeight();
+        int velocityCount = (2 * maxVelocityX + 1) * (2 * maxVelocityY + 1);
+        int[] queue = new int[moves.length];
+        int tail = addFinishingStates(queue);
+
+        for (int head = 0; head < tail; head++) {
+            int state = queue[head];
+            int cell = state / velocityCount;
+            int velocityX = state % velocityCount / (2 * maxVelocityY + 1) - maxVelocityX;
+            int velocityY = state % (2 * maxVelocityY + 1) - maxVelocityY;
+            int x = cell % width;
+            int y = cell / width;
+            int previousX = x - velocityX;
+            int previousY = y - velocityY;
+            if (previousX < 0 || previousX >= width || previousY < 0 || previousY >= height
+                    || !isValidPath(previousX, previousY, x, y)) {
+                continue;
+            }
+            for (Direction direction : DIRECTIONS) {
+                int previousVelocityX = velocityX - direction.vector.getX();
+                int previousVelocityY = velocityY - direction.vector.getY();
+                if (Math.abs(previousVelocityX) <= maxVelocityX && Math.abs(previousVelocityY) <= maxVelocityY) {
+                    int previousState = toState(previousX, previousY, previousVelocityX, previousVelocityY);
+                    if (moves[previousState] == NO_MOVE) {
+                        moves[previousState] = (byte) direction.ordinal();
+                        queue[tail++] = previousState;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A move without velocity stays on its position, otherwise the path may neither touch a wall nor a finish line,
+     * as touching the finish line either wins or is invalid.
+     */
+    private boolean isValidPath(int startX, int startY, int endX, int endY) {
+        if (startX == endX && startY == endY) {
+            return template.getSpaceTypeOrdinal(startX, startY) != WALL_ORDINAL;
+        }
+        return !template.getCollisionMask(SpaceType.WALL).anySetOnPath(startX, startY, endX, endY)
+                && !template.getFinishLineMask().anySetOnPath(startX, startY, endX, endY);
+    }
+
+    /**
+     * Adds all states with a move which wins to the queue and stores the first of these moves.
+     * Only states at most one move away from the finish line, according to the {@link DistanceField}, are checked.
+     *
+     * @return the number of added states.
+     */
+    private int addFinishingStates(int[] queue) {
+        DistanceField distanceField = DistanceField.of(template);
+        FinishChecker finishChecker = new FinishChecker();
+        int tail = 0;
+        for (int y = 0; y < template.getHeight(); y++) {
+            for (int x = 0; x < template.getWidth(); x++) {
+                for (int velocityX = -maxVelocityX; velocityX <= maxVelocityX; velocityX++) {
+                    for (int velocityY = -maxVelocityY; velocityY <= maxVelocityY; velocityY++) {
+                        if (distanceField.estimateMoves(x, y, velocityX, velocityY) != 1) {
+                            continue;
+                        }
+                        for (Direction direction : DIRECTIONS) {
+                            int newVelocityX = velocityX + direction.vector.getX();
+                            int newVelocityY = velocityY + direction.vector.getY();
+                            if ((newVelocityX != 0 || newVelocityY != 0)
+                                    && Math.abs(newVelocityX) <= maxVelocityX && Math.abs(newVelocityY) <= maxVelocityY
+                                    && finishChecker.isWinningMove(x, y, newVelocityX, newVelocityY)) {
+                                int state = toState(x, y, velocityX, velocityY);
+                                moves[state] = (byte) direction.ordinal();
+                                queue[tail++] = state;
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Walks along the path of a move and stops at the first wall or finish line field.
+     * A single instance is reused for all moves.
+     */
+    private class FinishChecker implements BresenhamAlgorithm.PathVisitor {
+        private int previousX;
+        private int previousY;
+        private boolean finished;
+
+        private boolean isWinningMove(int startX, int startY, int velocityX, int velocityY) {
+            previousX = startX;
+            previousY = startY;
+            finished = false;
+            BresenhamAlgorithm.walkPath(startX, startY, startX + velocityX, startY + velocityY, this);
+            return finished;
+        }
+
+        @Override
+        public boolean visit(int x, int y) {
+            SpaceType spaceType = SPACE_TYPES[template.getSpaceTypeOrdinal(x, y)];
+            if (spaceType == SpaceType.WALL) {
+                return false;
+            } else if (spaceType != SpaceType.TRACK) {
+                finished = PathStrategy.crossesInCorrectDirection(spaceType, previousX, previousY, x, y);
+                return false;
+            }
+            previousX = x;
+            previousY = y;
+            return true;
+        }
+    }
+
+    /**
+     * The table of a template, stored with the template. The holder is created without solving, and the table
+     * is solved or read while holding its lock, so it is computed once even if several threads request it.
+     */
+    private static final class TableHolder {
+        private PolicyTable table;
+
+        private static TableHolder of(TrackTemplate template) {
+            return template.getDerivedData(TableHolder.class, t -> new TableHolder());
+        }
+    }
+}
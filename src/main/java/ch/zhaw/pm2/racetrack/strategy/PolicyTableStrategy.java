@@ -0,0 +1,64 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.CarStateStore;
+import ch.zhaw.pm2.racetrack.model.Track;
+
+import java.util.Objects;
+
+/**
+ * Class PolicyTableStrategy which implements class MoveStrategy.
+ * Looks up the next move for the current state of the car in the {@link PolicyTable} of the track.
+ *
+ * <p>In contrast to the {@link PathFinderStrategy}, the moves are not planned for the start of the car only,
+ * so the car still finds the shortest way to the finish line after it left the planned path.
+ * If there is no way from its state, it does not accelerate.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public class PolicyTableStrategy implements MoveStrategy {
+    private final PolicyTable policyTable;
+    private final CarStateStore carStates;
+    private final int carIndex;
+
+    /**
+     * Constructs a new instance of the PolicyTableStrategy class for a given track and car.
+     *
+     * @param track       the track on which the car is running.
+     * @param carIndex    the index of the car.
+     * @param policyTable the policy table of the track.
+     * @throws NullPointerException     if track or policyTable is null.
+     * @throws IllegalArgumentException if the car index is invalid or the table belongs to another track.
+     */
+    public PolicyTableStrategy(Track track, int carIndex, PolicyTable policyTable) {
+        Objects.requireNonNull(track, "track may not be null!");
+        this.policyTable = Objects.requireNonNull(policyTable, "policyTable may not be null!");
+
+        if (carIndex < 0 || carIndex >= track.getCarCount()) {
+            throw new IllegalArgumentException("Invalid car index!");
+        }
+        if (policyTable.getTemplate() != track.getTemplate()) {
+            throw new IllegalArgumentException("The policy table belongs to another track!");
+        }
+
+        this.carStates = track.getCarStateStore();
+        this.carIndex = carIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the move from the policy table for the current state of the car, or NONE if there is no way
+     * to the finish line.
+     */
+    @Override
+    public Direction nextMove() {
+        Direction nextMove = policyTable.getMove(carStates.getPositionX(carIndex), carStates.getPositionY(carIndex),
+                carStates.getVelocityX(carIndex), carStates.getVelocityY(carIndex));
+        if (nextMove == null) {
+            nextMove = Direction.NONE;
+        }
+        return nextMove;
+    }
+}
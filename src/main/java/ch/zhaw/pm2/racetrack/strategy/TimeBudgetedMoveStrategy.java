@@ -0,0 +1,47 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+
+/**
+ * Move Strategy, which has to determine every move within a time budget. Instead of planning all moves
+ * up front, it refines its plan until the deadline of the move and returns the best move found so far.
+ *
+ * <p>The deadlines are values of {@link System#nanoTime()}. If a move could not be determined in time,
+ * e.g. as no move was found at all before the deadline, the deadline is counted as missed.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public interface TimeBudgetedMoveStrategy extends MoveStrategy {
+    /**
+     * Determine direction to accelerate in the next move before the given deadline.
+     *
+     * @param deadlineNanos the value of {@link System#nanoTime()}, at which the move is due.
+     * @return Direction vector to accelerate in the next move.
+     */
+    Direction nextMove(long deadlineNanos);
+
+    /**
+     * Returns the time budget of a move.
+     *
+     * @return the time from the request of a move to its deadline in nanoseconds.
+     */
+    long getMoveBudgetNanos();
+
+    /**
+     * Returns the number of moves, which were returned after their deadline.
+     *
+     * @return the number of missed deadlines.
+     */
+    int getMissedDeadlines();
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The deadline of the move is one time budget from now.</p>
+     */
+    @Override
+    default Direction nextMove() {
+        return nextMove(System.nanoTime() + getMoveBudgetNanos());
+    }
+}
@@ -38,10 +38,28 @@ public final class BresenhamAlgorithm {
      */
     public List<PositionVector> calculatePath() {
         List<PositionVector> path = new ArrayList<>();
+        walkPath(startPosition.getX(), startPosition.getY(), endPosition.getX(), endPosition.getY(),
+                (x, y) -> path.add(new PositionVector(x, y)));
+        return path;
+    }
+
+    /**
+     * Walks along the line between the given points and passes every crossed point to the visitor,
+     * starting with the start point and ending with the end point.<br/>
+     * No objects are created, so this can be used where many paths have to be checked.
+     *
+     * @param startX  x-value of the starting point.
+     * @param startY  y-value of the starting point.
+     * @param endX    x-value of the ending point.
+     * @param endY    y-value of the ending point.
+     * @param visitor is called for every point, the walk stops if it returns false.
+     * @return true if all points were visited, false if the visitor stopped the walk.
+     */
+    public static boolean walkPath(int startX, int startY, int endX, int endY, PathVisitor visitor) {
         // Use Bresenham's algorithm to determine positions.
         // Relative Distance (x & y-axis) between end- and starting position
-        int differenceX = endPosition.getX() - startPosition.getX();
-        int differenceY = endPosition.getY() - startPosition.getY();
+        int differenceX = endX - startX;
+        int differenceY = endY - startY;
 
         // Absolute distance (x & y-axis) between end- and starting position
         int distanceX = Math.abs(differenceX);
@@ -75,11 +93,13 @@ public final class BresenhamAlgorithm {
         }
 
         // initialize path loop
-        int x = startPosition.getX();
-        int y = startPosition.getY();
+        int x = startX;
+        int y = startY;
         int error = distanceFastAxis / 2; // set to half distance to get a good starting value
 
-        path.add(new PositionVector(x, y));
+        if (!visitor.visit(x, y)) {
+            return false;
+        }
         // path loop:
         // by default step parallel to the fast axis.
         // if error value gets negative take a diagonal step
@@ -97,8 +117,25 @@ public final class BresenhamAlgorithm {
                 x += parallelStepX;
                 y += parallelStepY;
             }
-            path.add(new PositionVector(x, y));
+            if (!visitor.visit(x, y)) {
+                return false;
+            }
         }
-        return path;
+        return true;
+    }
+
+    /**
+     * Callback for {@link BresenhamAlgorithm#walkPath(int, int, int, int, PathVisitor)}.
+     */
+    @FunctionalInterface
+    public interface PathVisitor {
+        /**
+         * Is called for every point on the path.
+         *
+         * @param x x-value of the point.
+         * @param y y-value of the point.
+         * @return true to continue with the next point, false to stop the walk.
+         */
+        boolean visit(int x, int y);
     }
 }
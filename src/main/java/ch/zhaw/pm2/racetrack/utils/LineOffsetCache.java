@@ -0,0 +1,118 @@
+package ch.zhaw.pm2.racetrack.utils;
+
+/**
+ * Cache of the positions crossed by a move, relative to the starting position.
+ * <p>The path of a move calculated by {@link BresenhamAlgorithm} only depends on the velocity vector,
+ * so for every velocity up to the maximum speed the relative offsets are calculated once, when they are
+ * used first, and stored as flat int array (x0, y0, x1, y1, ...).
+ * The memory used is bounded by the maximum speed: at most (2 * maxSpeed + 1)&sup2; arrays
+ * of at most 2 * (maxSpeed + 1) values.</p>
+ * <p>Velocities above the maximum speed are not cached, but calculated on the fly.</p>
+ * <p>The cache is not thread safe, each game or strategy uses its own instance.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class LineOffsetCache {
+
+    /**
+     * Maximum speed used if none is given, which covers all velocities reachable on the tracks in the tracks folder.
+     */
+    public static final int DEFAULT_MAX_SPEED = 16;
+
+    private final int maxSpeed;
+    private final int[][] offsets;
+
+    /**
+     * Constructs a new cache with the {@link #DEFAULT_MAX_SPEED}.
+     */
+    public LineOffsetCache() {
+        this(DEFAULT_MAX_SPEED);
+    }
+
+    /**
+     * Constructs a new cache for velocities up to the given speed on both axes.
+     *
+     * @param maxSpeed the highest absolute velocity per axis, which is cached.
+     * @throws IllegalArgumentException if maxSpeed is negative.
+     */
+    public LineOffsetCache(int maxSpeed) {
+        if (maxSpeed < 0) {
+            throw new IllegalArgumentException("maxSpeed may not be negative!");
+        }
+        this.maxSpeed = maxSpeed;
+        int size = 2 * maxSpeed + 1;
+        offsets = new int[size * size][];
+    }
+
+    /**
+     * Returns the highest absolute velocity per axis, which is cached.
+     *
+     * @return the maximum speed of this cache.
+     */
+    public int getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    /**
+     * Returns the offsets of all positions crossed by a move with the given velocity, including the start (0, 0)
+     * and the end (velocityX, velocityY), as flat array of x/y pairs.<br/>
+     * The returned array is shared and must not be modified.
+     *
+     * @param velocityX x-value of the velocity.
+     * @param velocityY y-value of the velocity.
+     * @return offsets x0, y0, x1, y1, ... relative to the starting position.
+     */
+    public int[] getOffsets(int velocityX, int velocityY) {
+        if (!isCached(velocityX, velocityY)) {
+            return calculateOffsets(velocityX, velocityY);
+        }
+        int index = (velocityX + maxSpeed) * (2 * maxSpeed + 1) + (velocityY + maxSpeed);
+        int[] cachedOffsets = offsets[index];
+        if (cachedOffsets == null) {
+            cachedOffsets = calculateOffsets(velocityX, velocityY);
+            offsets[index] = cachedOffsets;
+        }
+        return cachedOffsets;
+    }
+
+    /**
+     * Walks along the path of a move the same way as
+     * {@link BresenhamAlgorithm#walkPath(int, int, int, int, BresenhamAlgorithm.PathVisitor)},
+     * but uses the cached offsets, if the velocity is not above the maximum speed.
+     *
+     * @param startX    x-value of the starting point.
+     * @param startY    y-value of the starting point.
+     * @param velocityX x-value of the velocity.
+     * @param velocityY y-value of the velocity.
+     * @param visitor   is called for every point, the walk stops if it returns false.
+     * @return true if all points were visited, false if the visitor stopped the walk.
+     */
+    public boolean walkPath(int startX, int startY, int velocityX, int velocityY, BresenhamAlgorithm.PathVisitor visitor) {
+        if (!isCached(velocityX, velocityY)) {
+            return BresenhamAlgorithm.walkPath(startX, startY, startX + velocityX, startY + velocityY, visitor);
+        }
+        int[] path = getOffsets(velocityX, velocityY);
+        for (int i = 0; i < path.length; i += 2) {
+            if (!visitor.visit(startX + path[i], startY + path[i + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isCached(int velocityX, int velocityY) {
+        return Math.abs(velocityX) <= maxSpeed && Math.abs(velocityY) <= maxSpeed;
+    }
+
+    private static int[] calculateOffsets(int velocityX, int velocityY) {
+        int[] path = new int[2 * (Math.max(Math.abs(velocityX), Math.abs(velocityY)) + 1)];
+        int[] length = {0};
+        BresenhamAlgorithm.walkPath(0, 0, velocityX, velocityY, (x, y) -> {
+            path[length[0]++] = x;
+            path[length[0]++] = y;
+            return true;
+        });
+        return path;
+    }
+}
@@ -11,10 +11,30 @@ import java.nio.file.Files;
  * @version 1.0
  */
 public final class Reader {
+    /**
+     * The extension of the track files.
+     */
+    public static final String TRACK_FILE_EXTENSION = ".txt";
 
     private Reader() {
     }
 
+    /**
+     * Returns the file for data derived from a track file, e.g. the compiled track, in the same directory.
+     * It has the name of the track file with the given extension instead of {@link #TRACK_FILE_EXTENSION}.
+     *
+     * @param trackFile the track file.
+     * @param extension the extension of the derived file, including the dot.
+     * @return the derived file next to the track file.
+     */
+    public static File getDerivedFile(File trackFile, String extension) {
+        String name = trackFile.getName();
+        if (name.endsWith(TRACK_FILE_EXTENSION)) {
+            name = name.substring(0, name.length() - TRACK_FILE_EXTENSION.length());
+        }
+        return new File(trackFile.getParentFile(), name + extension);
+    }
+
     /**
      * Reads a given file and returns its lines.
      *
@@ -0,0 +1,260 @@
+package ch.zhaw.pm2.racetrack.utils;
+
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.given.TrackSpecification;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Generates track files of any size from a seed, e.g. to test how the game scales with large tracks.
+ *
+ * <p>The track is a maze of corridors surrounded by walls. The corridors are laid out on a grid of square rooms,
+ * which are connected by a randomized depth-first search, so there is exactly one way from every room to every
+ * other room. The cars start in the upper left room with a free position between them, the finish line is placed
+ * across the room farthest away from it and points in the direction the cars arrive from.</p>
+ * <p>The corridor width and the complexity define how difficult the track is: narrow corridors give more rooms
+ * and a longer way, a high complexity makes the way turn often instead of following long straight corridors.</p>
+ * <p>The same seed and settings always give the same track, as the maze only depends on {@link Random},
+ * whose sequence is defined for a given seed. The maze uses one byte per room, the track lines are created
+ * one by one from it, so huge tracks can be written to a file without keeping the whole track in memory.</p>
+ *
+ * @author Team03 - Stackoverflow
+ * @version 1.0
+ */
+public final class TrackGenerator {
+    private static final char WALL = SpaceType.WALL.getSpaceChar();
+    private static final char TRACK = SpaceType.TRACK.getSpaceChar();
+
+    private static final int EAST = 0;
+    private static final int SOUTH = 1;
+    private static final int WEST = 2;
+    private static final int NORTH = 3;
+    private static final int[] DIRECTION_X = {1, 0, -1, 0};
+    private static final int[] DIRECTION_Y = {0, 1, 0, -1};
+
+    private static final int OPEN_EAST = 1;
+    private static final int OPEN_SOUTH = 1 << 1;
+    private static final int VISITED = 1 << 2;
+    private static final int PARENT_SHIFT = 3;
+
+    private final int width;
+    private final int height;
+    private final int corridorWidth;
+    private final double complexity;
+    private final int carCount;
+    private final int roomsX;
+    private final int roomsY;
+
+    /**
+     * Constructs a new TrackGenerator for tracks with the given settings.
+     *
+     * @param width         width (number of columns) of the track.
+     * @param height        height (number of rows) of the track.
+     * @param corridorWidth the width of the corridors, at least 1.
+     * @param complexity    the probability between 0 and 1, that the way turns where it could go straight on.
+     * @param carCount      the number of cars, between 1 and {@link TrackSpecification#MAX_CARS}
+     *                      and at most (corridorWidth + 1) / 2 squared.
+     * @throws IllegalArgumentException if a value is out of range, the track is too small for two rooms,
+     *                                  or a room is too small for all cars.
+     */
+    public TrackGenerator(int width, int height, int corridorWidth, double complexity, int carCount) {
+        if (corridorWidth < 1) {
+            throw new IllegalArgumentException("corridorWidth must be at least 1!");
+        }
+        if (complexity < 0 || complexity > 1) {
+            throw new IllegalArgumentException("complexity must be between 0 and 1!");
+        }
+        if (carCount < 1 || carCount > TrackSpecification.MAX_CARS
+                || carCount > getCarsPerLine(corridorWidth) * getCarsPerLine(corridorWidth)) {
+            throw new IllegalArgumentException("Invalid car count!");
+        }
+        this.width = width;
+        this.height = height;
+        this.corridorWidth = corridorWidth;
+        this.complexity = complexity;
+        this.carCount = carCount;
+        roomsX = Math.max(0, (width - 1) / (corridorWidth + 1));
+        roomsY = Math.max(0, (height - 1) / (corridorWidth + 1));
+        if ((long) roomsX * roomsY < 2) {
+            throw new IllegalArgumentException("The track is too small for the corridor width!");
+        }
+    }
+
+    /**
+     * The cars start on every second position of every second line of the first room, so they do not block each other.
+     */
+    private static int getCarsPerLine(int corridorWidth) {
+        return (corridorWidth + 1) / 2;
+    }
+
+    /**
+     * Generates the lines of a track.
+     *
+     * @param seed the seed of the random maze.
+     * @return the lines of the track, as read from a track file.
+     */
+    public String[] generate(long seed) {
+        Maze maze = new Maze(seed);
+        String[] lines = new String[height];
+        char[] line = new char[width];
+        for (int y = 0; y < height; y++) {
+            maze.fillLine(y, line);
+            lines[y] = new String(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Generates a track and writes it to the given file line by line.
+     *
+     * @param seed the seed of the random maze.
+     * @param file the track file to write.
+     * @throws IOException if the file could not be written.
+     */
+    public void write(long seed, File file) throws IOException {
+        Maze maze = new Maze(seed);
+        char[] line = new char[width];
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (int y = 0; y < height; y++) {
+                maze.fillLine(y, line);
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * The rooms of a track and the passages between them.
+     * Each room is stored as byte with the open passages to the east and south, a visited flag
+     * and the direction back to the room it was reached from.
+     */
+    private class Maze {
+        private final byte[] rooms = new byte[roomsX * roomsY];
+        private int finishRoom;
+        private int finishDirection;
+
+        Maze(long seed) {
+            Random random = new Random(seed);
+            int[] candidates = new int[DIRECTION_X.length];
+            int room = 0;
+            int depth = 0;
+            int maxDepth = 0;
+            int direction = EAST;
+            rooms[room] = VISITED;
+
+            while (true) {
+                int candidateCount = 0;
+                boolean straightPossible = false;
+                for (int candidate = 0; candidate < candidates.length; candidate++) {
+                    if (isUnvisitedNeighbour(room, candidate)) {
+                        candidates[candidateCount++] = candidate;
+                        straightPossible |= candidate == direction;
+                    }
+                }
+
+                if (candidateCount > 0) {
+                    if (!straightPossible || random.nextDouble() < complexity) {
+                        direction = candidates[random.nextInt(candidateCount)];
+                    }
+                    room = openPassage(room, direction);
+                    depth++;
+                    if (depth > maxDepth) {
+                        maxDepth = depth;
+                        finishRoom = room;
+                        finishDirection = direction;
+                    }
+                } else if (room == 0) {
+                    break;
+                } else {
+                    room = getNeighbour(room, rooms[room] >> PARENT_SHIFT);
+                    depth--;
+                }
+            }
+        }
+
+        private boolean isUnvisitedNeighbour(int room, int direction) {
+            int x = room % roomsX + DIRECTION_X[direction];
+            int y = room / roomsX + DIRECTION_Y[direction];
+            return x >= 0 && x < roomsX && y >= 0 && y < roomsY && (rooms[y * roomsX + x] & VISITED) == 0;
+        }
+
+        private int getNeighbour(int room, int direction) {
+            return room + DIRECTION_X[direction] + DIRECTION_Y[direction] * roomsX;
+        }
+
+        /**
+         * Opens the passage from the room in the given direction and returns the newly visited neighbour.
+         */
+        private int openPassage(int room, int direction) {
+            int neighbour = getNeighbour(room, direction);
+            switch (direction) {
+                case EAST -> rooms[room] |= OPEN_EAST;
+                case SOUTH -> rooms[room] |= OPEN_SOUTH;
+                case WEST -> rooms[neighbour] |= OPEN_EAST;
+                case NORTH -> rooms[neighbour] |= OPEN_SOUTH;
+            }
+            rooms[neighbour] |= VISITED | ((direction + 2) % 4) << PARENT_SHIFT;
+            return neighbour;
+        }
+
+        /**
+         * Fills the given array with the characters of the line at the given y-value.
+         */
+        void fillLine(int y, char[] line) {
+            int pitch = corridorWidth + 1;
+            int roomY = (y - 1) / pitch;
+            int offsetY = (y - 1) % pitch;
+            for (int x = 0; x < width; x++) {
+                int roomX = (x - 1) / pitch;
+                int offsetX = (x - 1) % pitch;
+                if (x == 0 || y == 0 || roomX >= roomsX || roomY >= roomsY) {
+                    line[x] = WALL;
+                } else if (offsetX < corridorWidth && offsetY < corridorWidth) {
+                    line[x] = getRoomChar(roomY * roomsX + roomX, offsetX, offsetY);
+                } else if (offsetY < corridorWidth) {
+                    line[x] = (rooms[roomY * roomsX + roomX] & OPEN_EAST) != 0 ? TRACK : WALL;
+                } else if (offsetX < corridorWidth) {
+                    line[x] = (rooms[roomY * roomsX + roomX] & OPEN_SOUTH) != 0 ? TRACK : WALL;
+                } else {
+                    line[x] = WALL;
+                }
+            }
+        }
+
+        /**
+         * Returns the character inside a room: a car in the first room, the finish line across the middle
+         * of the finish room or track.
+         */
+        private char getRoomChar(int room, int offsetX, int offsetY) {
+            int middle = corridorWidth / 2;
+            if (room == 0 && offsetX % 2 == 0 && offsetY % 2 == 0) {
+                int car = offsetY / 2 * getCarsPerLine(corridorWidth) + offsetX / 2;
+                if (car < carCount) {
+                    return (char) ('a' + car);
+                }
+            }
+            if (room == finishRoom) {
+                switch (finishDirection) {
+                    case EAST, WEST -> {
+                        if (offsetX == middle) {
+                            return finishDirection == EAST ? SpaceType.FINISH_RIGHT.getSpaceChar()
+                                    : SpaceType.FINISH_LEFT.getSpaceChar();
+                        }
+                    }
+                    default -> {
+                        if (offsetY == middle) {
+                            return finishDirection == SOUTH ? SpaceType.FINISH_DOWN.getSpaceChar()
+                                    : SpaceType.FINISH_UP.getSpaceChar();
+                        }
+                    }
+                }
+            }
+            return TRACK;
+        }
+    }
+}
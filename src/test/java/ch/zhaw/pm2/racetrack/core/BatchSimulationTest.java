@@ -0,0 +1,88 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link BatchSimulation} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class BatchSimulationTest {
+    private static final File QUARTER_MILE = new File("tracks/quarter-mile.txt");
+
+    /**
+     * All games of deterministic strategies end the same, no matter on which thread they run.
+     */
+    @Test
+    public void parallelGamesHaveSameResult() throws Exception {
+        BatchSimulation simulation = new BatchSimulation(QUARTER_MILE, List.of(
+                BatchSimulation.getStrategyFactory(StrategyType.PATH_FINDER, null),
+                BatchSimulation.getStrategyFactory(StrategyType.DO_NOT_MOVE, null)), BatchSimulation.DEFAULT_MAX_TURNS);
+
+        BatchResult result = simulation.run(20, 4);
+
+        assertEquals(20, result.getGames());
+        assertEquals(20, result.getWins(0));
+        assertEquals(0, result.getWins(1));
+        assertEquals(0, result.getGamesWithoutWinner());
+        assertEquals(result.getMinTurnsToWin(), result.getMaxTurnsToWin());
+        assertEquals((double) result.getMinTurnsToWin(), result.getAverageTurnsToWin());
+        assertTrue(result.getGamesPerSecond() > 0);
+    }
+
+    /**
+     * Games in which no car reaches the finish line end after the maximum number of turns.
+     */
+    @Test
+    public void gamesWithoutWinnerEndAfterMaxTurns() throws Exception {
+        BatchSimulation simulation = new BatchSimulation(QUARTER_MILE, List.of(
+                BatchSimulation.getStrategyFactory(StrategyType.PATH_FINDER, null),
+                BatchSimulation.getStrategyFactory(StrategyType.A_STAR_FINDER, null)), 10);
+
+        BatchResult result = simulation.run(3, 2);
+
+        assertEquals(3, result.getGamesWithoutWinner());
+        assertEquals(0, result.getMinTurnsToWin());
+    }
+
+    /**
+     * In the simultaneous-move mode, the cars which do not interfere reach the finish line with the same moves.
+     */
+    @Test
+    public void simultaneousGamesHaveSameResult() throws Exception {
+        List<BatchSimulation.StrategyFactory> strategyFactories = List.of(
+                BatchSimulation.getStrategyFactory(StrategyType.PATH_FINDER, null),
+                BatchSimulation.getStrategyFactory(StrategyType.DO_NOT_MOVE, null));
+        BatchResult turnBased = new BatchSimulation(QUARTER_MILE, strategyFactories, BatchSimulation.DEFAULT_MAX_TURNS)
+                .run(4, 2);
+
+        BatchResult simultaneous = new BatchSimulation(QUARTER_MILE, strategyFactories,
+                BatchSimulation.DEFAULT_MAX_TURNS, true).run(4, 2);
+
+        assertEquals(4, simultaneous.getWins(0));
+        assertEquals(turnBased.getMinTurnsToWin(), simultaneous.getMinTurnsToWin());
+        assertEquals(simultaneous.getMinTurnsToWin(), simultaneous.getMaxTurnsToWin());
+    }
+
+    @Test
+    public void invalidArgumentsThrowException() {
+        List<BatchSimulation.StrategyFactory> oneStrategy = List.of(
+                BatchSimulation.getStrategyFactory(StrategyType.PATH_FINDER, null));
+
+        assertThrows(IllegalArgumentException.class, () -> BatchSimulation.getStrategyFactory(StrategyType.USER, null));
+        assertThrows(IllegalArgumentException.class, () -> BatchSimulation.getStrategyFactory(StrategyType.MOVE_LIST, null));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulation(QUARTER_MILE, oneStrategy, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSimulation(QUARTER_MILE, oneStrategy, 10).run(1, 1));
+        assertThrows(IOException.class, () -> new BatchSimulation(new File("tracks/missing.txt"), oneStrategy, 10).run(1, 1));
+    }
+}
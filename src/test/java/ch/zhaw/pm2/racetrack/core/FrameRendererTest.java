@@ -0,0 +1,78 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link FrameRenderer} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class FrameRendererTest {
+    private static final String CLEAR_SCREEN = "\u001b[H\u001b[2J";
+    private static final String FRAME = "#####\n# a #\n#  b#\n#####\n";
+
+    private FrameRenderer frameRenderer;
+
+    @BeforeEach
+    void setUp() {
+        frameRenderer = new FrameRenderer();
+    }
+
+    /**
+     * The first frame is written completely after clearing the screen.
+     */
+    @Test
+    public void firstFrameIsWrittenCompletely() {
+        assertEquals(CLEAR_SCREEN + FRAME, frameRenderer.render(FRAME));
+    }
+
+    @Test
+    public void unchangedFrameWritesNothing() {
+        frameRenderer.render(FRAME);
+        assertEquals("", frameRenderer.render(FRAME));
+    }
+
+    /**
+     * Only the changed positions are written, after that the cursor is moved below the track.
+     */
+    @Test
+    public void changedPositionsAreWritten() {
+        frameRenderer.render(FRAME);
+        String frame = "#####\n#  a#\n# b #\n#####\n";
+        assertEquals("\u001b[2;3H a\u001b[3;3Hb \u001b[5;1H", frameRenderer.render(frame));
+    }
+
+    @Test
+    public void differentSizeIsWrittenCompletely() {
+        frameRenderer.render(FRAME);
+        String frame = "######\n# a  #\n#  b #\n######\n";
+        assertEquals(CLEAR_SCREEN + frame, frameRenderer.render(frame));
+    }
+
+    /**
+     * If the lines are of different length but the frame size is the same, the frame is written completely.
+     */
+    @Test
+    public void differentLinesAreWrittenCompletely() {
+        frameRenderer.render(FRAME);
+        String frame = "####\n## a #\n#  b#\n#####\n";
+        assertEquals(CLEAR_SCREEN + frame, frameRenderer.render(frame));
+    }
+
+    @Test
+    public void invalidatedFrameIsWrittenCompletely() {
+        frameRenderer.render(FRAME);
+        frameRenderer.invalidate();
+        assertEquals(CLEAR_SCREEN + FRAME, frameRenderer.render(FRAME));
+    }
+
+    @Test
+    public void nullFrameThrowsException() {
+        assertThrows(NullPointerException.class, () -> frameRenderer.render(null));
+    }
+}
@@ -0,0 +1,85 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.Car;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link GameState} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class GameStateTest {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static void assertSameState(Game game, Track track, GameState state) {
+        assertEquals(game.getWinner(), state.getWinner());
+        assertEquals(game.getCurrentCarIndex(), state.getCurrentCarIndex());
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            Car car = track.getCar(carIndex);
+            assertEquals(car.getPositionX(), state.getCarPositionX(carIndex));
+            assertEquals(car.getPositionY(), state.getCarPositionY(carIndex));
+            assertEquals(car.getVelocityX(), state.getCarVelocityX(carIndex));
+            assertEquals(car.getVelocityY(), state.getCarVelocityY(carIndex));
+            assertEquals(car.isCrashed(), state.isCarCrashed(carIndex));
+            assertEquals(game.isCheating(carIndex), state.isCarCheating(carIndex));
+        }
+    }
+
+    /**
+     * Random games, played with the {@link Game} and with states, end with the same cars, crashes and winners.
+     */
+    @Test
+    public void applyFollowsGameRules() throws IOException, InvalidFileFormatException {
+        String[] trackFiles = {"tracks/challenge.txt", "tracks/quarter-mile.txt",
+                "src/test/resources/tracks/quarter-mile-with-5-cars.txt"};
+        Random random = new Random(42);
+        for (String trackFile : trackFiles) {
+            TrackTemplate template = new TrackTemplate(new File(trackFile));
+            for (int gameNumber = 0; gameNumber < 200; gameNumber++) {
+                Track track = new Track(template);
+                Game game = new Game(track);
+                GameState state = GameState.initial(template);
+                assertSameState(game, track, state);
+                for (int turn = 0; turn < 40 && game.getWinner() == Game.NO_WINNER; turn++) {
+                    Direction acceleration = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+                    game.doCarTurn(acceleration);
+                    if (game.getWinner() == Game.NO_WINNER && game.getActiveCarCount() > 0) {
+                        game.switchToNextActiveCar();
+                    }
+                    state = state.apply(acceleration);
+                    assertSameState(game, track, state);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void applyDoesNotChangeState() throws IOException, InvalidFileFormatException {
+        Track track = new Track(new File("tracks/quarter-mile.txt"));
+        Game game = new Game(track);
+        game.doCarTurn(Direction.LEFT);
+        game.switchToNextActiveCar();
+        GameState state = game.getState();
+
+        GameState left = state.apply(Direction.LEFT);
+        GameState right = state.apply(Direction.RIGHT);
+
+        assertSameState(game, track, state);
+        assertEquals(state.getCarPositionX(1) - 1, left.getCarPositionX(1));
+        assertEquals(state.getCarPositionX(1) + 1, right.getCarPositionX(1));
+        assertEquals(0, left.getCurrentCarIndex());
+        assertThrows(IllegalArgumentException.class, () -> state.getCarPositionX(2));
+    }
+}
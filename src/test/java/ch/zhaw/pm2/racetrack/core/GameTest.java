@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -44,6 +45,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * <br>18. SwitchingWorks: Tests if the current car can be switched under specific conditions.
  * <br>19. calculatePathParameterInvalid: Tests if the calculatePath throws an exception.
  * <br>20. ScoreTie: Tests if a ScoreTie is achieved.
+ * <br>21. SimultaneousRound: Tests the conflict rules of the simultaneous-move mode.
  *
  * @author StackOverflow
  * @version 1.0
@@ -602,4 +604,97 @@ public class GameTest {
         gameWith5Cars.switchToNextActiveCar();
         assertEquals(2, gameWith5Cars.getCurrentCarIndex());
     }
+
+    /**
+     * Positive test for checking that cars crashed between the switches are skipped as well,
+     * and that the last active car is kept. With the equivalence class 18.
+     */
+    @Test
+    public void testSwitchTurnWithCarsCrashingDuringGame() {
+        gameWith5Cars.switchToNextActiveCar();
+        trackWith5Cars.getCar(2).crash(new PositionVector(1, 1));
+        trackWith5Cars.getCar(3).crash(new PositionVector(3, 1));
+
+        assertEquals(1, gameWith5Cars.getCurrentCarIndex());
+        gameWith5Cars.switchToNextActiveCar();
+        assertEquals(4, gameWith5Cars.getCurrentCarIndex());
+
+        trackWith5Cars.getCar(0).crash(new PositionVector(5, 1));
+        trackWith5Cars.getCar(1).crash(new PositionVector(5, 1));
+        gameWith5Cars.switchToNextActiveCar();
+        assertEquals(4, gameWith5Cars.getCurrentCarIndex());
+
+        trackWith5Cars.getCar(4).crash(new PositionVector(5, 1));
+        assertThrows(IllegalStateException.class, () -> gameWith5Cars.switchToNextActiveCar());
+    }
+
+    /**
+     * Writes a track with the given rows to a temporary file.
+     */
+    private Track createTrack(String... rows) throws IOException, InvalidFileFormatException {
+        File trackFile = Files.createTempFile("simultaneous", ".txt").toFile();
+        trackFile.deleteOnExit();
+        Files.writeString(trackFile.toPath(), String.join("\n", rows) + "\n");
+        return new Track(trackFile);
+    }
+
+    /**
+     * This is a positive test and of the equivalence class 21. Two cars entering the same position in the same step
+     * crash both, and so do two cars swapping their positions.
+     */
+    @Test
+    public void testSimultaneousRoundCarsCrashIntoEachOther() throws IOException, InvalidFileFormatException {
+        Track track = createTrack("#######", "#a   b#", "#cd   #", "#######");
+        Game game = new Game(track);
+
+        game.doSimultaneousRound(new Direction[]{Direction.RIGHT, Direction.LEFT, Direction.RIGHT, Direction.LEFT});
+        assertFalse(track.getCar(0).isCrashed());
+        assertTrue(track.getCar(2).isCrashed());
+        assertTrue(track.getCar(3).isCrashed());
+        assertEquals(new PositionVector(2, 2), track.getCar(2).getCurrentPosition());
+        assertEquals(new PositionVector(1, 2), track.getCar(3).getCurrentPosition());
+
+        game.doSimultaneousRound(new Direction[]{Direction.RIGHT, Direction.LEFT, Direction.NONE, Direction.NONE});
+        assertTrue(track.getCar(0).isCrashed());
+        assertTrue(track.getCar(1).isCrashed());
+        assertEquals(new PositionVector(3, 1), track.getCar(0).getCurrentPosition());
+        assertEquals(new PositionVector(3, 1), track.getCar(1).getCurrentPosition());
+        assertEquals(Game.NO_WINNER, game.getWinner());
+    }
+
+    /**
+     * This is a positive test and of the equivalence class 21. A car moving into a standing car crashes,
+     * the standing car remains and wins as the last car.
+     */
+    @Test
+    public void testSimultaneousRoundCarCrashesIntoStandingCar() throws IOException, InvalidFileFormatException {
+        Track track = createTrack("#######", "#a  b #", "#######");
+        Game game = new Game(track);
+
+        game.doSimultaneousRound(new Direction[]{Direction.RIGHT, Direction.NONE});
+        game.doSimultaneousRound(new Direction[]{Direction.RIGHT, Direction.NONE});
+
+        assertTrue(track.getCar(0).isCrashed());
+        assertEquals(new PositionVector(4, 1), track.getCar(0).getCurrentPosition());
+        assertFalse(track.getCar(1).isCrashed());
+        assertEquals(1, game.getWinner());
+    }
+
+    /**
+     * This is a positive test and of the equivalence class 21. The car needing the fewest steps to the finish line
+     * wins, the lower index wins a tie.
+     */
+    @Test
+    public void testSimultaneousRoundWinner() throws IOException, InvalidFileFormatException {
+        Track track = createTrack("#######", "#a > ##", "#b> ###", "#c> ###", "#######");
+        Game game = new Game(track);
+
+        game.doSimultaneousRound(new Direction[]{Direction.RIGHT, Direction.RIGHT, Direction.RIGHT});
+
+        assertEquals(1, game.getWinner());
+        assertEquals(new PositionVector(2, 2), track.getCar(1).getCurrentPosition());
+        assertEquals(new PositionVector(2, 1), track.getCar(0).getCurrentPosition());
+        assertThrows(IllegalArgumentException.class, () -> game.doSimultaneousRound(new Direction[]{Direction.NONE}));
+        assertThrows(NullPointerException.class, () -> game.doSimultaneousRound(new Direction[3]));
+    }
 }
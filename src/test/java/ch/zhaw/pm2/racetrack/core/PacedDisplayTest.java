@@ -0,0 +1,221 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link PacedDisplay} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class PacedDisplayTest {
+
+    /**
+     * With a fixed rate every frame is displayed and the game waits for the frame interval.
+     */
+    @Test
+    public void fixedRateDisplaysEveryFrame() {
+        RecordingUserInterface recorder = new RecordingUserInterface();
+        recorder.continueDisplay.countDown();
+        PacedDisplay display = new PacedDisplay(recorder, PacedDisplay.Pacing.FIXED_RATE, 100);
+
+        long startTime = System.nanoTime();
+        for (int frame = 0; frame < 5; frame++) {
+            display.outputPrintRaceTrack("frame " + frame);
+        }
+        display.outputTie();
+
+        assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(List.of("frame 0", "frame 1", "frame 2", "frame 3", "frame 4", "tie"), recorder.outputs);
+    }
+
+    /**
+     * With max speed the game is not blocked by a slow display, the frames sent meanwhile are skipped
+     * except the latest one, and the other output keeps its order.
+     */
+    @Test
+    public void maxSpeedSkipsFramesWithoutBlocking() throws InterruptedException {
+        RecordingUserInterface recorder = new RecordingUserInterface();
+        PacedDisplay display = new PacedDisplay(recorder, PacedDisplay.Pacing.MAX_SPEED, 0);
+
+        display.outputPrintRaceTrack("frame 0");
+        assertTrue(recorder.displayStarted.await(5, TimeUnit.SECONDS));
+        for (int frame = 1; frame <= 100; frame++) {
+            display.outputPrintRaceTrack("frame " + frame);
+        }
+        display.outputCarCrashed('a');
+        display.outputPrintRaceTrack("frame 101");
+        display.outputPrintRaceTrack("frame 102");
+        assertEquals(List.of(), recorder.outputs);
+
+        recorder.continueDisplay.countDown();
+        assertTrue(display.inputStartNewGame());
+        assertEquals(List.of("frame 0", "frame 100", "crashed a", "frame 102", "new game"), recorder.outputs);
+    }
+
+    @Test
+    public void skipFramesDisplaysLatestFrameBeforeInput() {
+        RecordingUserInterface recorder = new RecordingUserInterface();
+        recorder.continueDisplay.countDown();
+        PacedDisplay display = new PacedDisplay(recorder, PacedDisplay.Pacing.SKIP_FRAMES, 1);
+
+        display.outputPrintRaceTrack("frame 0");
+        display.outputPrintRaceTrack("frame 1");
+        display.outputWinner('a');
+
+        assertTrue(display.inputStartNewGame());
+        assertEquals("winner a", recorder.outputs.get(recorder.outputs.size() - 2));
+        assertEquals("frame 1", recorder.outputs.get(recorder.outputs.size() - 3));
+    }
+
+    /**
+     * The exit message is the last output of the application, so all output queued before has to be displayed
+     * when it returns, even if the display is slow.
+     */
+    @Test
+    public void exitGameDisplaysAllPendingOutput() {
+        RecordingUserInterface recorder = new RecordingUserInterface();
+        PacedDisplay display = new PacedDisplay(recorder, PacedDisplay.Pacing.MAX_SPEED, 0);
+
+        display.outputPrintRaceTrack("frame 0");
+        display.outputWinner('a');
+        display.outputAmountOfTurnsNeededToWin(7);
+        Thread slowDisplay = new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            recorder.continueDisplay.countDown();
+        });
+        slowDisplay.start();
+        display.outputExitGame();
+
+        assertEquals(List.of("frame 0", "winner a", "turns 7", "exit"), recorder.outputs);
+    }
+
+    @Test
+    public void invalidFrameRateThrowsException() {
+        RecordingUserInterface recorder = new RecordingUserInterface();
+        assertThrows(IllegalArgumentException.class, () -> new PacedDisplay(recorder, PacedDisplay.Pacing.FIXED_RATE, 0));
+        assertThrows(NullPointerException.class, () -> new PacedDisplay(recorder, null, 1));
+    }
+
+    /**
+     * Records the output, the frames are only displayed when continueDisplay is released.
+     */
+    private static class RecordingUserInterface implements UserInterface {
+        private final List<String> outputs = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch displayStarted = new CountDownLatch(1);
+        private final CountDownLatch continueDisplay = new CountDownLatch(1);
+
+        @Override
+        public void outputPrintRaceTrack(String racetrackOutput) {
+            displayStarted.countDown();
+            try {
+                continueDisplay.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            outputs.add(racetrackOutput);
+        }
+
+        @Override
+        public void outputWinner(char car) {
+            outputs.add("winner " + car);
+        }
+
+        @Override
+        public void outputWelcomeMessage() {
+            outputs.add("welcome");
+        }
+
+        @Override
+        public void outputChooseDifferentStrategy() {
+            outputs.add("choose different strategy");
+        }
+
+        @Override
+        public void outputCarCrashed(char car) {
+            outputs.add("crashed " + car);
+        }
+
+        @Override
+        public void outputCurrentCarPlaying(char car) {
+            outputs.add("playing " + car);
+        }
+
+        @Override
+        public void outputAmountOfTurnsNeededToWin(int amountOfTurns) {
+            outputs.add("turns " + amountOfTurns);
+        }
+
+        @Override
+        public void outputExitGame() {
+            outputs.add("exit");
+        }
+
+        @Override
+        public void outputWarningDoNotMoveStrategy() {
+            outputs.add("warning");
+        }
+
+        @Override
+        public void outputException(String exceptionText) {
+            outputs.add("exception " + exceptionText);
+        }
+
+        @Override
+        public void outputTie() {
+            outputs.add("tie");
+        }
+
+        @Override
+        public void outputMissedDeadlines(char car, int missedDeadlines, int amountOfMoves) {
+            outputs.add("missed deadlines " + car);
+        }
+
+        @Override
+        public int inputChooseRacetrack(String trackNames, int length) {
+            return 0;
+        }
+
+        @Override
+        public int inputChooseMoveListStrategyFile(String fileNames, int length) {
+            return 0;
+        }
+
+        @Override
+        public int inputChooseFollowerStrategyFile(String fileNames, int length) {
+            return 0;
+        }
+
+        @Override
+        public MoveStrategy.StrategyType inputChooseStrategyForCar(char carNumber) {
+            return MoveStrategy.StrategyType.DO_NOT_MOVE;
+        }
+
+        @Override
+        public Direction inputVelocityDirection() {
+            return Direction.NONE;
+        }
+
+        @Override
+        public boolean inputStartNewGame() {
+            outputs.add("new game");
+            return true;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ch.zhaw.pm2.racetrack.core;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.strategy.DoNotMoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
+import ch.zhaw.pm2.racetrack.strategy.PathFinderStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link ReplayRecorder} and {@link ReplayPlayer} classes.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class ReplayTest {
+    private static final File CHALLENGE = new File("tracks/challenge.txt");
+    private static final int KEYFRAME_INTERVAL = 4;
+
+    private File createReplayFile() throws IOException {
+        File replayFile = Files.createTempFile("racetrack", ReplayRecorder.FILE_EXTENSION).toFile();
+        replayFile.deleteOnExit();
+        return replayFile;
+    }
+
+    /**
+     * Plays a game like the {@link Executor} and returns the track after every turn.
+     */
+    private List<String> recordGame(Game game, Track track, File replayFile) throws IOException {
+        List<String> frames = new ArrayList<>();
+        frames.add(track.toString());
+        try (ReplayRecorder recorder = new ReplayRecorder(replayFile, game, KEYFRAME_INTERVAL)) {
+            while (true) {
+                game.doCarTurn(game.getCarMoveStrategy(game.getCurrentCarIndex()).nextMove());
+                frames.add(track.toString());
+                if (game.getWinner() != Game.NO_WINNER || game.onlyCarsWithDoNotMoveStrategyRemaining()) {
+                    break;
+                }
+                game.switchToNextActiveCar();
+            }
+            assertEquals(frames.size() - 1, recorder.getTurns());
+        }
+        return frames;
+    }
+
+    @Test
+    public void seekReconstructsEveryTurn() throws IOException, InvalidFileFormatException {
+        TrackTemplate template = new TrackTemplate(CHALLENGE);
+        Track track = new Track(template);
+        Game game = new Game(track);
+        game.setCarMoveStrategy(0, new PathFinderStrategy(track, 0));
+        game.setCarMoveStrategy(1, new DoNotMoveStrategy());
+        File replayFile = createReplayFile();
+        List<String> frames = recordGame(game, track, replayFile);
+
+        ReplayPlayer player = new ReplayPlayer(replayFile, template);
+
+        assertEquals(frames.size() - 1, player.getTurnCount());
+        assertEquals(StrategyType.PATH_FINDER, player.getStrategyType(0));
+        assertEquals(StrategyType.DO_NOT_MOVE, player.getStrategyType(1));
+        for (int turn = frames.size() - 1; turn >= 0; turn -= 3) {
+            player.seek(turn);
+            assertEquals(frames.get(turn), player.getTrack().toString());
+        }
+        for (int turn = 0; turn < frames.size(); turn++) {
+            player.seek(turn);
+            assertEquals(frames.get(turn), player.getTrack().toString());
+        }
+        assertEquals(0, player.getGame().getWinner());
+    }
+
+    /**
+     * The car crashing into the wall is skipped by the player, the last car remaining wins.
+     */
+    @Test
+    public void replayWithCrashedCar() throws IOException, InvalidFileFormatException {
+        TrackTemplate template = new TrackTemplate(new File("tracks/quarter-mile.txt"));
+        Track track = new Track(template);
+        Game game = new Game(track);
+        game.setCarMoveStrategy(0, List.of(Direction.RIGHT, Direction.RIGHT).iterator()::next);
+        game.setCarMoveStrategy(1, List.of(Direction.NONE).iterator()::next);
+        File replayFile = createReplayFile();
+        List<String> frames = recordGame(game, track, replayFile);
+
+        ReplayPlayer player = new ReplayPlayer(replayFile, template);
+        player.seek(player.getTurnCount());
+
+        assertEquals(3, player.getTurnCount());
+        assertEquals(frames.get(frames.size() - 1), player.getTrack().toString());
+        assertEquals(1, player.getGame().getWinner());
+        assertNull(player.getStrategyType(0));
+    }
+
+    @Test
+    public void invalidReplayThrowsException() throws IOException, InvalidFileFormatException {
+        Track track = new Track(CHALLENGE);
+        Game game = new Game(track);
+        game.setCarMoveStrategy(0, new DoNotMoveStrategy());
+        game.setCarMoveStrategy(1, new DoNotMoveStrategy());
+        File replayFile = createReplayFile();
+        new ReplayRecorder(replayFile, game).close();
+
+        TrackTemplate otherTrack = new TrackTemplate(new File("tracks/quarter-mile.txt"));
+        assertThrows(InvalidFileFormatException.class, () -> new ReplayPlayer(replayFile, otherTrack));
+        assertThrows(InvalidFileFormatException.class, () -> new ReplayPlayer(CHALLENGE, track.getTemplate()));
+        assertThrows(IllegalArgumentException.class, () -> new ReplayPlayer(replayFile, track.getTemplate()).seek(1));
+    }
+}
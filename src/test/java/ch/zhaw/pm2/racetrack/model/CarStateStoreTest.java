@@ -0,0 +1,108 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link CarStateStore} class and the swarm mode of the {@link TrackTemplate}.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class CarStateStoreTest {
+    private static final int SWARM_SIZE = 2000;
+
+    /**
+     * Writes a track with a car on every second position of every second row, with ids starting at 'Ā'.
+     */
+    private File writeSwarmTrack() throws IOException {
+        int carsPerRow = 50;
+        int width = carsPerRow * 2 + 1;
+        int height = SWARM_SIZE / carsPerRow * 2 + 3;
+        StringBuilder content = new StringBuilder();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int car = (y - 1) / 2 * carsPerRow + (x - 1) / 2;
+                if (x == 0 || y == 0 || x == width - 1 || y == height - 1) {
+                    content.append('#');
+                } else if (y == height - 2) {
+                    content.append('v');
+                } else if (x % 2 == 1 && y % 2 == 1 && car < SWARM_SIZE) {
+                    content.append((char) ('Ā' + car));
+                } else {
+                    content.append(' ');
+                }
+            }
+            content.append('\n');
+        }
+        File trackFile = Files.createTempFile("swarm", ".txt").toFile();
+        trackFile.deleteOnExit();
+        Files.writeString(trackFile.toPath(), content);
+        return trackFile;
+    }
+
+    @Test
+    public void tooManyCarsOnlyInSwarmMode() throws IOException, InvalidFileFormatException {
+        File trackFile = writeSwarmTrack();
+
+        InvalidFileFormatException exception = assertThrows(InvalidFileFormatException.class, () -> new Track(trackFile));
+        assertEquals("File contains too many cars (max: 9)!", exception.getMessage());
+
+        TrackTemplate template = new TrackTemplate(trackFile, true);
+        assertTrue(template.isSwarmMode());
+        assertEquals(SWARM_SIZE, new Track(template).getCarCount());
+    }
+
+    /**
+     * The cars of a track are views on its store, so changes through either of them are visible in both
+     * and in the index of the car positions.
+     */
+    @Test
+    public void carsAreViewsOnStore() throws IOException, InvalidFileFormatException {
+        Track track = new Track(new TrackTemplate(writeSwarmTrack(), true));
+        CarStateStore store = track.getCarStateStore();
+        Car car = track.getCar(SWARM_SIZE - 1);
+        int startX = car.getPositionX();
+        int startY = car.getPositionY();
+
+        car.accelerate(Direction.DOWN_RIGHT);
+        car.move();
+
+        assertEquals(1, store.getVelocityX(SWARM_SIZE - 1));
+        assertEquals(1, store.getVelocityY(SWARM_SIZE - 1));
+        assertEquals(new PositionVector(startX + 1, startY + 1), car.getCurrentPosition());
+        assertEquals(car.getId(), track.getCharRepresentationAtPosition(startY + 1, startX + 1));
+        assertFalse(track.isActiveCarAt(startX, startY, -1));
+
+        car.crash(startX, startY);
+        assertTrue(store.isCrashed(SWARM_SIZE - 1));
+        assertEquals(Track.CRASH_INDICATOR, track.getCharRepresentationAtPosition(startY, startX));
+        assertFalse(track.isActiveCarAt(startX, startY, -1));
+    }
+
+    /**
+     * Each track of a template gets a store of its own with the cars at their start positions.
+     */
+    @Test
+    public void tracksHaveOwnStore() throws IOException, InvalidFileFormatException {
+        TrackTemplate template = new TrackTemplate(writeSwarmTrack(), true);
+        Track firstTrack = new Track(template);
+        firstTrack.getCar(0).crash(0, 0);
+
+        Track secondTrack = new Track(template);
+
+        assertFalse(secondTrack.getCar(0).isCrashed());
+        assertEquals(template.getCarStartPosition(0), secondTrack.getCar(0).getCurrentPosition());
+    }
+}
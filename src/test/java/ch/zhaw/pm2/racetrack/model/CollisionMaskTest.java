@@ -0,0 +1,131 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
+import ch.zhaw.pm2.racetrack.utils.BresenhamAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link CollisionMask} class, comparing the masks with the space types of the track
+ * checked position by position.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class CollisionMaskTest {
+
+    private final File tracksFolder = new File("src/test/resources/tracks");
+
+    private static final SpaceType[] MASKED_TYPES = {
+            SpaceType.WALL, SpaceType.FINISH_UP, SpaceType.FINISH_DOWN, SpaceType.FINISH_LEFT, SpaceType.FINISH_RIGHT
+    };
+
+    @Test
+    public void testPositionsMatchSpaceTypes() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+
+        for (int y = -1; y <= track.getHeight(); y++) {
+            for (int x = -1; x <= track.getWidth(); x++) {
+                SpaceType spaceType = track.getSpaceTypeAt(x, y);
+                for (SpaceType maskedType : MASKED_TYPES) {
+                    assertEquals(spaceType == maskedType, track.getCollisionMask(maskedType).isSet(x, y));
+                }
+                assertEquals(spaceType != SpaceType.WALL && spaceType != SpaceType.TRACK, track.getFinishLineMask().isSet(x, y));
+            }
+        }
+    }
+
+    /**
+     * Every row range of every track, including ranges reaching outside the grid, gives the same result as
+     * checking each position.
+     */
+    @Test
+    public void testRowRangesMatchSpaceTypes() throws InvalidFileFormatException, IOException {
+        for (File trackFile : getTrackFiles()) {
+            Track track = new Track(trackFile);
+            for (SpaceType maskedType : MASKED_TYPES) {
+                CollisionMask mask = track.getCollisionMask(maskedType);
+                for (int y = -1; y <= track.getHeight(); y++) {
+                    for (int fromX = -2; fromX <= track.getWidth() + 1; fromX++) {
+                        for (int toX = fromX; toX <= track.getWidth() + 1; toX += 7) {
+                            assertEquals(anyOfType(track, maskedType, y, fromX, toX), mask.anySetInRow(y, fromX, toX));
+                            assertEquals(anyOfType(track, maskedType, y, fromX, toX), mask.anySetInRow(y, toX, fromX));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Every path with a velocity up to 8 from every position of the track gives the same result as walking the
+     * path with the Bresenham algorithm and checking each position.
+     */
+    @Test
+    public void testPathsMatchBresenham() throws InvalidFileFormatException, IOException {
+        for (File trackFile : getTrackFiles()) {
+            Track track = new Track(trackFile);
+            for (SpaceType maskedType : MASKED_TYPES) {
+                CollisionMask mask = track.getCollisionMask(maskedType);
+                for (int y = 0; y < track.getHeight(); y += 3) {
+                    for (int x = 0; x < track.getWidth(); x += 2) {
+                        for (int velocityX = -8; velocityX <= 8; velocityX++) {
+                            for (int velocityY = -8; velocityY <= 8; velocityY++) {
+                                boolean expected = !BresenhamAlgorithm.walkPath(x, y, x + velocityX, y + velocityY,
+                                        (pathX, pathY) -> track.getSpaceTypeAt(pathX, pathY) != maskedType);
+                                assertEquals(expected, mask.anySetOnPath(x, y, x + velocityX, y + velocityY));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRowOverSeveralWords() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File(tracksFolder, "wide-track.txt"));
+        CollisionMask wallMask = track.getCollisionMask(SpaceType.WALL);
+
+        assertTrue(wallMask.anySetInRow(3, 1, 64));
+        assertFalse(wallMask.anySetInRow(3, 1, 63));
+        assertFalse(wallMask.anySetInRow(2, 1, 148));
+        assertTrue(wallMask.anySetInRow(3, 65, 127));
+        assertFalse(wallMask.anySetInRow(1, 71, 148));
+        assertTrue(wallMask.anySetOnPath(3, 2, 100, 1));
+        assertFalse(wallMask.anySetOnPath(3, 2, 140, 2));
+        assertTrue(track.getFinishLineMask().anySetOnPath(3, 2, 140, 2));
+        assertTrue(track.getCollisionMask(SpaceType.FINISH_RIGHT).anySetInRow(1, 0, 149));
+    }
+
+    @Test
+    public void testNoMaskForTrack() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+        assertThrows(IllegalArgumentException.class, () -> track.getCollisionMask(SpaceType.TRACK));
+    }
+
+    private File[] getTrackFiles() {
+        File[] trackFiles = new File("tracks").listFiles((dir, name) -> name.endsWith(".txt"));
+        File[] allTrackFiles = Arrays.copyOf(trackFiles, trackFiles.length + 1);
+        allTrackFiles[trackFiles.length] = new File(tracksFolder, "wide-track.txt");
+        return allTrackFiles;
+    }
+
+    private boolean anyOfType(Track track, SpaceType spaceType, int y, int fromX, int toX) {
+        for (int x = fromX; x <= toX; x++) {
+            if (track.getSpaceTypeAt(x, y) == spaceType) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
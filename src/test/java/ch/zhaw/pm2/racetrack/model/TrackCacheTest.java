@@ -0,0 +1,96 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link TrackCache} and {@link TrackTemplate} classes.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TrackCacheTest {
+    private static final File QUARTER_MILE = new File("tracks/quarter-mile.txt");
+    private static final File CHALLENGE = new File("tracks/challenge.txt");
+
+    /**
+     * A new game on the same track gets the cached template, but its own cars at their start positions.
+     */
+    @Test
+    public void sameFileSharesTemplate() throws IOException, InvalidFileFormatException {
+        TrackCache trackCache = new TrackCache(TrackCache.DEFAULT_CAPACITY);
+        Track firstTrack = trackCache.createTrack(QUARTER_MILE);
+        PositionVector startPosition = firstTrack.getCar(0).getCurrentPosition();
+        firstTrack.getCar(0).crash(new PositionVector(1, 1));
+
+        Track secondTrack = trackCache.createTrack(new File("tracks/../tracks/quarter-mile.txt"));
+
+        assertSame(firstTrack.getTemplate(), secondTrack.getTemplate());
+        assertEquals(1, trackCache.size());
+        assertEquals(startPosition, secondTrack.getCar(0).getCurrentPosition());
+        assertFalse(secondTrack.getCar(0).isCrashed());
+        assertEquals(new Track(QUARTER_MILE).toString(), secondTrack.toString());
+    }
+
+    @Test
+    public void changedFileIsReadAgain() throws IOException, InvalidFileFormatException {
+        File trackFile = Files.createTempFile("cached", ".txt").toFile();
+        trackFile.deleteOnExit();
+        Files.copy(QUARTER_MILE.toPath(), trackFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        TrackCache trackCache = new TrackCache(TrackCache.DEFAULT_CAPACITY);
+        TrackTemplate template = trackCache.getTemplate(trackFile);
+
+        Files.copy(CHALLENGE.toPath(), trackFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(trackFile.toPath(), FileTime.fromMillis(trackFile.lastModified() + 2000));
+        TrackTemplate changedTemplate = trackCache.getTemplate(trackFile);
+
+        assertNotSame(template, changedTemplate);
+        assertEquals(new Track(CHALLENGE).toString(), new Track(changedTemplate).toString());
+        assertEquals(1, trackCache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedTemplateIsRemoved() throws IOException, InvalidFileFormatException {
+        TrackCache trackCache = new TrackCache(2);
+        TrackTemplate quarterMile = trackCache.getTemplate(QUARTER_MILE);
+        TrackTemplate challenge = trackCache.getTemplate(CHALLENGE);
+        assertSame(quarterMile, trackCache.getTemplate(QUARTER_MILE));
+
+        trackCache.getTemplate(new File("tracks/oval-clock-up.txt"));
+
+        assertEquals(2, trackCache.size());
+        assertSame(quarterMile, trackCache.getTemplate(QUARTER_MILE));
+        assertNotSame(challenge, trackCache.getTemplate(CHALLENGE));
+    }
+
+    @Test
+    public void derivedDataIsComputedOnce() throws IOException, InvalidFileFormatException {
+        TrackTemplate template = new TrackTemplate(QUARTER_MILE);
+        AtomicInteger computations = new AtomicInteger();
+
+        String first = template.getDerivedData(String.class, t -> t.getWidth() + "x" + computations.incrementAndGet());
+        String second = template.getDerivedData(String.class, t -> t.getWidth() + "x" + computations.incrementAndGet());
+
+        assertSame(first, second);
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    public void invalidCapacityThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TrackCache(0));
+    }
+}
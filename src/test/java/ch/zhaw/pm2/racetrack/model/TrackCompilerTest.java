@@ -0,0 +1,69 @@
+package ch.zhaw.pm2.racetrack.model;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link TrackCompiler} class and loading compiled tracks.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TrackCompilerTest {
+
+    private File compile(String trackName) throws IOException, InvalidFileFormatException {
+        File compiledFile = Files.createTempFile(trackName, TrackCompiler.FILE_EXTENSION).toFile();
+        compiledFile.deleteOnExit();
+        TrackCompiler.compile(new File("tracks", trackName + ".txt"), compiledFile);
+        return compiledFile;
+    }
+
+    /**
+     * A compiled track has the same size, space types and cars as the text track it was compiled from.
+     */
+    @Test
+    public void compiledTrackEqualsTextTrack() throws IOException, InvalidFileFormatException {
+        for (String trackName : new String[]{"challenge", "oval-anticlock-right", "oval-clock-up", "quarter-mile"}) {
+            Track textTrack = new Track(new File("tracks", trackName + ".txt"));
+            Track compiledTrack = new Track(compile(trackName));
+
+            assertEquals(textTrack.getWidth(), compiledTrack.getWidth());
+            assertEquals(textTrack.getHeight(), compiledTrack.getHeight());
+            assertEquals(textTrack.getCarCount(), compiledTrack.getCarCount());
+            for (int carIndex = 0; carIndex < textTrack.getCarCount(); carIndex++) {
+                assertEquals(textTrack.getCar(carIndex).getId(), compiledTrack.getCar(carIndex).getId());
+                assertEquals(textTrack.getCar(carIndex).getCurrentPosition(), compiledTrack.getCar(carIndex).getCurrentPosition());
+            }
+            assertEquals(textTrack.toString(), compiledTrack.toString());
+        }
+    }
+
+    @Test
+    public void damagedTrackThrowsException() throws IOException, InvalidFileFormatException {
+        File compiledFile = compile("quarter-mile");
+        byte[] content = Files.readAllBytes(compiledFile.toPath());
+
+        content[content.length / 2] ^= 1;
+        Files.write(compiledFile.toPath(), content);
+        InvalidFileFormatException exception = assertThrows(InvalidFileFormatException.class, () -> new Track(compiledFile));
+        assertEquals("The checksum of the compiled track does not match!", exception.getMessage());
+
+        Files.write(compiledFile.toPath(), Arrays.copyOf(content, content.length - 1));
+        exception = assertThrows(InvalidFileFormatException.class, () -> new Track(compiledFile));
+        assertEquals("The size of the compiled track does not match its header!", exception.getMessage());
+    }
+
+    @Test
+    public void compiledFileReplacesExtension() {
+        assertEquals(new File("tracks", "challenge" + TrackCompiler.FILE_EXTENSION),
+                TrackCompiler.getCompiledFile(new File("tracks", "challenge.txt")));
+    }
+}
@@ -1,12 +1,20 @@
 package ch.zhaw.pm2.racetrack.model;
 
 import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.given.SpaceType;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TrackTest {
 
@@ -21,4 +29,88 @@ public class TrackTest {
     public void testEmptyFile() {
         assertThrows(InvalidFileFormatException.class, () -> new Track(new File(tracksFolder + "/empty.txt")));
     }
+
+    /**
+     * Windows line breaks and blank lines anywhere in the file are handled like line breaks and skipped.
+     */
+    @Test
+    public void testLineBreaksAndBlankLines() throws InvalidFileFormatException, IOException {
+        File trackFile = new File("tracks/quarter-mile.txt");
+        String content = Files.readString(trackFile.toPath());
+        File convertedFile = Files.createTempFile("quarter-mile", ".txt").toFile();
+        convertedFile.deleteOnExit();
+        Files.writeString(convertedFile.toPath(), "\r\n  \n" + content.replace("\n", "\r\n\t\r\n"));
+
+        assertEquals(new Track(trackFile).toString(), new Track(convertedFile).toString());
+    }
+
+    @Test
+    public void testDifferentLineLengths() throws IOException {
+        File trackFile = Files.createTempFile("different-lengths", ".txt").toFile();
+        trackFile.deleteOnExit();
+        Files.writeString(trackFile.toPath(), "#####\n# a #\n####\n");
+
+        InvalidFileFormatException exception = assertThrows(InvalidFileFormatException.class, () -> new Track(trackFile));
+        assertEquals("Not all track lines have the same length!", exception.getMessage());
+    }
+
+    /**
+     * The space types read from the grid match the characters of the track file.
+     */
+    @Test
+    public void testSpaceTypeOrdinal() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+
+        for (int y = 0; y < track.getHeight(); y++) {
+            for (int x = 0; x < track.getWidth(); x++) {
+                SpaceType spaceType = track.getSpaceTypeAtPosition(new PositionVector(x, y));
+                assertEquals(spaceType.ordinal(), track.getSpaceTypeOrdinal(x, y));
+                assertEquals(spaceType, track.getSpaceTypeAt(x, y));
+            }
+        }
+        assertEquals(SpaceType.FINISH_RIGHT, track.getSpaceTypeAt(22, 22));
+        assertEquals(SpaceType.WALL.ordinal(), track.getSpaceTypeOrdinal(-1, 0));
+        assertEquals(SpaceType.WALL.ordinal(), track.getSpaceTypeOrdinal(track.getWidth(), 0));
+        assertEquals(SpaceType.WALL.ordinal(), track.getSpaceTypeOrdinal(0, track.getHeight()));
+    }
+
+    @Test
+    public void testCharRepresentationOutsideTrack() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+        assertThrows(IllegalArgumentException.class, () -> track.getCharRepresentationAtPosition(0, track.getWidth()));
+    }
+
+    /**
+     * The character representation follows the cars when they move or crash. If a crashed and an active car
+     * are on the same position, the car with the lower index is shown.
+     */
+    @Test
+    public void testCarPositionsAfterMoveAndCrash() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/quarter-mile.txt"));
+        Car car = track.getCar(0);
+        assertEquals(car.getId(), track.getCharRepresentationAtPosition(3, 56));
+
+        car.accelerate(Direction.DOWN);
+        car.move();
+        assertEquals(' ', track.getCharRepresentationAtPosition(3, 56));
+        assertEquals(car.getId(), track.getCharRepresentationAtPosition(4, 56));
+        assertTrue(track.isActiveCarAt(56, 4, 1));
+        assertFalse(track.isActiveCarAt(56, 4, 0));
+
+        car.crash(new PositionVector(56, 5));
+        assertEquals(' ', track.getCharRepresentationAtPosition(4, 56));
+        assertEquals(Track.CRASH_INDICATOR, track.getCharRepresentationAtPosition(5, 56));
+        assertTrue(track.isActiveCarAt(56, 5, 0));
+        assertFalse(track.isActiveCarAt(56, 5, 1));
+        assertTrue(track.toString().contains("X ##"));
+    }
+
+    @Test
+    public void testCarOutsideTrack() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/quarter-mile.txt"));
+        track.getCar(1).crash(new PositionVector(70, 5));
+
+        assertEquals(' ', track.getCharRepresentationAtPosition(5, 56));
+        assertFalse(track.isActiveCarAt(70, 5, 0));
+    }
 }
@@ -0,0 +1,80 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.core.Game;
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Helper methods shared by the tests of the strategies, which play games with a single moving car.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+final class StrategyTestSupport {
+    /**
+     * The tracks, on which no other car stands in the way of the shortest path of any car.
+     */
+    static final String[] TRACKS_WITHOUT_BLOCKING_CARS = {"challenge.txt", "oval-anticlock-right.txt", "quarter-mile.txt"};
+
+    private StrategyTestSupport() {
+    }
+
+    /**
+     * Plays a game, in which only the given car moves, and asserts that it wins within 1000 moves.
+     *
+     * @return the number of moves of the car until it won.
+     */
+    static int playUntilWinner(Track track, int carIndex, MoveStrategy strategy) {
+        Game game = new Game(track);
+        for (int i = 0; i < track.getCarCount(); i++) {
+            game.setCarMoveStrategy(i, i == carIndex ? strategy : new DoNotMoveStrategy());
+        }
+        int moves = 0;
+        while (game.getWinner() == Game.NO_WINNER && moves < 1000) {
+            if (game.getCurrentCarIndex() == carIndex) {
+                moves++;
+            }
+            game.doCarTurn(game.getCarMoveStrategy(game.getCurrentCarIndex()).nextMove());
+            game.switchToNextActiveCar();
+        }
+        assertEquals(carIndex, game.getWinner());
+        return moves;
+    }
+
+    /**
+     * Asserts that every car on the {@link #TRACKS_WITHOUT_BLOCKING_CARS} wins with the strategy created by the
+     * factory, with as few moves as with the {@link AStarFinderStrategy}, while the other cars do not move.
+     */
+    static <S extends MoveStrategy> void assertWinsWithLeastMoves(BiFunction<Track, Integer, S> strategyFactory)
+            throws InvalidFileFormatException, IOException {
+        assertWinsWithLeastMoves(strategyFactory, strategy -> {
+        });
+    }
+
+    /**
+     * Like {@link #assertWinsWithLeastMoves(BiFunction)}, and passes every strategy to the check after the game.
+     */
+    static <S extends MoveStrategy> void assertWinsWithLeastMoves(BiFunction<Track, Integer, S> strategyFactory,
+                                                                  Consumer<S> check)
+            throws InvalidFileFormatException, IOException {
+        for (String trackName : TRACKS_WITHOUT_BLOCKING_CARS) {
+            TrackTemplate template = new TrackTemplate(new File("tracks", trackName));
+            for (int carIndex = 0; carIndex < template.getCarCount(); carIndex++) {
+                Track track = new Track(template);
+                int optimalMoves = new AStarFinderStrategy(new Track(template), carIndex).getMoves().size();
+                S strategy = strategyFactory.apply(track, carIndex);
+
+                assertEquals(optimalMoves, playUntilWinner(track, carIndex, strategy), trackName);
+                check.accept(strategy);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.model.Track;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link AStarFinderStrategy} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TestAStarFinderStrategy {
+
+    @Test
+    public void testConstructorWithNull() {
+        assertThrows(NullPointerException.class, () -> new AStarFinderStrategy(null, 0));
+    }
+
+    @Test
+    public void testInvalidCarIndex() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+        assertThrows(IllegalArgumentException.class, () -> new AStarFinderStrategy(track, 2));
+    }
+
+    /**
+     * Every car on every track in the tracks folder wins with the planned moves, while the other cars
+     * do not move, and needs at most as many moves as with the {@link PathFinderStrategy}.
+     */
+    @Test
+    public void testWinsWithLeastMovesOnAllTracks() throws InvalidFileFormatException, IOException {
+        File[] trackFiles = new File("tracks").listFiles((dir, name) -> name.endsWith(".txt"));
+
+        for (File trackFile : trackFiles) {
+            for (int carIndex = 0; carIndex < new Track(trackFile).getCarCount(); carIndex++) {
+                Track track = new Track(trackFile);
+                AStarFinderStrategy strategy = new AStarFinderStrategy(track, carIndex);
+                int plannedMoves = strategy.getMoves().size();
+
+                assertTrue(strategy.getExpandedStates() > 0);
+                assertTrue(plannedMoves <= new PathFinderStrategy(track, carIndex).getMoves().size(), trackFile.getName());
+                assertEquals(plannedMoves, StrategyTestSupport.playUntilWinner(track, carIndex, strategy), trackFile.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.model.Track;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link AnytimeAStarStrategy} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TestAnytimeAStarStrategy {
+    private static final long LARGE_BUDGET = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * With enough time, the shortest path is found at the first move, and the car wins with as few moves
+     * as with the {@link AStarFinderStrategy}, without missing a deadline.
+     */
+    @Test
+    public void testWinsWithLeastMovesWithinLargeBudget() throws InvalidFileFormatException, IOException {
+        StrategyTestSupport.assertWinsWithLeastMoves(
+                (track, carIndex) -> new AnytimeAStarStrategy(track, carIndex, LARGE_BUDGET),
+                strategy -> {
+                    assertEquals(1.0, strategy.getNextWeight());
+                    assertEquals(0, strategy.getMissedDeadlines());
+                });
+    }
+
+    /**
+     * Without time for a search, the first path is still found and the car wins, but the deadlines
+     * of the searches without plan are missed.
+     */
+    @Test
+    public void testFindsPathAfterMissedDeadline() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+        AnytimeAStarStrategy strategy = new AnytimeAStarStrategy(track, 0, 1);
+
+        int moves = StrategyTestSupport.playUntilWinner(track, 0, strategy);
+        assertTrue(strategy.getMissedDeadlines() >= 1);
+        assertTrue(strategy.getMissedDeadlines() <= moves);
+    }
+
+    /**
+     * A weighted search finds a path with at most weight times the least number of moves.
+     */
+    @Test
+    public void testWeightedSearchBound() throws InvalidFileFormatException, IOException {
+        for (File trackFile : new File("tracks").listFiles((dir, name) -> name.endsWith(".txt"))) {
+            Track track = new Track(trackFile);
+            for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+                int optimalMoves = new AStarFinderStrategy(track, carIndex).getMoves().size();
+                for (double weight : AnytimeAStarStrategy.WEIGHTS) {
+                    AStarFinderStrategy search = new AStarFinderStrategy(track, carIndex, weight, AStarFinderStrategy.NO_BUDGET);
+                    int moves = search.getMoves().size();
+
+                    assertTrue(search.isComplete());
+                    assertTrue(moves >= optimalMoves && moves <= weight * optimalMoves, trackFile.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+
+        assertThrows(NullPointerException.class, () -> new AnytimeAStarStrategy(null, 0, LARGE_BUDGET));
+        assertThrows(IllegalArgumentException.class, () -> new AnytimeAStarStrategy(track, -1, LARGE_BUDGET));
+        assertThrows(IllegalArgumentException.class, () -> new AnytimeAStarStrategy(track, track.getCarCount(), LARGE_BUDGET));
+        assertThrows(IllegalArgumentException.class, () -> new AnytimeAStarStrategy(track, 0, 0));
+    }
+}
@@ -0,0 +1,108 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy.StrategyType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link AsyncMoveStrategy} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TestAsyncMoveStrategy {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A strategy planned on its own track of the template gives the same moves as the one planned on the track of the game.
+     */
+    @Test
+    public void testSameMovesAsSynchronousStrategy() throws InvalidFileFormatException, IOException {
+        TrackTemplate template = new TrackTemplate(new File("tracks/challenge.txt"));
+        Track track = new Track(template);
+        List<MoveStrategy> strategies = new ArrayList<>();
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            int planningCarIndex = carIndex;
+            strategies.add(new AsyncMoveStrategy(StrategyType.PATH_FINDER,
+                    () -> new PathFinderStrategy(new Track(template), planningCarIndex), executor));
+        }
+
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            MoveStrategy expectedStrategy = new PathFinderStrategy(track, carIndex);
+            for (int move = 0; move < 50; move++) {
+                assertEquals(expectedStrategy.nextMove(), strategies.get(carIndex).nextMove());
+            }
+        }
+    }
+
+    @Test
+    public void testNextMoveWaitsForPlan() throws InterruptedException {
+        CountDownLatch planStarted = new CountDownLatch(1);
+        CountDownLatch planReleased = new CountDownLatch(1);
+        MoveStrategy plannedStrategy = () -> Direction.UP;
+        AsyncMoveStrategy strategy = new AsyncMoveStrategy(StrategyType.A_STAR_FINDER, () -> {
+            planStarted.countDown();
+            try {
+                planReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return plannedStrategy;
+        }, executor);
+
+        planStarted.await();
+        assertFalse(strategy.isReady());
+        assertEquals(StrategyType.A_STAR_FINDER, strategy.getStrategyType());
+
+        planReleased.countDown();
+        assertEquals(Direction.UP, strategy.nextMove());
+        assertTrue(strategy.isReady());
+        assertSame(plannedStrategy, strategy.getStrategy());
+    }
+
+    @Test
+    public void testPlannerExceptionIsThrownByNextMove() {
+        AsyncMoveStrategy strategy = new AsyncMoveStrategy(StrategyType.PATH_FINDER, () -> {
+            throw new IllegalArgumentException("Invalid car index!");
+        }, executor);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, strategy::nextMove);
+        assertEquals("Invalid car index!", exception.getMessage());
+        assertThrows(NullPointerException.class, () -> new AsyncMoveStrategy(null, this::plannedNone, executor));
+        assertThrows(NullPointerException.class, () -> new AsyncMoveStrategy(StrategyType.PATH_FINDER, null, executor));
+        assertThrows(NullPointerException.class, () -> new AsyncMoveStrategy(StrategyType.PATH_FINDER, this::plannedNone, null));
+    }
+
+    private MoveStrategy plannedNone() {
+        return () -> Direction.NONE;
+    }
+}
@@ -0,0 +1,64 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link DistanceField} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TestDistanceField {
+
+    /**
+     * The finish line of the quarter mile points to the left, the positions behind it are enclosed by walls.
+     */
+    @Test
+    public void testDistancesRespectFinishDirection() throws InvalidFileFormatException, IOException {
+        DistanceField distanceField = DistanceField.of(new TrackTemplate(new File("tracks/quarter-mile.txt")));
+
+        assertEquals(0, distanceField.getDistance(10, 4));
+        assertEquals(1, distanceField.getDistance(11, 4));
+        assertEquals(10, distanceField.getDistance(20, 2));
+        assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(9, 4));
+        assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(0, 0));
+        assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(-1, 4));
+    }
+
+    @Test
+    public void testSharedByTracksOfTemplate() throws InvalidFileFormatException, IOException {
+        TrackTemplate template = new TrackTemplate(new File("tracks/challenge.txt"));
+        assertSame(DistanceField.of(new Track(template).getTemplate()), DistanceField.of(new Track(template).getTemplate()));
+    }
+
+    /**
+     * The estimate at the start never exceeds the optimal number of moves found by the {@link AStarFinderStrategy}.
+     */
+    @Test
+    public void testEstimateNeverTooHigh() throws InvalidFileFormatException, IOException {
+        for (File trackFile : new File("tracks").listFiles((dir, name) -> name.endsWith(".txt"))) {
+            Track track = new Track(trackFile);
+            DistanceField distanceField = DistanceField.of(track.getTemplate());
+            for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+                PositionVector start = track.getCar(carIndex).getCurrentPosition();
+                int estimate = distanceField.estimateMoves(start.getX(), start.getY(), 0, 0);
+                int moves = new AStarFinderStrategy(track, carIndex).getMoves().size();
+
+                assertTrue(estimate > 0 && estimate <= moves, trackFile.getName());
+            }
+        }
+        assertEquals(3, DistanceField.of(new TrackTemplate(new File("tracks/quarter-mile.txt"))).estimateMoves(16, 4, 0, 0));
+        assertEquals(2, DistanceField.of(new TrackTemplate(new File("tracks/quarter-mile.txt"))).estimateMoves(16, 4, -2, 1));
+    }
+}
@@ -1,16 +1,26 @@
 package ch.zhaw.pm2.racetrack.strategy;
 
 import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
 import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.utils.Reader;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TestPathFinderStrategy {
 
+    private final File finderFolder = new File("src/test/resources/finder");
+
     @Test
     public void testConstructorWithNull() {
         assertThrows(NullPointerException.class, () -> new PathFinderStrategy(null, 0));
@@ -21,4 +31,91 @@ public class TestPathFinderStrategy {
         Track track = new Track(new File("tracks/challenge.txt"));
         assertThrows(IllegalArgumentException.class, () -> new PathFinderStrategy(track, 2));
     }
+
+    /**
+     * Compares the planned moves of every car on every track in the tracks folder with the moves
+     * planned by the former full-grid scan, stored as one line "carIndex:moves" per car.
+     */
+    @Test
+    public void testMovesUnchangedOnAllTracks() throws InvalidFileFormatException, IOException {
+        File[] trackFiles = new File("tracks").listFiles((dir, name) -> name.endsWith(".txt"));
+        assertEquals(4, trackFiles.length);
+
+        for (File trackFile : trackFiles) {
+            Track track = new Track(trackFile);
+            String[] expectedMoves = Reader.readFile(new File(finderFolder, trackFile.getName()));
+            assertEquals(track.getCarCount(), expectedMoves.length);
+
+            for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+                PathFinderStrategy strategy = new PathFinderStrategy(track, carIndex);
+                assertEquals(expectedMoves[carIndex], carIndex + ":" + toMoveString(strategy), trackFile.getName());
+            }
+        }
+    }
+
+    /**
+     * Compares the moves of the sequential and the parallel search on all tracks and on an open track,
+     * which is large enough that layers are expanded in parallel.
+     */
+    @Test
+    public void testParallelSearchPlansSameMoves() throws InvalidFileFormatException, IOException {
+        List<Track> tracks = new ArrayList<>();
+        for (File trackFile : new File("tracks").listFiles((dir, name) -> name.endsWith(".txt"))) {
+            tracks.add(new Track(trackFile));
+        }
+        tracks.add(new Track(createOpenTrack(600, 300)));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (Track track : tracks) {
+                for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+                    PathFinderStrategy sequential = new PathFinderStrategy(track, carIndex);
+                    PathFinderStrategy parallel = new PathFinderStrategy(track, carIndex, pool);
+                    assertEquals(toMoveString(sequential), toMoveString(parallel));
+                    assertEquals(sequential.getExpandedFields(), parallel.getExpandedFields());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Writes a track with two cars, a finish line to the right and two walls in between.
+     */
+    private File createOpenTrack(int width, int height) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            StringBuilder line = new StringBuilder();
+            for (int x = 0; x < width; x++) {
+                boolean wall = x == 0 || y == 0 || x == width - 1 || y == height - 1
+                        || (x == width / 2 && y > height / 4 && y < height * 3 / 4)
+                        || (y == height / 2 && x > width / 8 && x < width / 3);
+                if (wall) {
+                    line.append('#');
+                } else if (x == width - width / 8) {
+                    line.append('>');
+                } else if (x == 3 && y == height / 2 + 3) {
+                    line.append('a');
+                } else if (x == 3 && y == height / 2 - 3) {
+                    line.append('b');
+                } else {
+                    line.append(' ');
+                }
+            }
+            lines.add(line.toString());
+        }
+        File trackFile = Files.createTempFile("open-track", ".txt").toFile();
+        trackFile.deleteOnExit();
+        Files.write(trackFile.toPath(), lines);
+        return trackFile;
+    }
+
+    private String toMoveString(PathFinderStrategy strategy) {
+        List<String> moveNames = new ArrayList<>();
+        Iterator<Direction> iterator = strategy.getMoves().descendingIterator();
+        while (iterator.hasNext()) {
+            moveNames.add(iterator.next().name());
+        }
+        return String.join(",", moveNames);
+    }
 }
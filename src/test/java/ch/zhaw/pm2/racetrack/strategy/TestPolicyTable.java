@@ -0,0 +1,149 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.exception.InvalidFileFormatException;
+import ch.zhaw.pm2.racetrack.given.Direction;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.model.TrackTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link PolicyTable} and {@link PolicyTableStrategy} classes.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TestPolicyTable {
+
+    /**
+     * On the tracks where no car stands in the way, every car wins with as few moves as
+     * with the {@link AStarFinderStrategy}, while the other cars do not move.
+     */
+    @Test
+    public void testWinsWithLeastMoves() throws InvalidFileFormatException, IOException {
+        StrategyTestSupport.assertWinsWithLeastMoves(
+                (track, carIndex) -> new PolicyTableStrategy(track, carIndex, PolicyTable.of(track.getTemplate())));
+    }
+
+    /**
+     * After a move which is not on the shortest way, the car still reaches the finish line.
+     */
+    @Test
+    public void testWinsAfterLeavingPath() throws InvalidFileFormatException, IOException {
+        TrackTemplate template = new TrackTemplate(new File("tracks/challenge.txt"));
+        Track track = new Track(template);
+        MoveStrategy policyStrategy = new PolicyTableStrategy(track, 0, PolicyTable.of(template));
+        boolean[] firstMove = {true};
+        MoveStrategy detourStrategy = () -> {
+            if (firstMove[0]) {
+                firstMove[0] = false;
+                return Direction.RIGHT;
+            }
+            return policyStrategy.nextMove();
+        };
+
+        assertTrue(StrategyTestSupport.playUntilWinner(track, 0, detourStrategy) > 0);
+    }
+
+    @Test
+    public void testUnreachableState() throws InvalidFileFormatException, IOException {
+        PolicyTable table = PolicyTable.of(new TrackTemplate(new File("tracks/quarter-mile.txt")));
+
+        assertNull(table.getMove(0, 0, 0, 0));
+        assertNull(table.getMove(8, 4, 0, 0));
+        assertNull(table.getMove(20, 4, 100, 0));
+        // the first of the accelerations, which cross the finish line in one move
+        assertEquals(Direction.DOWN_LEFT, table.getMove(11, 4, 0, 0));
+    }
+
+    @Test
+    public void testLoadWritesPolicyFileNextToTrack() throws InvalidFileFormatException, IOException {
+        Path directory = Files.createTempDirectory("policy");
+        directory.toFile().deleteOnExit();
+        File trackFile = directory.resolve("challenge.txt").toFile();
+        Files.copy(new File("tracks/challenge.txt").toPath(), trackFile.toPath());
+        trackFile.deleteOnExit();
+        File policyFile = PolicyTable.getPolicyFile(trackFile);
+        policyFile.deleteOnExit();
+
+        TrackTemplate template = new TrackTemplate(trackFile);
+        PolicyTable table = PolicyTable.load(trackFile, template);
+        assertSame(table, PolicyTable.of(template));
+        assertEquals(directory.resolve("challenge" + PolicyTable.FILE_EXTENSION).toFile(), policyFile);
+        assertTrue(policyFile.isFile());
+
+        TrackTemplate otherTemplate = new TrackTemplate(trackFile);
+        PolicyTable loadedTable = PolicyTable.load(trackFile, otherTemplate);
+        File copyFile = directory.resolve("copy" + PolicyTable.FILE_EXTENSION).toFile();
+        copyFile.deleteOnExit();
+        loadedTable.write(copyFile);
+        assertArrayEquals(Files.readAllBytes(policyFile.toPath()), Files.readAllBytes(copyFile.toPath()));
+
+        TrackTemplate quarterMile = new TrackTemplate(new File("tracks/quarter-mile.txt"));
+        assertThrows(InvalidFileFormatException.class, () -> PolicyTable.read(policyFile, quarterMile));
+        assertThrows(InvalidFileFormatException.class, () -> PolicyTable.read(trackFile, template));
+    }
+
+    /**
+     * Cars planning at the same time share one table, which is written once and completely.
+     */
+    @Test
+    public void testConcurrentLoadSolvesOnce() throws Exception {
+        Path directory = Files.createTempDirectory("policy");
+        directory.toFile().deleteOnExit();
+        File trackFile = directory.resolve("challenge.txt").toFile();
+        Files.copy(new File("tracks/challenge.txt").toPath(), trackFile.toPath());
+        trackFile.deleteOnExit();
+        PolicyTable.getPolicyFile(trackFile).deleteOnExit();
+        TrackTemplate template = new TrackTemplate(trackFile);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<PolicyTable>> tables = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                tables.add(executor.submit(() -> PolicyTable.load(trackFile, template)));
+            }
+            // wait for all loads before of(), which would solve the table without writing it
+            PolicyTable firstTable = tables.get(0).get();
+            for (Future<PolicyTable> table : tables) {
+                assertSame(firstTable, table.get());
+            }
+            assertSame(firstTable, PolicyTable.of(template));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String[] files = directory.toFile().list();
+        Arrays.sort(files);
+        assertArrayEquals(new String[]{"challenge.policy", "challenge.txt"}, files, "no temporary file remains");
+        // the checksum of the file is valid
+        PolicyTable.read(PolicyTable.getPolicyFile(trackFile), template);
+    }
+
+    @Test
+    public void testTableOfOtherTrack() throws InvalidFileFormatException, IOException {
+        Track track = new Track(new File("tracks/challenge.txt"));
+        PolicyTable table = PolicyTable.of(new TrackTemplate(new File("tracks/challenge.txt")));
+
+        assertThrows(IllegalArgumentException.class, () -> new PolicyTableStrategy(track, 0, table));
+        assertThrows(IllegalArgumentException.class, () -> new PolicyTableStrategy(track, 2, PolicyTable.of(track.getTemplate())));
+        assertThrows(NullPointerException.class, () -> new PolicyTableStrategy(track, 0, null));
+    }
+}
@@ -3,11 +3,13 @@ package ch.zhaw.pm2.racetrack.utils;
 import ch.zhaw.pm2.racetrack.given.PositionVector;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test class for the Bresenham class.
@@ -43,4 +45,52 @@ public class BresenhamTest {
         assertFalse(path.isEmpty());
         assertEquals(expectedPath, path);
     }
+
+    /**
+     * The visitor and calculatePath give the positions of the original implementation for horizontal, vertical,
+     * steep, shallow and diagonal lines in both directions.
+     */
+    @Test
+    public void walkPathVisitsExpectedPositions() {
+        assertPath(3, 4, 8, 4, 3, 4, 4, 4, 5, 4, 6, 4, 7, 4, 8, 4);
+        assertPath(3, 4, 3, -1, 3, 4, 3, 3, 3, 2, 3, 1, 3, 0, 3, -1);
+        assertPath(3, 4, 5, 9, 3, 4, 3, 5, 4, 6, 4, 7, 5, 8, 5, 9);
+        assertPath(3, 4, 8, 6, 3, 4, 4, 4, 5, 5, 6, 5, 7, 6, 8, 6);
+        assertPath(8, 6, 3, 4, 8, 6, 7, 6, 6, 5, 5, 5, 4, 4, 3, 4);
+        assertPath(3, 4, 0, -3, 3, 4, 3, 3, 2, 2, 2, 1, 1, 0, 1, -1, 0, -2, 0, -3);
+        assertPath(3, 4, -1, 0, 3, 4, 2, 3, 1, 2, 0, 1, -1, 0);
+        assertPath(3, 4, 6, 7, 3, 4, 4, 5, 5, 6, 6, 7);
+        assertPath(3, 4, 3, 4, 3, 4);
+    }
+
+    /**
+     * Asserts that both walkPath and calculatePath give the expected positions, given as pairs of coordinates.
+     */
+    private void assertPath(int startX, int startY, int endX, int endY, int... expectedCoordinates) {
+        List<PositionVector> expectedPath = new ArrayList<>();
+        for (int i = 0; i < expectedCoordinates.length; i += 2) {
+            expectedPath.add(new PositionVector(expectedCoordinates[i], expectedCoordinates[i + 1]));
+        }
+        List<PositionVector> visited = new ArrayList<>();
+
+        boolean completed = BresenhamAlgorithm.walkPath(startX, startY, endX, endY, (x, y) -> visited.add(new PositionVector(x, y)));
+
+        assertTrue(completed);
+        assertEquals(expectedPath, visited);
+        assertEquals(expectedPath, new BresenhamAlgorithm(new PositionVector(startX, startY),
+                new PositionVector(endX, endY)).calculatePath());
+    }
+
+    @Test
+    public void walkPathStopsWhenVisitorReturnsFalse() {
+        List<PositionVector> visited = new ArrayList<>();
+
+        boolean completed = BresenhamAlgorithm.walkPath(1, 1, 11, 5, (x, y) -> {
+            visited.add(new PositionVector(x, y));
+            return x < 3;
+        });
+
+        assertFalse(completed);
+        assertEquals(List.of(new PositionVector(1, 1), new PositionVector(2, 1), new PositionVector(3, 2)), visited);
+    }
 }
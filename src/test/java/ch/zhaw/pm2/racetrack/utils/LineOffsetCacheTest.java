@@ -0,0 +1,94 @@
+package ch.zhaw.pm2.racetrack.utils;
+
+import ch.zhaw.pm2.racetrack.given.PositionVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link LineOffsetCache} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class LineOffsetCacheTest {
+
+    /**
+     * Walking with the cache visits the positions of the original Bresenham algorithm,
+     * for velocities below and above the maximum speed.
+     */
+    @Test
+    public void walkPathVisitsExpectedPositions() {
+        LineOffsetCache cache = new LineOffsetCache(4);
+
+        assertWalk(cache, 0, 0, 0, 0);
+        assertWalk(cache, 3, 0, 0, 0, 1, 0, 2, 0, 3, 0);
+        assertWalk(cache, 2, 5, 0, 0, 0, 1, 1, 2, 1, 3, 2, 4, 2, 5);
+        assertWalk(cache, -4, -4, 0, 0, -1, -1, -2, -2, -3, -3, -4, -4);
+        assertWalk(cache, 5, 2, 0, 0, 1, 0, 2, 1, 3, 1, 4, 2, 5, 2);
+        assertWalk(cache, -3, -7, 0, 0, 0, -1, -1, -2, -1, -3, -2, -4, -2, -5, -3, -6, -3, -7);
+    }
+
+    /**
+     * Velocities above the maximum speed are calculated on every request and not stored.
+     */
+    @Test
+    public void velocitiesAboveMaxSpeedAreNotCached() {
+        LineOffsetCache cache = new LineOffsetCache(4);
+        int[] offsets = cache.getOffsets(5, 2);
+
+        assertArrayEquals(new int[]{0, 0, 1, 0, 2, 1, 3, 1, 4, 2, 5, 2}, offsets);
+        assertNotSame(offsets, cache.getOffsets(5, 2));
+        assertNotSame(cache.getOffsets(-3, -7), cache.getOffsets(-3, -7));
+        assertArrayEquals(new int[]{0, 0, 0, -1, 0, -2, 0, -3, 0, -4, 0, -5}, cache.getOffsets(0, -5));
+    }
+
+    /**
+     * Asserts that walking from (10, 12) visits the expected offsets, given as pairs of coordinates.
+     */
+    private void assertWalk(LineOffsetCache cache, int velocityX, int velocityY, int... expectedOffsets) {
+        List<PositionVector> expectedPath = new ArrayList<>();
+        for (int i = 0; i < expectedOffsets.length; i += 2) {
+            expectedPath.add(new PositionVector(10 + expectedOffsets[i], 12 + expectedOffsets[i + 1]));
+        }
+        List<PositionVector> visited = new ArrayList<>();
+
+        assertTrue(cache.walkPath(10, 12, velocityX, velocityY, (x, y) -> visited.add(new PositionVector(x, y))));
+        assertEquals(expectedPath, visited);
+    }
+
+    @Test
+    public void offsetsAreCalculatedOnce() {
+        LineOffsetCache cache = new LineOffsetCache(4);
+        int[] offsets = cache.getOffsets(3, -1);
+
+        assertSame(offsets, cache.getOffsets(3, -1));
+        assertEquals(8, offsets.length);
+        assertEquals(0, offsets[0]);
+        assertEquals(3, offsets[6]);
+        assertEquals(-1, offsets[7]);
+    }
+
+    @Test
+    public void walkPathStopsWhenVisitorReturnsFalse() {
+        LineOffsetCache cache = new LineOffsetCache();
+        List<PositionVector> visited = new ArrayList<>();
+
+        assertFalse(cache.walkPath(0, 0, 5, 0, (x, y) -> visited.add(new PositionVector(x, y)) && x < 2));
+        assertEquals(3, visited.size());
+    }
+
+    @Test
+    public void negativeMaxSpeed() {
+        assertThrows(IllegalArgumentException.class, () -> new LineOffsetCache(-1));
+    }
+}
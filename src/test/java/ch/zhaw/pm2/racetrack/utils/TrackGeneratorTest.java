@@ -0,0 +1,89 @@
+package ch.zhaw.pm2.racetrack.utils;
+
+import ch.zhaw.pm2.racetrack.core.Game;
+import ch.zhaw.pm2.racetrack.model.Track;
+import ch.zhaw.pm2.racetrack.strategy.AStarFinderStrategy;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link TrackGenerator} class.
+ *
+ * @author StackOverflow
+ * @version 1.0
+ */
+public class TrackGeneratorTest {
+
+    @Test
+    public void sameSeedGeneratesSameTrack() {
+        TrackGenerator generator = new TrackGenerator(80, 40, 3, 0.5, 4);
+        assertArrayEquals(generator.generate(42), generator.generate(42));
+        assertFalse(Arrays.equals(generator.generate(42), generator.generate(43)));
+    }
+
+    /**
+     * The written track can be read by the {@link Track} and contains the generated lines.
+     */
+    @Test
+    public void writtenTrackCanBeRead() throws Exception {
+        TrackGenerator generator = new TrackGenerator(90, 50, 5, 0.7, 9);
+        File trackFile = Files.createTempFile("generated", ".txt").toFile();
+        trackFile.deleteOnExit();
+        generator.write(7, trackFile);
+
+        Track track = new Track(trackFile);
+        assertEquals(90, track.getWidth());
+        assertEquals(50, track.getHeight());
+        assertEquals(9, track.getCarCount());
+        assertArrayEquals(generator.generate(7), track.toString().split("\n"));
+    }
+
+    /**
+     * The finish line of generated tracks can be reached from the start with any corridor width and complexity.
+     */
+    @Test
+    public void generatedTrackCanBeWon() throws Exception {
+        for (int seed = 0; seed < 12; seed++) {
+            TrackGenerator generator = new TrackGenerator(40 + seed, 20 + seed, 1 + seed % 4, seed % 5 / 4.0, 1);
+            File trackFile = Files.createTempFile("generated", ".txt").toFile();
+            trackFile.deleteOnExit();
+            generator.write(seed, trackFile);
+
+            Track track = new Track(trackFile);
+            Game game = new Game(track);
+            MoveStrategy strategy = new AStarFinderStrategy(track, 0);
+            for (int turn = 0; turn < 1000 && game.getWinner() == Game.NO_WINNER; turn++) {
+                game.doCarTurn(strategy.nextMove());
+            }
+            assertEquals(0, game.getWinner());
+        }
+    }
+
+    @Test
+    public void largeTrackHasRequestedSize() {
+        String[] lines = new TrackGenerator(1000, 1000, 1, 0.3, 1).generate(1);
+        assertEquals(1000, lines.length);
+        for (String line : lines) {
+            assertEquals(1000, line.length());
+        }
+    }
+
+    @Test
+    public void invalidSettingsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(50, 50, 0, 0.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(50, 50, 2, 1.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(50, 50, 2, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(50, 50, 2, 0.5, 2));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(50, 50, 7, 0.5, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(4, 4, 2, 0.5, 1));
+    }
+}